@@ -0,0 +1,34 @@
+package org.arquillian.algeron.configuration;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class CacheKeys {
+
+    private CacheKeys() {
+        super();
+    }
+
+    /**
+     * Method that hashes any value, such as a url, into a short string that can be used as a file name.
+     *
+     * @param value
+     *     to hash. Null is hashed as an empty string.
+     *
+     * @return First 16 bytes of the SHA-256 digest of given value, as hexadecimal.
+     */
+    public static String hash(String value) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest((value == null ? "" : value).getBytes(StandardCharsets.UTF_8));
+            final StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.arquillian.algeron.configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Runs the same task for each item of a list on a bounded pool of daemon threads, such as downloading or resolving
+ * each contract, so the latency of each one is not paid in turn.
+ */
+public class ConcurrentTasks {
+
+    private ConcurrentTasks() {
+        super();
+    }
+
+    /**
+     * @param items
+     *     to run the task for
+     * @param task
+     *     run for a single item
+     * @param threads
+     *     maximum number of items processed at the same time. 1 or less runs the task sequentially in calling thread
+     * @param threadName
+     *     prefix of the name of worker threads
+     * @param failure
+     *     describes what went wrong with failing items, such as "contracts could not be downloaded"
+     * @param error
+     *     creates the exception thrown with given message and cause
+     *
+     * @return Result of the task for each item, in the same order as given items.
+     *
+     * @throws X
+     *     once all items are attempted, if the task failed for any of them, listing every failing item. Causes of
+     *     the other failing items are added as suppressed exceptions.
+     */
+    public static <T, R, X extends Exception> List<R> run(List<T> items, Task<T, R> task, int threads,
+        String threadName, String failure, BiFunction<String, Throwable, X> error) throws X {
+        final Map<T, Throwable> failures = new LinkedHashMap<>();
+        final List<R> results = new ArrayList<>(items.size());
+
+        if (threads <= 1 || items.size() <= 1) {
+            for (T item : items) {
+                try {
+                    results.add(task.run(item));
+                } catch (Exception e) {
+                    failures.put(item, e);
+                }
+            }
+        } else {
+            final ExecutorService executorService =
+                Executors.newFixedThreadPool(Math.min(threads, items.size()), new DaemonThreadFactory(threadName));
+            try {
+                final List<Future<R>> futures = new ArrayList<>(items.size());
+                for (T item : items) {
+                    futures.add(executorService.submit(() -> task.run(item)));
+                }
+
+                for (int i = 0; i < items.size(); i++) {
+                    try {
+                        results.add(futures.get(i).get());
+                    } catch (ExecutionException e) {
+                        failures.put(items.get(i), e.getCause());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw error.apply(String.format("Interrupted while %s threads were running", threadName), e);
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            final StringBuilder message = new StringBuilder(String.format("%s %s:", failures.size(), failure));
+            failures.forEach((item, cause) -> message.append(System.lineSeparator())
+                .append(item).append(": ").append(cause.getMessage()));
+
+            final List<Throwable> causes = new ArrayList<>(failures.values());
+            final X exception = error.apply(message.toString(), causes.get(0));
+            causes.stream().skip(1).forEach(exception::addSuppressed);
+            throw exception;
+        }
+
+        return results;
+    }
+
+    @FunctionalInterface
+    public interface Task<T, R> {
+        R run(T item) throws Exception;
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private static final AtomicInteger poolNumber = new AtomicInteger();
+
+        private final String threadName;
+        private final int pool = poolNumber.incrementAndGet();
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        DaemonThreadFactory(String threadName) {
+            this.threadName = threadName;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable,
+                String.format("%s-%s-%s", threadName, pool, threadNumber.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
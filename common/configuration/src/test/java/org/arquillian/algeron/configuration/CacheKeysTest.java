@@ -0,0 +1,17 @@
+package org.arquillian.algeron.configuration;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CacheKeysTest {
+
+    @Test
+    public void should_hash_values_into_file_names() {
+        assertThat(CacheKeys.hash("http://localhost/pacts/a.json"))
+            .hasSize(32)
+            .matches("[0-9a-f]+")
+            .isEqualTo(CacheKeys.hash("http://localhost/pacts/a.json"))
+            .isNotEqualTo(CacheKeys.hash("http://localhost/pacts/b.json"));
+    }
+}
@@ -0,0 +1,45 @@
+package org.arquillian.algeron.configuration;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ConcurrentTasksTest {
+
+    @Test
+    public void should_run_tasks_on_named_daemon_threads_keeping_order() throws IOException {
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        final List<String> results = ConcurrentTasks.run(Arrays.asList("a", "b", "c"), item -> {
+            threads.add(Thread.currentThread());
+            return item.toUpperCase();
+        }, 2, "planet", "planets could not be visited", IOException::new);
+
+        assertThat(results).containsExactly("A", "B", "C");
+        assertThat(threads).allSatisfy(thread -> {
+            assertThat(thread.isDaemon()).isTrue();
+            assertThat(thread.getName()).startsWith("planet-");
+        });
+    }
+
+    @Test
+    public void should_report_every_failing_item_with_given_exception() {
+        assertThatExceptionOfType(IOException.class)
+            .isThrownBy(() -> ConcurrentTasks.run(Arrays.asList("Hoth", "Naboo", "Endor"), item -> {
+                if (!"Naboo".equals(item)) {
+                    throw new IOException(item + " is unreachable");
+                }
+                return item;
+            }, 3, "planet", "planets could not be visited", IOException::new))
+            .withMessageContaining("2 planets could not be visited")
+            .withMessageContaining("Hoth: Hoth is unreachable")
+            .withMessageContaining("Endor: Endor is unreachable")
+            .satisfies(e -> assertThat(e.getSuppressed()).hasSize(1));
+    }
+}
@@ -3,27 +3,46 @@ package org.arquillian.algeron.git;
 import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
+import org.eclipse.jgit.api.CheckoutCommand;
 import org.eclipse.jgit.api.CreateBranchCommand;
+import org.eclipse.jgit.api.FetchCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.ListBranchCommand;
 import org.eclipse.jgit.api.PullResult;
+import org.eclipse.jgit.api.TransportCommand;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefUpdate;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.lib.RepositoryCache;
+import org.eclipse.jgit.lib.StoredConfig;
 import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.transport.JschConfigSessionFactory;
 import org.eclipse.jgit.transport.OpenSshConfig;
 import org.eclipse.jgit.transport.PushResult;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.RemoteConfig;
 import org.eclipse.jgit.transport.SshSessionFactory;
 import org.eclipse.jgit.transport.SshTransport;
+import org.eclipse.jgit.transport.TagOpt;
+import org.eclipse.jgit.transport.URIish;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.PathFilter;
 import org.eclipse.jgit.util.FS;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class GitOperations {
 
@@ -554,6 +573,410 @@ public class GitOperations {
         }
     }
 
+    /**
+     * Clones only given branch or tag of a public remote git repository, checking out only given directory. Caller is
+     * responsible of closing git repository.
+     *
+     * @param remoteUrl
+     *     to connect.
+     * @param localPath
+     *     where to clone the repo.
+     * @param ref
+     *     full name of the branch or tag to clone, such as refs/heads/master or refs/tags/v1.
+     * @param directory
+     *     to checkout, relative to repository root. If empty the whole tree is checked out.
+     *
+     * @return Git instance. Caller is responsible to close the connection.
+     */
+    public Git cloneSingleRef(String remoteUrl, Path localPath, String ref, String directory) {
+        return cloneSingleRef(remoteUrl, localPath, ref, directory, command -> {
+        });
+    }
+
+    /**
+     * Clones only given branch or tag of a private remote git repository, checking out only given directory. Caller
+     * is responsible of closing git repository.
+     *
+     * @param remoteUrl
+     *     to connect.
+     * @param localPath
+     *     where to clone the repo.
+     * @param ref
+     *     full name of the branch or tag to clone, such as refs/heads/master or refs/tags/v1.
+     * @param directory
+     *     to checkout, relative to repository root. If empty the whole tree is checked out.
+     * @param username
+     *     to connect
+     * @param password
+     *     to connect
+     *
+     * @return Git instance. Caller is responsible to close the connection.
+     */
+    public Git cloneSingleRef(String remoteUrl, Path localPath, String ref, String directory, String username,
+        String password) {
+        return cloneSingleRef(remoteUrl, localPath, ref, directory,
+            command -> command.setCredentialsProvider(new UsernamePasswordCredentialsProvider(username, password)));
+    }
+
+    /**
+     * Clones only given branch or tag of a private remote git repository, checking out only given directory. Caller
+     * is responsible of closing git repository.
+     *
+     * @param remoteUrl
+     *     to connect.
+     * @param localPath
+     *     where to clone the repo.
+     * @param ref
+     *     full name of the branch or tag to clone, such as refs/heads/master or refs/tags/v1.
+     * @param directory
+     *     to checkout, relative to repository root. If empty the whole tree is checked out.
+     * @param passphrase
+     *     to access private key.
+     * @param privateKey
+     *     file location. If null default (~.ssh/id_rsa) location is used.
+     *
+     * @return Git instance. Caller is responsible to close the connection.
+     */
+    public Git cloneSingleRef(String remoteUrl, Path localPath, String ref, String directory, String passphrase,
+        Path privateKey) {
+        final SshSessionFactory sshSessionFactory = sshSessionFactory(passphrase, privateKey);
+        return cloneSingleRef(remoteUrl, localPath, ref, directory,
+            command -> command.setTransportConfigCallback(transport -> {
+                SshTransport sshTransport = (SshTransport) transport;
+                sshTransport.setSshSessionFactory(sshSessionFactory);
+            }));
+    }
+
+    /**
+     * Fetches only the history of given ref, with no other branches nor tags, into a new repository configured the
+     * same way a clone of that branch is, so it can be pulled later. Working tree is only written for given directory.
+     */
+    private Git cloneSingleRef(String remoteUrl, Path localPath, String ref, String directory,
+        Consumer<TransportCommand<?, ?>> authentication) {
+        try {
+            final Git git = Git.init().setDirectory(localPath.toFile()).call();
+
+            final StoredConfig config = git.getRepository().getConfig();
+            final RemoteConfig remoteConfig = new RemoteConfig(config, Constants.DEFAULT_REMOTE_NAME);
+            remoteConfig.addURI(new URIish(remoteUrl));
+            remoteConfig.update(config);
+            config.save();
+
+            fetchSingleRef(git, Constants.DEFAULT_REMOTE_NAME, ref, directory, authentication);
+            return git;
+        } catch (GitAPIException | IOException | URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Updates a repository cloned with {@link #cloneSingleRef(String, Path, String, String)} to the latest commit of
+     * given branch or tag of a public remote git repository, which may not be the one it was cloned from. Only the
+     * history of given ref is fetched and working tree is only written for given directory.
+     *
+     * @param git
+     *     instance.
+     * @param remote
+     *     name of the remote to fetch from.
+     * @param ref
+     *     full name of the branch or tag, such as refs/heads/master or refs/tags/v1.
+     * @param directory
+     *     to checkout, relative to repository root. If empty the whole tree is checked out.
+     */
+    public void updateSingleRef(Git git, String remote, String ref, String directory) {
+        updateSingleRef(git, remote, ref, directory, command -> {
+        });
+    }
+
+    /**
+     * Updates a repository cloned with {@link #cloneSingleRef(String, Path, String, String, String, String)} to the
+     * latest commit of given branch or tag of a private remote git repository, which may not be the one it was cloned
+     * from. Only the history of given ref is fetched and working tree is only written for given directory.
+     *
+     * @param git
+     *     instance.
+     * @param remote
+     *     name of the remote to fetch from.
+     * @param ref
+     *     full name of the branch or tag, such as refs/heads/master or refs/tags/v1.
+     * @param directory
+     *     to checkout, relative to repository root. If empty the whole tree is checked out.
+     * @param username
+     *     to connect
+     * @param password
+     *     to connect
+     */
+    public void updateSingleRef(Git git, String remote, String ref, String directory, String username,
+        String password) {
+        updateSingleRef(git, remote, ref, directory,
+            command -> command.setCredentialsProvider(new UsernamePasswordCredentialsProvider(username, password)));
+    }
+
+    /**
+     * Updates a repository cloned with {@link #cloneSingleRef(String, Path, String, String, String, Path)} to the
+     * latest commit of given branch or tag of a private remote git repository, which may not be the one it was cloned
+     * from. Only the history of given ref is fetched and working tree is only written for given directory.
+     *
+     * @param git
+     *     instance.
+     * @param remote
+     *     name of the remote to fetch from.
+     * @param ref
+     *     full name of the branch or tag, such as refs/heads/master or refs/tags/v1.
+     * @param directory
+     *     to checkout, relative to repository root. If empty the whole tree is checked out.
+     * @param passphrase
+     *     to access private key.
+     * @param privateKey
+     *     file location. If null default (~.ssh/id_rsa) location is used.
+     */
+    public void updateSingleRef(Git git, String remote, String ref, String directory, String passphrase,
+        Path privateKey) {
+        final SshSessionFactory sshSessionFactory = sshSessionFactory(passphrase, privateKey);
+        updateSingleRef(git, remote, ref, directory,
+            command -> command.setTransportConfigCallback(transport -> {
+                SshTransport sshTransport = (SshTransport) transport;
+                sshTransport.setSshSessionFactory(sshSessionFactory);
+            }));
+    }
+
+    private void updateSingleRef(Git git, String remote, String ref, String directory,
+        Consumer<TransportCommand<?, ?>> authentication) {
+        try {
+            // Contracts deleted upstream must not be left behind, as only paths of the new commit are checked out
+            if (directory != null && !directory.isEmpty()) {
+                deleteDirectory(git.getRepository().getWorkTree().toPath().resolve(directory));
+            }
+            fetchSingleRef(git, remote, ref, directory, authentication);
+        } catch (GitAPIException | IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Fetches given ref with a refspec of its own, which is added to the remote configuration if it is not there yet,
+     * points local branch, or HEAD for tags, to the fetched commit and checks out given directory.
+     */
+    private void fetchSingleRef(Git git, String remote, String ref, String directory,
+        Consumer<TransportCommand<?, ?>> authentication) throws GitAPIException, IOException {
+        final Repository repository = git.getRepository();
+
+        final boolean branch = ref.startsWith(Constants.R_HEADS);
+        final String branchName = Repository.shortenRefName(ref);
+        final String trackingRef = branch ? Constants.R_REMOTES + remote + "/" + branchName : ref;
+        final RefSpec refSpec = new RefSpec().setForceUpdate(true).setSourceDestination(ref, trackingRef);
+
+        final StoredConfig config = repository.getConfig();
+        final RemoteConfig remoteConfig;
+        try {
+            remoteConfig = new RemoteConfig(config, remote);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException(e);
+        }
+        if (!remoteConfig.getFetchRefSpecs().contains(refSpec)) {
+            remoteConfig.addFetchRefSpec(refSpec);
+            remoteConfig.update(config);
+        }
+        if (branch) {
+            config.setString("branch", branchName, "remote", remote);
+            config.setString("branch", branchName, "merge", ref);
+        }
+        config.save();
+
+        final FetchCommand fetch = git.fetch()
+            .setRemote(remote)
+            .setRefSpecs(refSpec)
+            .setTagOpt(TagOpt.NO_TAGS);
+        authentication.accept(fetch);
+        fetch.call();
+
+        final ObjectId commit = repository.resolve(trackingRef + "^{commit}");
+        if (commit == null) {
+            throw new IllegalArgumentException(String.format("%s not found in %s", ref, remoteConfig.getURIs()));
+        }
+
+        if (branch) {
+            final RefUpdate branchUpdate = repository.updateRef(ref);
+            branchUpdate.setNewObjectId(commit);
+            branchUpdate.forceUpdate();
+            repository.updateRef(Constants.HEAD).link(ref);
+        } else {
+            final RefUpdate headUpdate = repository.updateRef(Constants.HEAD, true);
+            headUpdate.setNewObjectId(commit);
+            headUpdate.forceUpdate();
+        }
+
+        final CheckoutCommand checkout = git.checkout().setStartPoint(Constants.HEAD);
+        if (directory == null || directory.isEmpty()) {
+            checkout.setAllPaths(true);
+        } else {
+            checkout.addPath(directory);
+        }
+        checkout.call();
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Fetches given branch or tag of a public remote git repository into a local bare mirror, which is created if it
+     * does not exist. Only objects missing in the mirror are downloaded.
+     *
+     * @param remoteUrl
+     *     to connect.
+     * @param mirror
+     *     location of the bare mirror.
+     * @param ref
+     *     full name of the branch or tag to fetch, such as refs/heads/master or refs/tags/v1.
+     *
+     * @return Commit given ref points to.
+     */
+    public ObjectId fetchIntoMirror(String remoteUrl, Path mirror, String ref) {
+        return fetchIntoMirror(remoteUrl, mirror, ref, command -> {
+        });
+    }
+
+    /**
+     * Fetches given branch or tag of a private remote git repository into a local bare mirror, which is created if it
+     * does not exist. Only objects missing in the mirror are downloaded.
+     *
+     * @param remoteUrl
+     *     to connect.
+     * @param mirror
+     *     location of the bare mirror.
+     * @param ref
+     *     full name of the branch or tag to fetch, such as refs/heads/master or refs/tags/v1.
+     * @param username
+     *     to connect
+     * @param password
+     *     to connect
+     *
+     * @return Commit given ref points to.
+     */
+    public ObjectId fetchIntoMirror(String remoteUrl, Path mirror, String ref, String username, String password) {
+        return fetchIntoMirror(remoteUrl, mirror, ref,
+            command -> command.setCredentialsProvider(new UsernamePasswordCredentialsProvider(username, password)));
+    }
+
+    /**
+     * Fetches given branch or tag of a private remote git repository into a local bare mirror, which is created if it
+     * does not exist. Only objects missing in the mirror are downloaded.
+     *
+     * @param remoteUrl
+     *     to connect.
+     * @param mirror
+     *     location of the bare mirror.
+     * @param ref
+     *     full name of the branch or tag to fetch, such as refs/heads/master or refs/tags/v1.
+     * @param passphrase
+     *     to access private key.
+     * @param privateKey
+     *     file location. If null default (~.ssh/id_rsa) location is used.
+     *
+     * @return Commit given ref points to.
+     */
+    public ObjectId fetchIntoMirror(String remoteUrl, Path mirror, String ref, String passphrase, Path privateKey) {
+        final SshSessionFactory sshSessionFactory = sshSessionFactory(passphrase, privateKey);
+        return fetchIntoMirror(remoteUrl, mirror, ref,
+            command -> command.setTransportConfigCallback(transport -> {
+                SshTransport sshTransport = (SshTransport) transport;
+                sshTransport.setSshSessionFactory(sshSessionFactory);
+            }));
+    }
+
+    private ObjectId fetchIntoMirror(String remoteUrl, Path mirror, String ref,
+        Consumer<TransportCommand<?, ?>> authentication) {
+        try {
+            if (!isValidGitRepository(mirror)) {
+                Files.createDirectories(mirror);
+                Git.init().setBare(true).setDirectory(mirror.toFile()).call().close();
+            }
+
+            try (Git git = Git.open(mirror.toFile())) {
+                final FetchCommand fetch = git.fetch()
+                    .setRemote(remoteUrl)
+                    .setRefSpecs(new RefSpec().setForceUpdate(true).setSourceDestination(ref, ref))
+                    .setTagOpt(TagOpt.NO_TAGS);
+                authentication.accept(fetch);
+                fetch.call();
+
+                final ObjectId commit = git.getRepository().resolve(ref + "^{commit}");
+                if (commit == null) {
+                    throw new IllegalArgumentException(String.format("%s not found in %s", ref, remoteUrl));
+                }
+                return commit;
+            }
+        } catch (GitAPIException | IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes the files of given commit to a plain directory, without any git metadata.
+     *
+     * @param repository
+     *     location of the git repository, bare or not, holding the commit.
+     * @param commit
+     *     to export.
+     * @param directory
+     *     to export, relative to repository root. If empty the whole tree is exported.
+     * @param target
+     *     directory where files are written, keeping their path relative to repository root.
+     */
+    public void exportTree(Path repository, ObjectId commit, String directory, Path target) {
+        try (Git git = Git.open(repository.toFile());
+             RevWalk revWalk = new RevWalk(git.getRepository());
+             TreeWalk treeWalk = new TreeWalk(git.getRepository())) {
+
+            final boolean wholeTree = directory == null || directory.isEmpty();
+            Files.createDirectories(wholeTree ? target : target.resolve(directory));
+
+            treeWalk.addTree(revWalk.parseCommit(commit).getTree());
+            treeWalk.setRecursive(true);
+            if (!wholeTree) {
+                treeWalk.setFilter(PathFilter.create(directory));
+            }
+
+            while (treeWalk.next()) {
+                final Path file = target.resolve(treeWalk.getPathString());
+                Files.createDirectories(file.getParent());
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    git.getRepository().open(treeWalk.getObjectId(0)).copyTo(out);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private SshSessionFactory sshSessionFactory(final String passphrase, final Path privateKey) {
+        return new JschConfigSessionFactory() {
+            @Override
+            protected void configure(OpenSshConfig.Host host, Session session) {
+                session.setUserInfo(new PassphraseUserInfo(passphrase));
+            }
+
+            @Override
+            protected JSch createDefaultJSch(FS fs) throws JSchException {
+                if (privateKey != null) {
+                    JSch defaultJSch = super.createDefaultJSch(fs);
+                    defaultJSch.addIdentity(privateKey.toFile().getAbsolutePath());
+                    return defaultJSch;
+                } else {
+                    return super.createDefaultJSch(fs);
+                }
+            }
+        };
+    }
+
     /**
      * Checks if a repo has been cloned correctly.
      *
@@ -1,7 +1,10 @@
 package org.arquillian.algeron.git;
 
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ListBranchCommand;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.junit.Rule;
@@ -75,4 +78,91 @@ public class GitOperationsTest {
         Ref ref = gitOperations.createTag(git, "mytag");
         assertThat(git.tagList().call()).contains(ref);
     }
+
+    @Test
+    public void should_clone_only_requested_branch_and_directory() throws IOException, GitAPIException {
+        GitOperations gitOperations = new GitOperations();
+        final File remote = createRemoteRepository(gitOperations);
+
+        Git git = gitOperations.cloneSingleRef(remote.toURI().toString(),
+            Paths.get(temporaryFolder.newFolder().getAbsolutePath()), "refs/heads/contracts", "pacts");
+
+        final File workTree = git.getRepository().getWorkTree();
+        assertThat(new File(workTree, "pacts/pact.json")).hasContent("Contract File v2");
+        assertThat(new File(workTree, "README")).doesNotExist();
+        assertThat(git.getRepository().getFullBranch()).isEqualTo("refs/heads/contracts");
+        assertThat(git.branchList().setListMode(ListBranchCommand.ListMode.ALL).call())
+            .extracting(Ref::getName)
+            .containsOnly("refs/heads/contracts", "refs/remotes/origin/contracts");
+        assertThat(git.tagList().call()).isEmpty();
+    }
+
+    @Test
+    public void should_clone_only_requested_tag() throws IOException, GitAPIException {
+        GitOperations gitOperations = new GitOperations();
+        final File remote = createRemoteRepository(gitOperations);
+
+        Git git = gitOperations.cloneSingleRef(remote.toURI().toString(),
+            Paths.get(temporaryFolder.newFolder().getAbsolutePath()), "refs/tags/v1", "");
+
+        final File workTree = git.getRepository().getWorkTree();
+        assertThat(new File(workTree, "pacts/pact.json")).hasContent("Contract File v1");
+        assertThat(new File(workTree, "README")).exists();
+        assertThat(git.branchList().setListMode(ListBranchCommand.ListMode.ALL).call())
+            .extracting(Ref::getName)
+            .containsOnly(Constants.HEAD);
+    }
+
+    @Test
+    public void should_update_single_ref_clone_to_another_branch() throws IOException, GitAPIException {
+        GitOperations gitOperations = new GitOperations();
+        final File remote = createRemoteRepository(gitOperations);
+
+        Git git = gitOperations.cloneSingleRef(remote.toURI().toString(),
+            Paths.get(temporaryFolder.newFolder().getAbsolutePath()), "refs/heads/master", "pacts");
+        final File workTree = git.getRepository().getWorkTree();
+        assertThat(new File(workTree, "pacts/pact.json")).hasContent("Contract File v1");
+
+        gitOperations.updateSingleRef(git, "origin", "refs/heads/contracts", "pacts");
+
+        assertThat(new File(workTree, "pacts/pact.json")).hasContent("Contract File v2");
+        assertThat(new File(workTree, "README")).doesNotExist();
+        assertThat(git.getRepository().getFullBranch()).isEqualTo("refs/heads/contracts");
+        assertThat(git.tagList().call()).isEmpty();
+    }
+
+    @Test
+    public void should_fetch_into_mirror_and_export_tree() throws IOException, GitAPIException {
+        GitOperations gitOperations = new GitOperations();
+        final File remote = createRemoteRepository(gitOperations);
+        final File mirror = new File(temporaryFolder.getRoot(), "mirror.git");
+
+        final ObjectId commit =
+            gitOperations.fetchIntoMirror(remote.toURI().toString(), mirror.toPath(), "refs/heads/contracts");
+        assertThat(gitOperations.fetchIntoMirror(remote.toURI().toString(), mirror.toPath(), "refs/heads/contracts"))
+            .isEqualTo(commit);
+
+        final File target = temporaryFolder.newFolder();
+        gitOperations.exportTree(mirror.toPath(), commit, "pacts", target.toPath());
+
+        assertThat(new File(target, "pacts/pact.json")).hasContent("Contract File v2");
+        assertThat(new File(target, "README")).doesNotExist();
+        assertThat(new File(target, ".git")).doesNotExist();
+    }
+
+    private File createRemoteRepository(GitOperations gitOperations) throws IOException, GitAPIException {
+        final File remote = temporaryFolder.newFolder();
+        try (Git git = Git.init().setDirectory(remote).call()) {
+            Files.write(new File(remote, "README").toPath(), "Contracts".getBytes());
+            Files.createDirectories(new File(remote, "pacts").toPath());
+            Files.write(new File(remote, "pacts/pact.json").toPath(), "Contract File v1".getBytes());
+            gitOperations.addAndCommit(git, "First contract", "Alice", "alice@example.com");
+            gitOperations.createTag(git, "v1");
+
+            gitOperations.createBranchAndCheckout(git, "contracts");
+            Files.write(new File(remote, "pacts/pact.json").toPath(), "Contract File v2".getBytes());
+            gitOperations.addAndCommit(git, "Second contract", "Alice", "alice@example.com");
+        }
+        return remote;
+    }
 }
@@ -15,4 +15,13 @@ public class ArrayMatcher {
             .filter(pattern -> Pattern.compile(pattern).matcher(value).lookingAt())
             .findFirst();
     }
+
+    public static final Optional<Pattern> firstMatch(Pattern[] patternArray, String value) {
+        for (Pattern pattern : patternArray) {
+            if (pattern.matcher(value).lookingAt()) {
+                return Optional.of(pattern);
+            }
+        }
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,35 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import java.net.URI;
+import java.util.List;
+import java.util.function.Function;
+import org.arquillian.algeron.configuration.ConcurrentTasks;
+
+/**
+ * Fetches and parses contract files on a bounded pool of worker threads, so remote contracts are downloaded
+ * concurrently instead of paying the latency of each one in turn.
+ */
+class ConcurrentContractLoader {
+
+    private ConcurrentContractLoader() {
+        super();
+    }
+
+    /**
+     * @param contracts
+     *     to be loaded
+     * @param loader
+     *     loading a single contract
+     * @param threads
+     *     maximum number of contracts loaded at the same time. 1 or less loads them sequentially
+     *
+     * @return Loaded contracts in the same order as given ones.
+     *
+     * @throws IllegalArgumentException
+     *     once all contracts are attempted, if any of them could not be loaded, listing every failing contract
+     */
+    static <T> List<T> load(List<URI> contracts, Function<URI, T> loader, int threads) {
+        return ConcurrentTasks.run(contracts, loader::apply, threads, "contract-loader",
+            "contract files could not be loaded", IllegalArgumentException::new);
+    }
+}
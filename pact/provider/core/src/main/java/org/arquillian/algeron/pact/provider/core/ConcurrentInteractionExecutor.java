@@ -0,0 +1,239 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.Consumer;
+import au.com.dius.pact.model.RequestResponseInteraction;
+import org.arquillian.algeron.pact.provider.spi.DeferredReports;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Verifies interactions on a bounded pool of worker threads, or on a virtual thread per interaction when running on a
+ * JDK supporting them, and keeps track of the outcome of each one.
+ * Interactions are submitted and awaited from the thread running the test, which is also where reports of
+ * verifications implementing {@link DeferredReports} are finalised once they finish.
+ */
+class ConcurrentInteractionExecutor {
+
+    private static final Logger logger = Logger.getLogger(ConcurrentInteractionExecutor.class.getName());
+
+    private static final String NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = "newVirtualThreadPerTaskExecutor";
+
+    private final ExecutorService executorService;
+    private final Semaphore permits;
+    private final BiConsumer<Consumer, RequestResponseInteraction> verifiedListener;
+
+    private final List<PendingInteraction> pendingInteractions = new ArrayList<>();
+    private final List<String> failures = new ArrayList<>();
+
+    ConcurrentInteractionExecutor(int threads) {
+        this(threads, (consumer, interaction) -> {
+        });
+    }
+
+    /**
+     * @param threads
+     *     number of worker threads
+     * @param verifiedListener
+     *     notified from the test thread for each interaction whose verification finished successfully
+     */
+    ConcurrentInteractionExecutor(int threads, BiConsumer<Consumer, RequestResponseInteraction> verifiedListener) {
+        this(Executors.newFixedThreadPool(Math.max(1, threads)), null, verifiedListener);
+    }
+
+    private ConcurrentInteractionExecutor(ExecutorService executorService, Semaphore permits,
+        BiConsumer<Consumer, RequestResponseInteraction> verifiedListener) {
+        this.executorService = executorService;
+        this.permits = permits;
+        this.verifiedListener = verifiedListener;
+    }
+
+    /**
+     * Creates an executor verifying each interaction on its own virtual thread. Since virtual threads are not bounded
+     * by any pool, the number of interactions in flight is capped so provider is not flooded. Submitting an
+     * interaction blocks the test thread while the cap is reached.
+     * When virtual threads are not supported by running JDK, a pool of as many worker threads as the cap is used.
+     *
+     * @param maxConcurrentInteractions
+     *     maximum number of interactions verified at the same time
+     * @param verifiedListener
+     *     notified from the test thread for each interaction whose verification finished successfully
+     */
+    static ConcurrentInteractionExecutor withVirtualThreads(int maxConcurrentInteractions,
+        BiConsumer<Consumer, RequestResponseInteraction> verifiedListener) {
+        final int cap = Math.max(1, maxConcurrentInteractions);
+        final ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+
+        if (virtualThreadExecutor == null) {
+            logger.log(Level.WARNING, String.format(
+                "Virtual threads are not supported by running JDK, using %s worker threads instead", cap));
+            return new ConcurrentInteractionExecutor(cap, verifiedListener);
+        }
+
+        return new ConcurrentInteractionExecutor(virtualThreadExecutor, new Semaphore(cap), verifiedListener);
+    }
+
+    static ConcurrentInteractionExecutor withVirtualThreads(int maxConcurrentInteractions) {
+        return withVirtualThreads(maxConcurrentInteractions, (consumer, interaction) -> {
+        });
+    }
+
+    /**
+     * Virtual threads are resolved reflectively, so this class still runs on the JDK 8 the project is built with.
+     *
+     * @return Executor starting a virtual thread per task, or null if running JDK does not provide them.
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod(NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR).invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        } catch (InvocationTargetException e) {
+            // Preview JDKs throw UnsupportedOperationException unless preview features are enabled
+            logger.log(Level.FINE, "Virtual threads are not enabled", e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Gets an executor that records any verification handed over to it as belonging to given interaction.
+     *
+     * @param consumer
+     *     that defines the interaction
+     * @param interaction
+     *     to be verified
+     *
+     * @return Executor to be used by target.
+     */
+    Executor forInteraction(Consumer consumer, RequestResponseInteraction interaction) {
+        return command -> pendingInteractions.add(
+            new PendingInteraction(consumer, interaction, submit(command), deferredReportsOf(command)));
+    }
+
+    private Future<?> submit(Runnable command) {
+        if (permits == null) {
+            return executorService.submit(command);
+        }
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+
+        try {
+            return executorService.submit(() -> {
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets a registry where verifications completing asynchronously are recorded as belonging to given interaction.
+     * No worker thread is used while they are in flight.
+     *
+     * @param consumer
+     *     that defines the interaction
+     * @param interaction
+     *     to be verified
+     *
+     * @return Verification registry to be used by target.
+     */
+    java.util.function.Consumer<CompletionStage<?>> registryForInteraction(Consumer consumer,
+        RequestResponseInteraction interaction) {
+        return verification -> pendingInteractions.add(
+            new PendingInteraction(consumer, interaction, verification.toCompletableFuture(),
+                deferredReportsOf(verification)));
+    }
+
+    private static DeferredReports deferredReportsOf(Object verification) {
+        return verification instanceof DeferredReports ? (DeferredReports) verification : null;
+    }
+
+    /**
+     * Waits until all submitted verifications finish, collecting the failure of each one.
+     */
+    void awaitPending() {
+        try {
+            for (PendingInteraction pendingInteraction : pendingInteractions) {
+                pendingInteraction.await();
+            }
+        } finally {
+            pendingInteractions.clear();
+        }
+    }
+
+    List<String> getFailures() {
+        return failures;
+    }
+
+    void shutdown() {
+        try {
+            awaitPending();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private class PendingInteraction {
+
+        private final Consumer consumer;
+        private final RequestResponseInteraction interaction;
+        private final Future<?> result;
+        private final DeferredReports deferredReports;
+
+        PendingInteraction(Consumer consumer, RequestResponseInteraction interaction, Future<?> result,
+            DeferredReports deferredReports) {
+            this.consumer = consumer;
+            this.interaction = interaction;
+            this.result = result;
+            this.deferredReports = deferredReports;
+        }
+
+        void await() {
+            try {
+                awaitResult();
+            } finally {
+                if (deferredReports != null) {
+                    deferredReports.finaliseReports();
+                }
+            }
+        }
+
+        private void awaitResult() {
+            try {
+                result.get();
+                logger.log(Level.FINE, String.format("Interaction %s of consumer %s verified",
+                    interaction.getDescription(), consumer.getName()));
+                verifiedListener.accept(consumer, interaction);
+            } catch (ExecutionException e) {
+                final String failure = String.format("%s - %s: %s", consumer.getName(), interaction.getDescription(),
+                    e.getCause().getMessage());
+                logger.log(Level.SEVERE, failure);
+                failures.add(failure);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package org.arquillian.algeron.pact.provider.core;
 
 import org.arquillian.algeron.pact.provider.spi.Target;
+import org.arquillian.algeron.pact.provider.core.httptarget.AsyncHttpTarget;
 import org.arquillian.algeron.pact.provider.core.httptarget.HttpTarget;
+import org.arquillian.algeron.pact.provider.core.httptarget.LoadReplay;
+import org.arquillian.algeron.pact.provider.core.httptarget.PooledHttpAsyncClientFactory;
+import org.arquillian.algeron.pact.provider.core.httptarget.PooledHttpClientFactory;
+import org.arquillian.algeron.pact.provider.core.httptarget.StreamingBodyComparator;
+import org.arquillian.algeron.pact.provider.core.timing.VerificationTimings;
 import org.jboss.arquillian.core.api.Injector;
 import org.jboss.arquillian.core.api.Instance;
 import org.jboss.arquillian.core.api.InstanceProducer;
 import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
 import org.jboss.arquillian.core.api.annotation.Inject;
 import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+
+import java.io.Closeable;
+import java.io.IOException;
 
 public class HttpTargetCreator {
 
@@ -15,13 +25,19 @@ public class HttpTargetCreator {
     @ApplicationScoped
     InstanceProducer<Target> targetInstanceProducer;
 
+    @Inject
+    @ApplicationScoped
+    InstanceProducer<VerificationTimings> verificationTimingsInstanceProducer;
+
     @Inject
     Instance<Injector> injectorInstance;
 
     public void create(@Observes PactProviderConfiguration pactProviderConfiguration) {
 
         HttpTarget httpTarget;
-        if (pactProviderConfiguration.isTargetUrlSet()) {
+        if (pactProviderConfiguration.isAsyncTarget()) {
+            httpTarget = createAsyncHttpTarget(pactProviderConfiguration);
+        } else if (pactProviderConfiguration.isTargetUrlSet()) {
             httpTarget = new HttpTarget(pactProviderConfiguration.getTargetUrl(), pactProviderConfiguration.isInsecure());
         } else {
             httpTarget = new HttpTarget(
@@ -33,7 +49,64 @@ public class HttpTargetCreator {
             );
         }
 
+        httpTarget.setHttpClientFactory(new PooledHttpClientFactory(
+            pactProviderConfiguration.getConnectionPoolSize(),
+            pactProviderConfiguration.getConnectionIdleTimeout(),
+            pactProviderConfiguration.getConnectTimeout(),
+            pactProviderConfiguration.getReadTimeout()));
+
+        httpTarget.setReportSubdirectory(pactProviderConfiguration.getShardDirectory());
+
+        if (pactProviderConfiguration.isLoadReplay()) {
+            httpTarget.setLoadReplay(new LoadReplay(pactProviderConfiguration.getLoadReplayDuration(),
+                pactProviderConfiguration.getLoadReplayConcurrency(), pactProviderConfiguration.getLoadReplayRate()));
+        }
+
+        if (pactProviderConfiguration.isStreamingBodyComparison()) {
+            httpTarget.setStreamingBodyComparator(
+                new StreamingBodyComparator(pactProviderConfiguration.isFailFast()));
+        }
+
+        final VerificationTimings verificationTimings = new VerificationTimings();
+        httpTarget.setVerificationTimings(verificationTimings);
+        verificationTimingsInstanceProducer.set(verificationTimings);
+
         httpTarget.setInjector(injectorInstance.get());
         targetInstanceProducer.set(httpTarget);
     }
+
+    private AsyncHttpTarget createAsyncHttpTarget(PactProviderConfiguration pactProviderConfiguration) {
+        AsyncHttpTarget asyncHttpTarget;
+        if (pactProviderConfiguration.isTargetUrlSet()) {
+            asyncHttpTarget =
+                new AsyncHttpTarget(pactProviderConfiguration.getTargetUrl(), pactProviderConfiguration.isInsecure());
+        } else {
+            asyncHttpTarget = new AsyncHttpTarget(
+                pactProviderConfiguration.getProtocol(),
+                pactProviderConfiguration.getHost(),
+                pactProviderConfiguration.getPort(),
+                pactProviderConfiguration.getPath(),
+                pactProviderConfiguration.isInsecure()
+            );
+        }
+
+        asyncHttpTarget.setHttpAsyncClientFactory(new PooledHttpAsyncClientFactory(
+            pactProviderConfiguration.getConnectionPoolSize(),
+            pactProviderConfiguration.getConnectTimeout(),
+            pactProviderConfiguration.getReadTimeout()));
+
+        return asyncHttpTarget;
+    }
+
+    public void close(@Observes AfterSuite afterSuite) throws IOException {
+        final VerificationTimings verificationTimings = verificationTimingsInstanceProducer.get();
+        if (verificationTimings != null) {
+            verificationTimings.writeReport();
+        }
+
+        final Target target = targetInstanceProducer.get();
+        if (target instanceof Closeable) {
+            ((Closeable) target).close();
+        }
+    }
 }
@@ -0,0 +1,104 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.PactSpecVersion;
+import au.com.dius.pact.model.RequestResponseInteraction;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Computes stable hashes of interactions. Two interactions with the same content get the same hash regardless of map
+ * ordering or the JVM running the verification, so hashes can be persisted or shared between forks.
+ */
+public class InteractionDigest {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private InteractionDigest() {
+        super();
+    }
+
+    /**
+     * @param interaction
+     *     to hash
+     *
+     * @return hash of the full content of the interaction, including its description.
+     */
+    public static String of(RequestResponseInteraction interaction) {
+        return sha256(canonical(interaction.toMap(PactSpecVersion.V3)));
+    }
+
+    /**
+     * @param parts
+     *     values to hash. Maps and collections are hashed by content.
+     *
+     * @return hash of all given values.
+     */
+    public static String of(Object... parts) {
+        final StringBuilder content = new StringBuilder();
+        for (Object part : parts) {
+            canonical(part, content);
+            content.append('\n');
+        }
+        return sha256(content.toString());
+    }
+
+    static String canonical(Object value) {
+        final StringBuilder content = new StringBuilder();
+        canonical(value, content);
+        return content.toString();
+    }
+
+    private static void canonical(Object value, StringBuilder content) {
+        if (value instanceof Map) {
+            final Map<String, Object> sorted = new TreeMap<>();
+            ((Map<?, ?>) value).forEach((k, v) -> sorted.put(String.valueOf(k), v));
+
+            content.append('{');
+            sorted.forEach((k, v) -> {
+                quote(k, content);
+                content.append(':');
+                canonical(v, content);
+                content.append(',');
+            });
+            content.append('}');
+        } else if (value instanceof Collection) {
+            content.append('[');
+            for (Object element : (Collection<?>) value) {
+                canonical(element, content);
+                content.append(',');
+            }
+            content.append(']');
+        } else if (value instanceof String) {
+            quote((String) value, content);
+        } else {
+            content.append(value);
+        }
+    }
+
+    private static void quote(String value, StringBuilder content) {
+        content.append('"').append(value.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+    }
+
+    private static String sha256(String content) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return toHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        final char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+}
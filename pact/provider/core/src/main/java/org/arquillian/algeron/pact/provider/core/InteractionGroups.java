@@ -0,0 +1,107 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.Consumer;
+import au.com.dius.pact.model.Pact;
+import au.com.dius.pact.model.PactSpecVersion;
+import au.com.dius.pact.model.RequestResponseInteraction;
+import au.com.dius.pact.model.RequestResponsePact;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups semantically identical interactions defined by different consumers, this is the same provider states,
+ * request and expected response regardless of the description.
+ * <p>
+ * First interaction of each group, in pacts order, is the one to be verified, the rest are its duplicates.
+ */
+public class InteractionGroups {
+
+    private final Map<RequestResponseInteraction, Map<Consumer, RequestResponseInteraction>> groupsByInteraction =
+        new IdentityHashMap<>();
+    private final Set<RequestResponseInteraction> duplicates = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private InteractionGroups() {
+        super();
+    }
+
+    /**
+     * Groups identical interactions of given pacts. An interaction is only grouped with interactions of other
+     * consumers.
+     *
+     * @param pacts
+     *     to group
+     *
+     * @return Groups of interactions.
+     */
+    public static InteractionGroups of(List<Pact> pacts) {
+        final InteractionGroups interactionGroups = new InteractionGroups();
+        final Map<String, List<Map<Consumer, RequestResponseInteraction>>> groupsByDigest = new HashMap<>();
+
+        for (Pact pact : pacts) {
+            final Consumer consumer = pact.getConsumer();
+
+            for (RequestResponseInteraction interaction : ((RequestResponsePact) pact).getInteractions()) {
+                final List<Map<Consumer, RequestResponseInteraction>> groups =
+                    groupsByDigest.computeIfAbsent(digest(interaction), digest -> new ArrayList<>());
+
+                Map<Consumer, RequestResponseInteraction> group = groups.stream()
+                    .filter(g -> !g.containsKey(consumer))
+                    .findFirst()
+                    .orElse(null);
+
+                if (group == null) {
+                    group = new LinkedHashMap<>();
+                    groups.add(group);
+                } else {
+                    interactionGroups.duplicates.add(interaction);
+                }
+
+                group.put(consumer, interaction);
+                interactionGroups.groupsByInteraction.put(interaction, group);
+            }
+        }
+
+        return interactionGroups;
+    }
+
+    private static String digest(RequestResponseInteraction interaction) {
+        final Map<String, Object> content = new HashMap<>(interaction.toMap(PactSpecVersion.V3));
+        content.remove("description");
+        return InteractionDigest.of(content);
+    }
+
+    /**
+     * @param interaction
+     *     to check
+     *
+     * @return true if an identical interaction of another consumer is verified in its place.
+     */
+    public boolean isDuplicate(RequestResponseInteraction interaction) {
+        return duplicates.contains(interaction);
+    }
+
+    /**
+     * @param consumer
+     *     defining the interaction
+     * @param interaction
+     *     of the group
+     *
+     * @return All interactions identical to given one, including itself, by consumer.
+     */
+    public Map<Consumer, RequestResponseInteraction> getGroup(Consumer consumer,
+        RequestResponseInteraction interaction) {
+        final Map<Consumer, RequestResponseInteraction> group = groupsByInteraction.get(interaction);
+        return group == null ? Collections.singletonMap(consumer, interaction) : Collections.unmodifiableMap(group);
+    }
+
+    public int countDuplicates() {
+        return duplicates.size();
+    }
+}
@@ -4,36 +4,49 @@ import au.com.dius.pact.model.Consumer;
 import au.com.dius.pact.model.Pact;
 import au.com.dius.pact.model.ProviderState;
 import au.com.dius.pact.model.RequestResponseInteraction;
-import au.com.dius.pact.model.RequestResponsePact;
 import org.apache.http.HttpRequest;
 import org.arquillian.algeron.pact.provider.api.Pacts;
+import org.arquillian.algeron.pact.provider.core.timing.VerificationTimings;
 import org.arquillian.algeron.pact.provider.spi.ArquillianTestClassAwareTarget;
+import org.arquillian.algeron.pact.provider.spi.AsyncVerificationAwareTarget;
+import org.arquillian.algeron.pact.provider.spi.ConcurrentExecutionAwareTarget;
 import org.arquillian.algeron.pact.provider.spi.CurrentConsumer;
 import org.arquillian.algeron.pact.provider.spi.CurrentInteraction;
+import org.arquillian.algeron.pact.provider.spi.LatencyBudgetAwareTarget;
+import org.arquillian.algeron.pact.provider.spi.LoadReplayAwareTarget;
 import org.arquillian.algeron.pact.provider.spi.PactProviderExecutionAwareTarget;
+import org.arquillian.algeron.pact.provider.spi.Provider;
 import org.arquillian.algeron.pact.provider.spi.ProviderContextAwareTarget;
+import org.arquillian.algeron.pact.provider.spi.SharedInteractionAwareTarget;
 import org.arquillian.algeron.pact.provider.spi.State;
 import org.arquillian.algeron.pact.provider.spi.Target;
 import org.arquillian.algeron.pact.provider.spi.TargetRequestFilter;
+import org.arquillian.algeron.pact.provider.spi.WarmUpAwareTarget;
 import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
 import org.jboss.arquillian.core.api.annotation.Inject;
 import org.jboss.arquillian.core.api.annotation.Observes;
 import org.jboss.arquillian.core.spi.EventContext;
 import org.jboss.arquillian.test.api.ArquillianResource;
 import org.jboss.arquillian.test.spi.TestClass;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.jboss.arquillian.test.spi.annotation.ClassScoped;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
 import org.jboss.arquillian.test.spi.event.suite.Test;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -49,6 +62,33 @@ public class InteractionRunner {
     @Inject
     Instance<Target> targetInstance;
 
+    @Inject
+    Instance<PactProviderConfiguration> pactProviderConfigurationInstance;
+
+    @Inject
+    Instance<TestResult> testResultInstance;
+
+    @Inject
+    Instance<InteractionGroups> interactionGroupsInstance;
+
+    @Inject
+    Instance<VerificationTimings> verificationTimingsInstance;
+
+    @Inject
+    Instance<ProviderDeployment> providerDeploymentInstance;
+
+    @Inject
+    @ClassScoped
+    InstanceProducer<StateDispatchIndex> stateDispatchIndexInstanceProducer;
+
+    public void indexStates(@Observes(precedence = -10) BeforeClass test) {
+        // Runs after pacts are retrieved, so only provider classes pay for scanning state methods
+        final TestClass testClass = test.getTestClass();
+        if (testClass.isAnnotationPresent(Provider.class) || (pactsInstance != null && pactsInstance.get() != null)) {
+            stateDispatchIndexInstanceProducer.set(new StateDispatchIndex(testClass));
+        }
+    }
+
     public void executePacts(@Observes EventContext<Test> test) {
         final Pacts pacts = pactsInstance.get();
         if (pacts == null) {
@@ -74,42 +114,192 @@ public class InteractionRunner {
             throw new IllegalArgumentException(errorMessage);
         }
 
-        executePacts(test, pacts, interactionField, consumerField);
+        if (pacts instanceof LazyPacts) {
+            executeLazily(test, (LazyPacts) pacts, interactionField, consumerField);
+        } else {
+            execute(test, pacts, interactionField, consumerField);
+        }
     }
 
-    private void executePacts(EventContext<Test> test, final Pacts pacts, final Field interactionField,
+    private void execute(EventContext<Test> test, final Pacts pacts, final Field interactionField,
+        final Field consumerField) {
+        final PactProviderConfiguration pactProviderConfiguration = getPactProviderConfiguration();
+        if (pactProviderConfiguration != null && pactProviderConfiguration.isLoadReplay()) {
+            replayLoad(test, pacts, interactionField, consumerField);
+        } else {
+            executePacts(test, pacts, interactionField, consumerField);
+        }
+    }
+
+    /**
+     * Each pact is only parsed when reached and released once its interactions are verified, so scheduling by states
+     * and load replay groups only apply within each pact. A pact failing does not prevent the next ones from being
+     * verified.
+     */
+    private void executeLazily(EventContext<Test> test, final LazyPacts lazyPacts, final Field interactionField,
+        final Field consumerField) {
+        final List<AssertionError> failures = new ArrayList<>();
+
+        for (PactDescriptor descriptor : lazyPacts.getDescriptors()) {
+            final Pact pact = lazyPacts.load(descriptor);
+            if (pact == null) {
+                logger.log(Level.FINE, String.format("Skipping pact %s as it is about another provider or consumer",
+                    descriptor.getUri()));
+                continue;
+            }
+
+            try {
+                execute(test, new Pacts(Collections.singletonList(pact)), interactionField, consumerField);
+            } catch (AssertionError e) {
+                failures.add(e);
+            }
+        }
+
+        if (failures.size() == 1) {
+            throw failures.get(0);
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionError(failures.stream()
+                .map(Throwable::getMessage)
+                .collect(Collectors.joining(System.lineSeparator())));
+        }
+    }
+
+    /**
+     * Provider states of each group of interactions sharing the same states are set up once, then test is executed
+     * once for the whole group, so Target replays all its interactions as load instead of verifying them.
+     */
+    private void replayLoad(EventContext<Test> test, final Pacts pacts, final Field interactionField,
         final Field consumerField) {
         final TestClass testClass = test.getEvent().getTestClass();
         final Object testInstance = test.getEvent().getTestInstance();
 
-        for (Pact pact : pacts.getPacts()) {
-            RequestResponsePact requestResponsePact = (RequestResponsePact) pact;
+        final Target target = targetInstance.get();
+        if (!(target instanceof LoadReplayAwareTarget)) {
+            throw new IllegalArgumentException(String.format("Load replay requires a Target implementing %s",
+                LoadReplayAwareTarget.class.getName()));
+        }
+
+        final List<ScheduledInteraction> scheduledInteractions = scheduleInteractions(pacts);
+        warmUp(test, scheduledInteractions, interactionField, consumerField);
+
+        final Map<String, List<ScheduledInteraction>> stateGroups = scheduledInteractions.stream()
+            .collect(Collectors.groupingBy(ScheduledInteraction::getStateKey, LinkedHashMap::new,
+                Collectors.toList()));
+
+        for (final List<ScheduledInteraction> stateGroup : stateGroups.values()) {
+            final Consumer consumer = stateGroup.get(0).getConsumer();
+            final RequestResponseInteraction interaction = stateGroup.get(0).getInteraction();
 
-            // Inject current consumer
             if (consumerField != null) {
-                setField(testInstance, consumerField, pact.getConsumer());
+                setField(testInstance, consumerField, consumer);
             }
 
-            for (final RequestResponseInteraction interaction : requestResponsePact.getInteractions()) {
-                Map<String, ?> stateParams = executeStateChanges(interaction, testClass, testInstance);
+            final long stateSetupStart = System.nanoTime();
+            final Map<String, ?> stateParams = executeStateChanges(interaction, testClass, testInstance);
+            recordStateSetup(consumer, interaction, System.nanoTime() - stateSetupStart);
 
-                Target target = targetInstance.get();
+            prepareTarget(target, testClass, testInstance, consumer, interaction, stateParams);
+            ((LoadReplayAwareTarget) target).setLoadReplayInteractions(stateGroup.stream()
+                .collect(Collectors.groupingBy(ScheduledInteraction::getConsumer, LinkedHashMap::new,
+                    Collectors.mapping(ScheduledInteraction::getInteraction, Collectors.toList()))));
+
+            if (interactionField != null) {
+                setField(testInstance, interactionField, interaction);
+            }
 
-                if (target instanceof ArquillianTestClassAwareTarget) {
-                    ArquillianTestClassAwareTarget arquillianTestClassAwareTarget =
-                        (ArquillianTestClassAwareTarget) target;
-                    arquillianTestClassAwareTarget.setTestClass(testClass, testInstance);
+            test.proceed();
+        }
+    }
+
+    private void executePacts(EventContext<Test> test, final Pacts pacts, final Field interactionField,
+        final Field consumerField) {
+        final TestClass testClass = test.getEvent().getTestClass();
+        final Object testInstance = test.getEvent().getTestInstance();
+
+        final InteractionGroups interactionGroups =
+            interactionGroupsInstance == null ? null : interactionGroupsInstance.get();
+        final VerificationCache verificationCache = createVerificationCache(pacts, test.getEvent());
+        final ConcurrentInteractionExecutor concurrentInteractionExecutor =
+            createConcurrentInteractionExecutor(verificationCache, interactionGroups);
+        final LatencyBudgetIndex latencyBudgetIndex = LatencyBudgetIndex.of(testClass, pacts.getPacts());
+
+        String currentStateKey = null;
+        Map<String, ?> currentStateParams = Collections.emptyMap();
+
+        final List<ScheduledInteraction> scheduledInteractions = scheduleInteractions(pacts);
+        warmUp(test, scheduledInteractions, interactionField, consumerField);
+
+        try {
+            for (final ScheduledInteraction scheduledInteraction : scheduledInteractions) {
+                final Consumer consumer = scheduledInteraction.getConsumer();
+                final RequestResponseInteraction interaction = scheduledInteraction.getInteraction();
+
+                if (interactionGroups != null && interactionGroups.isDuplicate(interaction)) {
+                    logger.log(Level.FINE, String.format(
+                        "Skipping interaction %s of consumer %s as an identical one is verified in its place",
+                        interaction.getDescription(), consumer.getName()));
+                    continue;
+                }
+
+                final Map<Consumer, RequestResponseInteraction> sharedInteractions =
+                    getSharedInteractions(interactionGroups, consumer, interaction);
+
+                if (verificationCache != null && isVerified(verificationCache, sharedInteractions)) {
+                    logger.log(Level.INFO, String.format(
+                        "Skipping interaction %s of consumer %s as it was already verified against this provider",
+                        interaction.getDescription(), consumer.getName()));
+                    continue;
                 }
 
-                if (target instanceof PactProviderExecutionAwareTarget) {
-                    PactProviderExecutionAwareTarget pactProviderExecutionAwareTarget =
-                        (PactProviderExecutionAwareTarget) target;
-                    pactProviderExecutionAwareTarget.setConsumer(pact.getConsumer());
-                    pactProviderExecutionAwareTarget.setRequestResponseInteraction(interaction);
+                // Inject current consumer
+                if (consumerField != null) {
+                    setField(testInstance, consumerField, consumer);
                 }
-                if (target instanceof ProviderContextAwareTarget) {
-                    ProviderContextAwareTarget providerContextAwareTarget = (ProviderContextAwareTarget) target;
-                    providerContextAwareTarget.setStateParams(stateParams);
+
+                final boolean concurrent = concurrentInteractionExecutor != null
+                    && isConcurrentInteraction(interaction, testClass);
+
+                // States that are not safe for concurrent use are only set up once in-flight verifications finish
+                if (concurrentInteractionExecutor != null && !concurrent) {
+                    concurrentInteractionExecutor.awaitPending();
+                }
+
+                final Map<String, ?> stateParams;
+                if (scheduledInteraction.getStateKey().equals(currentStateKey)
+                    && isIdempotentInteraction(interaction, testClass)) {
+                    logger.log(Level.FINE, String.format(
+                        "Provider states of interaction %s of consumer %s are already set up",
+                        interaction.getDescription(), consumer.getName()));
+                    stateParams = currentStateParams;
+                } else {
+                    final long stateSetupStart = System.nanoTime();
+                    stateParams = executeStateChanges(interaction, testClass, testInstance);
+                    recordStateSetup(consumer, interaction, System.nanoTime() - stateSetupStart);
+                    currentStateKey = scheduledInteraction.getStateKey();
+                    currentStateParams = stateParams;
+                }
+
+                Target target = targetInstance.get();
+
+                prepareTarget(target, testClass, testInstance, consumer, interaction, stateParams);
+                if (target instanceof SharedInteractionAwareTarget) {
+                    SharedInteractionAwareTarget sharedInteractionAwareTarget = (SharedInteractionAwareTarget) target;
+                    sharedInteractionAwareTarget.setSharedInteractions(sharedInteractions);
+                }
+                if (target instanceof LatencyBudgetAwareTarget) {
+                    setLatencyBudget((LatencyBudgetAwareTarget) target, latencyBudgetIndex, sharedInteractions);
+                }
+                if (target instanceof ConcurrentExecutionAwareTarget) {
+                    ConcurrentExecutionAwareTarget concurrentExecutionAwareTarget =
+                        (ConcurrentExecutionAwareTarget) target;
+                    concurrentExecutionAwareTarget.setExecutor(concurrent ?
+                        concurrentInteractionExecutor.forInteraction(consumer, interaction) : null);
+                }
+                if (target instanceof AsyncVerificationAwareTarget) {
+                    AsyncVerificationAwareTarget asyncVerificationAwareTarget = (AsyncVerificationAwareTarget) target;
+                    asyncVerificationAwareTarget.setVerificationRegistry(concurrent ?
+                        concurrentInteractionExecutor.registryForInteraction(consumer, interaction) : null);
                 }
 
                 // Inject current interaction to test
@@ -119,8 +309,252 @@ public class InteractionRunner {
 
                 // run the test
                 test.proceed();
+
+                if (verificationCache != null && !concurrent && isTestPassed()) {
+                    markVerified(verificationCache, sharedInteractions);
+                }
+            }
+        } finally {
+            try {
+                if (concurrentInteractionExecutor != null) {
+                    concurrentInteractionExecutor.shutdown();
+                }
+            } finally {
+                if (verificationCache != null) {
+                    verificationCache.store();
+                }
+            }
+        }
+
+        if (concurrentInteractionExecutor != null && !concurrentInteractionExecutor.getFailures().isEmpty()) {
+            throw new AssertionError(String.format("Verification of %s interactions failed:%n%s",
+                concurrentInteractionExecutor.getFailures().size(),
+                String.join(System.lineSeparator(), concurrentInteractionExecutor.getFailures())));
+        }
+    }
+
+    /**
+     * A provider freshly deployed for current test class is warmed up once before any interaction is verified, so the
+     * first verified interactions do not pay for cold JIT, pools and lazy class loading. One interaction per endpoint
+     * is sent the configured number of times, with its provider states set up, and its outcome is ignored.
+     */
+    private void warmUp(final EventContext<Test> test, final List<ScheduledInteraction> scheduledInteractions,
+        final Field interactionField, final Field consumerField) {
+        final PactProviderConfiguration pactProviderConfiguration = getPactProviderConfiguration();
+        final ProviderDeployment providerDeployment =
+            providerDeploymentInstance == null ? null : providerDeploymentInstance.get();
+        final Target target = targetInstance.get();
+
+        if (pactProviderConfiguration == null || !pactProviderConfiguration.isWarmUp() || providerDeployment == null
+            || providerDeployment.isWarmedUp() || !(target instanceof WarmUpAwareTarget)) {
+            return;
+        }
+        providerDeployment.markWarmedUp();
+
+        final TestClass testClass = test.getEvent().getTestClass();
+        final Object testInstance = test.getEvent().getTestInstance();
+
+        final List<ScheduledInteraction> warmUpInteractions = scheduledInteractions.stream()
+            .collect(Collectors.toMap(
+                scheduledInteraction -> VerificationTimings.endpointOf(scheduledInteraction.getInteraction()),
+                Function.identity(), (first, next) -> first, LinkedHashMap::new))
+            .values().stream()
+            .limit(pactProviderConfiguration.getWarmUpInteractions())
+            .collect(Collectors.toList());
+
+        logger.log(Level.INFO, String.format("Warming up provider sending %s interactions %s times each",
+            warmUpInteractions.size(), pactProviderConfiguration.getWarmUpIterations()));
+
+        for (final ScheduledInteraction warmUpInteraction : warmUpInteractions) {
+            final Consumer consumer = warmUpInteraction.getConsumer();
+            final RequestResponseInteraction interaction = warmUpInteraction.getInteraction();
+
+            if (consumerField != null) {
+                setField(testInstance, consumerField, consumer);
+            }
+
+            final Map<String, ?> stateParams = executeStateChanges(interaction, testClass, testInstance);
+
+            prepareTarget(target, testClass, testInstance, consumer, interaction, stateParams);
+            ((WarmUpAwareTarget) target).setWarmUpIterations(pactProviderConfiguration.getWarmUpIterations());
+
+            if (interactionField != null) {
+                setField(testInstance, interactionField, interaction);
+            }
+
+            test.proceed();
+        }
+    }
+
+    private void prepareTarget(final Target target, final TestClass testClass, final Object testInstance,
+        final Consumer consumer, final RequestResponseInteraction interaction, final Map<String, ?> stateParams) {
+        if (target instanceof ArquillianTestClassAwareTarget) {
+            ArquillianTestClassAwareTarget arquillianTestClassAwareTarget =
+                (ArquillianTestClassAwareTarget) target;
+            arquillianTestClassAwareTarget.setTestClass(testClass, testInstance);
+        }
+
+        if (target instanceof PactProviderExecutionAwareTarget) {
+            PactProviderExecutionAwareTarget pactProviderExecutionAwareTarget =
+                (PactProviderExecutionAwareTarget) target;
+            pactProviderExecutionAwareTarget.setConsumer(consumer);
+            pactProviderExecutionAwareTarget.setRequestResponseInteraction(interaction);
+        }
+        if (target instanceof ProviderContextAwareTarget) {
+            ProviderContextAwareTarget providerContextAwareTarget = (ProviderContextAwareTarget) target;
+            providerContextAwareTarget.setStateParams(stateParams);
+        }
+        if (target instanceof WarmUpAwareTarget) {
+            WarmUpAwareTarget warmUpAwareTarget = (WarmUpAwareTarget) target;
+            warmUpAwareTarget.setWarmUpIterations(0);
+        }
+    }
+
+    /**
+     * When an interaction is shared by several consumers, the budget of the first one declaring it is used.
+     */
+    private void setLatencyBudget(final LatencyBudgetAwareTarget target, final LatencyBudgetIndex latencyBudgetIndex,
+        final Map<Consumer, RequestResponseInteraction> sharedInteractions) {
+        final Optional<LatencyBudgetIndex.Budget> latencyBudget = sharedInteractions.entrySet().stream()
+            .map(sharedInteraction -> latencyBudgetIndex.find(sharedInteraction.getKey(), sharedInteraction.getValue()))
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .findFirst();
+
+        if (latencyBudget.isPresent()) {
+            target.setLatencyBudget(latencyBudget.get().getPercentile(), latencyBudget.get().getMillis(),
+                latencyBudget.get().getReplays());
+        } else {
+            target.setLatencyBudget(0, 0, 0);
+        }
+    }
+
+    private ConcurrentInteractionExecutor createConcurrentInteractionExecutor(
+        final VerificationCache verificationCache, final InteractionGroups interactionGroups) {
+        final PactProviderConfiguration pactProviderConfiguration = getPactProviderConfiguration();
+
+        if (pactProviderConfiguration != null && pactProviderConfiguration.isParallel()) {
+            final BiConsumer<Consumer, RequestResponseInteraction> verifiedListener = (consumer, interaction) -> {
+                if (verificationCache != null) {
+                    markVerified(verificationCache, getSharedInteractions(interactionGroups, consumer, interaction));
+                }
+            };
+
+            if (pactProviderConfiguration.isVirtualThreads()) {
+                return ConcurrentInteractionExecutor.withVirtualThreads(
+                    pactProviderConfiguration.getMaxConcurrentInteractions(), verifiedListener);
             }
+            return new ConcurrentInteractionExecutor(pactProviderConfiguration.getParallelThreads(), verifiedListener);
         }
+
+        return null;
+    }
+
+    /**
+     * Verification cache is only used when enabled. When a full verification is forced, cache is still created so
+     * it is refreshed with the outcome of this run, but any previous entry is ignored. Entries are kept per test
+     * method, so each test verifying the provider skips only the interactions it verified itself.
+     */
+    private VerificationCache createVerificationCache(final Pacts pacts, final Test test) {
+        final PactProviderConfiguration pactProviderConfiguration = getPactProviderConfiguration();
+
+        if (pactProviderConfiguration == null || !pactProviderConfiguration.isVerificationCache()
+            || pacts.getPacts().isEmpty()) {
+            return null;
+        }
+
+        final String providerName = pacts.getPacts().get(0).getProvider().getName();
+        final String providerFingerprint = VerificationCache.resolveProviderFingerprint(
+            pactProviderConfiguration.getProviderVersion(), pactProviderConfiguration.getProviderArtifact());
+
+        // Each shard keeps its own cache, so forks sharing the same directory do not overwrite each other
+        final Path cacheDirectory = Paths.get(pactProviderConfiguration.getVerificationCacheDir(),
+            pactProviderConfiguration.getShardDirectory());
+
+        final String testName = test.getTestClass().getName() + "#" + test.getTestMethod().getName();
+
+        if (pactProviderConfiguration.isForceFullVerification()) {
+            return VerificationCache.empty(cacheDirectory, providerName, providerFingerprint, testName);
+        }
+
+        return VerificationCache.load(cacheDirectory, providerName, providerFingerprint, testName);
+    }
+
+    /**
+     * Gets all identical interactions verified together with given one, including itself.
+     */
+    private Map<Consumer, RequestResponseInteraction> getSharedInteractions(
+        final InteractionGroups interactionGroups, final Consumer consumer,
+        final RequestResponseInteraction interaction) {
+        if (interactionGroups == null) {
+            return Collections.singletonMap(consumer, interaction);
+        }
+        return interactionGroups.getGroup(consumer, interaction);
+    }
+
+    private boolean isVerified(final VerificationCache verificationCache,
+        final Map<Consumer, RequestResponseInteraction> sharedInteractions) {
+        return sharedInteractions.entrySet().stream()
+            .allMatch(e -> verificationCache.isVerified(e.getKey(), e.getValue()));
+    }
+
+    private void markVerified(final VerificationCache verificationCache,
+        final Map<Consumer, RequestResponseInteraction> sharedInteractions) {
+        sharedInteractions.forEach(verificationCache::markVerified);
+    }
+
+    private PactProviderConfiguration getPactProviderConfiguration() {
+        return pactProviderConfigurationInstance == null ? null : pactProviderConfigurationInstance.get();
+    }
+
+    /**
+     * Without a test result there is no evidence the interaction passed, so it is not considered passed.
+     */
+    private boolean isTestPassed() {
+        final TestResult testResult = testResultInstance == null ? null : testResultInstance.get();
+        return testResult != null && testResult.getStatus() == TestResult.Status.PASSED;
+    }
+
+    private List<ScheduledInteraction> scheduleInteractions(final Pacts pacts) {
+        final PactProviderConfiguration pactProviderConfiguration = getPactProviderConfiguration();
+
+        final List<ScheduledInteraction> scheduledInteractions;
+        if (pactProviderConfiguration != null && pactProviderConfiguration.isScheduleByState()) {
+            scheduledInteractions = InteractionScheduler.byProviderStates(pacts.getPacts());
+        } else {
+            scheduledInteractions = InteractionScheduler.inPactsOrder(pacts.getPacts());
+        }
+
+        if (pactProviderConfiguration != null && pactProviderConfiguration.isSharded()) {
+            final List<ScheduledInteraction> shardInteractions = InteractionScheduler.shard(scheduledInteractions,
+                pactProviderConfiguration.getShardIndex(), pactProviderConfiguration.getShardCount());
+            logger.log(Level.INFO, String.format("Shard %s of %s verifies %s of %s interactions",
+                pactProviderConfiguration.getShardIndex(), pactProviderConfiguration.getShardCount(),
+                shardInteractions.size(), scheduledInteractions.size()));
+            return shardInteractions;
+        }
+
+        return scheduledInteractions;
+    }
+
+    /**
+     * Provider states of an interaction need not be set up again after the previous interaction has set up the very
+     * same states when all state methods reacting to them are declared idempotent.
+     */
+    private boolean isIdempotentInteraction(final RequestResponseInteraction interaction, final TestClass testClass) {
+        final StateDispatchIndex stateDispatchIndex = getStateDispatchIndex(testClass);
+        return interaction.getProviderStates().stream()
+            .allMatch(state -> stateDispatchIndex.isIdempotent(state.getName()));
+    }
+
+    /**
+     * An interaction can be verified concurrently with others when it has no provider state or all state methods
+     * reacting to its states are declared safe for concurrent use.
+     */
+    private boolean isConcurrentInteraction(final RequestResponseInteraction interaction, final TestClass testClass) {
+        final StateDispatchIndex stateDispatchIndex = getStateDispatchIndex(testClass);
+        return interaction.getProviderStates().stream()
+            .allMatch(state -> stateDispatchIndex.isConcurrent(state.getName()));
     }
 
     private void setField(Object testInstance, Field fieldTarget, Object pact) {
@@ -220,70 +654,39 @@ public class InteractionRunner {
 
     protected Map<String, ?> executeStateChanges(final RequestResponseInteraction interaction, final TestClass testClass,
         final Object target) {
-        Map<String, ?> statesParams = new HashMap<>();
+        Map<String, Object> statesParams = new HashMap<>();
         if (!interaction.getProviderStates().isEmpty()) {
+            final StateDispatchIndex stateDispatchIndex = getStateDispatchIndex(testClass);
             for (final ProviderState state : interaction.getProviderStates()) {
-                Arrays.stream(testClass.getMethods(State.class))
-                    .filter(method -> ArrayMatcher.matches(
-                        method.getAnnotation(State.class).value(), state.getName()))
-                    .forEach(method -> {
-                        Object stateParams;
-                        if (isStateMethodWithMapParameter(method)) {
-                            stateParams = executeMethod(method, target, state.getParams());
-                        } else {
-                            if (method.getParameterCount() > 0) {
-                                // Use regular expressions to pass parameters.
-                                stateParams = executeStateMethodWithRegExp(method, state, target);
-                            } else {
-                                stateParams = executeMethod(method, target);
-                            }
-                        }
-                        if (stateParams instanceof Map) {
-                            statesParams.putAll((Map)stateParams);
-                        }
-                    });
+                statesParams.putAll(stateDispatchIndex.execute(state, target));
             }
         }
         return statesParams;
     }
 
-    private Object executeStateMethodWithRegExp(Method stateMethod, ProviderState state, Object target) {
-        final Optional<String> matchingStateOptional = ArrayMatcher.firstMatch(
-            stateMethod.getAnnotation(State.class).value(), state.getName());
-        // We are sure that at this point, an state is present
-        final String matchingState = matchingStateOptional.get();
-        final List<String> arguments = ArgumentPatternMatcher.arguments(
-            Pattern.compile(matchingState), state.getName());
+    private void recordStateSetup(final Consumer consumer, final RequestResponseInteraction interaction,
+        final long nanos) {
+        final VerificationTimings verificationTimings =
+            verificationTimingsInstance == null ? null : verificationTimingsInstance.get();
 
-        if (arguments.size() != stateMethod.getParameterCount()) {
-            throw new IllegalArgumentException(String.format(
-                "Consumer state %s matches with provider state %s but provider method contains %s arguments instead of matching %s",
-                state.getName(), matchingState, stateMethod.getParameterCount(), arguments.size()));
+        if (verificationTimings != null && !interaction.getProviderStates().isEmpty()) {
+            final String states = interaction.getProviderStates().stream()
+                .map(ProviderState::getName)
+                .collect(Collectors.joining(", "));
+            verificationTimings.recordStateSetup(consumer.getName(), states, nanos);
         }
-
-        Class<?>[] parameterTypes = stateMethod.getParameterTypes();
-
-        final Object[] instances = new Object[parameterTypes.length];
-
-        for (int i = 0; i < parameterTypes.length; i++) {
-            Class<?> parameter = parameterTypes[i];
-            instances[i] = StateTypeConverter.convert(arguments.get(i), parameter);
-        }
-
-        return executeMethod(stateMethod, target, instances);
     }
 
-    private boolean isStateMethodWithMapParameter(Method method) {
-        return method.getParameterCount() == 1 &&
-            Map.class.isAssignableFrom(method.getParameterTypes()[0]);
-    }
+    private StateDispatchIndex getStateDispatchIndex(final TestClass testClass) {
+        final StateDispatchIndex stateDispatchIndex =
+            stateDispatchIndexInstanceProducer == null ? null : stateDispatchIndexInstanceProducer.get();
 
-    private Object executeMethod(Method method, Object target, Object... params) {
-        try {
-            return method.invoke(target, params);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            throw new IllegalArgumentException(e);
+        if (stateDispatchIndex == null || !stateDispatchIndex.isIndexOf(testClass)) {
+            // Index has not been built at BeforeClass, for example when runner is used outside Arquillian lifecycle
+            return new StateDispatchIndex(testClass);
         }
+
+        return stateDispatchIndex;
     }
 
     private List<Field> getFieldsWithAnnotation(final Class<?> source,
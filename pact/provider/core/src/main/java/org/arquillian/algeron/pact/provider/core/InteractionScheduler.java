@@ -0,0 +1,74 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.Pact;
+import au.com.dius.pact.model.RequestResponseInteraction;
+import au.com.dius.pact.model.RequestResponsePact;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Decides the order in which interactions of all pacts are verified.
+ */
+class InteractionScheduler {
+
+    private InteractionScheduler() {
+        super();
+    }
+
+    /**
+     * @param pacts
+     *     to verify
+     *
+     * @return Interactions of given pacts in pacts order.
+     */
+    static List<ScheduledInteraction> inPactsOrder(List<Pact> pacts) {
+        final List<ScheduledInteraction> scheduledInteractions = new ArrayList<>();
+        for (Pact pact : pacts) {
+            for (RequestResponseInteraction interaction : ((RequestResponsePact) pact).getInteractions()) {
+                scheduledInteractions.add(new ScheduledInteraction(pact.getConsumer(), interaction));
+            }
+        }
+        return scheduledInteractions;
+    }
+
+    /**
+     * Interactions with identical provider states, this is same names and parameters, are scheduled consecutively so
+     * each state is set up as few times as possible. States are ordered by first appearance and interactions keep
+     * pacts order within each state, so the schedule is deterministic.
+     *
+     * @param pacts
+     *     to verify
+     *
+     * @return Interactions of given pacts grouped by provider states.
+     */
+    static List<ScheduledInteraction> byProviderStates(List<Pact> pacts) {
+        final Map<String, List<ScheduledInteraction>> interactionsByState = inPactsOrder(pacts).stream()
+            .collect(Collectors.groupingBy(ScheduledInteraction::getStateKey, LinkedHashMap::new,
+                Collectors.toList()));
+
+        return interactionsByState.values().stream()
+            .flatMap(List::stream)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * @param scheduledInteractions
+     *     all interactions to verify
+     * @param shardIndex
+     *     shard to keep
+     * @param shardCount
+     *     total number of shards
+     *
+     * @return Interactions of given shard, keeping the schedule order.
+     */
+    static List<ScheduledInteraction> shard(List<ScheduledInteraction> scheduledInteractions, int shardIndex,
+        int shardCount) {
+        return scheduledInteractions.stream()
+            .filter(scheduledInteraction -> scheduledInteraction.getShard(shardCount) == shardIndex)
+            .collect(Collectors.toList());
+    }
+}
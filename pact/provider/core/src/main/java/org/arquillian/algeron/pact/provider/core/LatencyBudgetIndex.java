@@ -0,0 +1,163 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.BasePact;
+import au.com.dius.pact.model.Consumer;
+import au.com.dius.pact.model.Pact;
+import au.com.dius.pact.model.RequestResponseInteraction;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.arquillian.algeron.pact.provider.spi.LatencyBudget;
+import org.jboss.arquillian.test.spi.TestClass;
+
+/**
+ * Latency budgets of interactions, declared by consumers in pact metadata or by provider with {@link LatencyBudget}
+ * annotations. Budgets declared by consumer take precedence, and within each source the first matching budget is used.
+ * <p>
+ * Consumers declare budgets under {@code latencyBudgets} metadata entry:
+ * <pre>
+ * "metadata": {
+ *   "latencyBudgets": [
+ *     {"interaction": "Planets average calculation", "percentile": 95, "millis": 150, "replays": 20}
+ *   ]
+ * }
+ * </pre>
+ */
+class LatencyBudgetIndex {
+
+    static final String METADATA_KEY = "latencyBudgets";
+
+    private static final String INTERACTION = "interaction";
+    private static final String PERCENTILE = "percentile";
+    private static final String MILLIS = "millis";
+    private static final String REPLAYS = "replays";
+
+    private static final double DEFAULT_PERCENTILE = 95;
+    private static final int DEFAULT_REPLAYS = 20;
+
+    private final Map<String, List<Budget>> consumerBudgets;
+    private final List<Budget> providerBudgets;
+
+    private LatencyBudgetIndex(Map<String, List<Budget>> consumerBudgets, List<Budget> providerBudgets) {
+        this.consumerBudgets = consumerBudgets;
+        this.providerBudgets = providerBudgets;
+    }
+
+    static LatencyBudgetIndex of(TestClass testClass, Collection<Pact> pacts) {
+        final List<Budget> providerBudgets = new ArrayList<>();
+        for (LatencyBudget latencyBudget : testClass.getJavaClass().getAnnotationsByType(LatencyBudget.class)) {
+            providerBudgets.add(new Budget(Pattern.compile(latencyBudget.interaction()), latencyBudget.percentile(),
+                latencyBudget.value(), latencyBudget.replays()));
+        }
+
+        final Map<String, List<Budget>> consumerBudgets = new HashMap<>();
+        for (Pact pact : pacts) {
+            final List<Budget> budgets = parseMetadata(pact);
+            if (!budgets.isEmpty()) {
+                consumerBudgets.computeIfAbsent(pact.getConsumer().getName(), name -> new ArrayList<>())
+                    .addAll(budgets);
+            }
+        }
+
+        return new LatencyBudgetIndex(consumerBudgets, providerBudgets);
+    }
+
+    private static List<Budget> parseMetadata(Pact pact) {
+        final Map<?, ?> metadata = pact instanceof BasePact ? ((BasePact<?>) pact).getMetadata() : null;
+        final Object declaredBudgets = metadata == null ? null : metadata.get(METADATA_KEY);
+
+        if (declaredBudgets == null) {
+            return Collections.emptyList();
+        }
+
+        if (!(declaredBudgets instanceof List)) {
+            throw new IllegalArgumentException(String.format("%s metadata of pact of consumer %s should be a list",
+                METADATA_KEY, pact.getConsumer().getName()));
+        }
+
+        final List<Budget> budgets = new ArrayList<>();
+        for (Object declaredBudget : (List<?>) declaredBudgets) {
+            if (!(declaredBudget instanceof Map) || !((Map<?, ?>) declaredBudget).containsKey(MILLIS)) {
+                throw new IllegalArgumentException(String.format(
+                    "Each %s entry of pact of consumer %s should be an object with at least %s field but found %s",
+                    METADATA_KEY, pact.getConsumer().getName(), MILLIS, declaredBudget));
+            }
+
+            final Map<?, ?> budget = (Map<?, ?>) declaredBudget;
+            final Object interaction = budget.get(INTERACTION);
+            budgets.add(new Budget(
+                interaction == null ? null : Pattern.compile(Pattern.quote(interaction.toString())),
+                toNumber(budget, PERCENTILE, DEFAULT_PERCENTILE).doubleValue(),
+                toNumber(budget, MILLIS, null).longValue(),
+                toNumber(budget, REPLAYS, DEFAULT_REPLAYS).intValue()));
+        }
+
+        return budgets;
+    }
+
+    private static Number toNumber(Map<?, ?> budget, String field, Number defaultValue) {
+        final Object value = budget.get(field);
+        if (value == null) {
+            return defaultValue;
+        }
+        return value instanceof Number ? (Number) value : Double.valueOf(value.toString());
+    }
+
+    /**
+     * @return Latency budget of given interaction, if any.
+     */
+    Optional<Budget> find(Consumer consumer, RequestResponseInteraction interaction) {
+        final Optional<Budget> consumerBudget =
+            consumerBudgets.getOrDefault(consumer.getName(), Collections.emptyList()).stream()
+            .filter(budget -> budget.appliesTo(interaction))
+            .findFirst();
+
+        if (consumerBudget.isPresent()) {
+            return consumerBudget;
+        }
+
+        return providerBudgets.stream()
+            .filter(budget -> budget.appliesTo(interaction))
+            .findFirst();
+    }
+
+    static class Budget {
+
+        private final Pattern interaction;
+        private final double percentile;
+        private final long millis;
+        private final int replays;
+
+        /**
+         * @param interaction
+         *     matching descriptions of interactions this budget applies to, null to apply to all of them
+         */
+        Budget(Pattern interaction, double percentile, long millis, int replays) {
+            this.interaction = interaction;
+            this.percentile = percentile;
+            this.millis = millis;
+            this.replays = replays;
+        }
+
+        boolean appliesTo(RequestResponseInteraction requestResponseInteraction) {
+            return interaction == null || interaction.matcher(requestResponseInteraction.getDescription()).matches();
+        }
+
+        double getPercentile() {
+            return percentile;
+        }
+
+        long getMillis() {
+            return millis;
+        }
+
+        int getReplays() {
+            return replays;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.Pact;
+import org.arquillian.algeron.pact.provider.api.Pacts;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Pacts that are only described when retrieved, and fully parsed one at a time when they are verified, so pacts of
+ * all consumers are never held in memory at once.
+ */
+class LazyPacts extends Pacts {
+
+    private final List<PactDescriptor> descriptors;
+    private final String providerName;
+    private final String consumerName;
+    private final ParsedPactCache parsedPactCache;
+
+    /**
+     * @param descriptors
+     *     of the pacts to verify
+     * @param providerName
+     *     to be verified
+     * @param consumerName
+     *     to be verified, or null for all consumers
+     * @param parsedPactCache
+     *     where parsed pact documents are looked for first, or null to always parse them
+     */
+    LazyPacts(List<PactDescriptor> descriptors, String providerName, String consumerName,
+        ParsedPactCache parsedPactCache) {
+        super(Collections.emptyList());
+        this.descriptors = new ArrayList<>(descriptors);
+        this.providerName = providerName;
+        this.consumerName = consumerName;
+        this.parsedPactCache = parsedPactCache;
+    }
+
+    List<PactDescriptor> getDescriptors() {
+        return descriptors;
+    }
+
+    /**
+     * Pacts whose consumer or provider were not known until parsed are checked again once loaded.
+     *
+     * @return Parsed pact, or null if it is not about the verified provider and consumer.
+     */
+    Pact load(PactDescriptor descriptor) {
+        final Pact pact = descriptor.load(parsedPactCache);
+        if (!pact.getProvider().getName().equals(providerName)
+            || (consumerName != null && !pact.getConsumer().getName().equals(consumerName))) {
+            return null;
+        }
+        return pact;
+    }
+
+    /**
+     * Parses all pacts at once. Only meant for callers that need every pact, since it defeats lazy loading.
+     */
+    @Override
+    public List<Pact> getPacts() {
+        return descriptors.stream()
+            .map(this::load)
+            .filter(pact -> pact != null)
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,140 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.Pact;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lightweight description of a pact file, this is where it is and which consumer and provider it is about, so pacts
+ * can be filtered without being parsed.
+ */
+class PactDescriptor {
+
+    private static final String PROVIDER = "provider";
+    private static final String CONSUMER = "consumer";
+    private static final String NAME = "name";
+
+    private final URI uri;
+    private final String consumer;
+    private final String provider;
+
+    PactDescriptor(URI uri, String consumer, String provider) {
+        this.uri = uri;
+        this.consumer = consumer;
+        this.provider = provider;
+    }
+
+    /**
+     * Reads consumer and provider names of a local pact file, stopping as soon as both are found. Remote pacts, like
+     * the ones served by a Pact Broker, are not fetched, so their names are unknown until they are loaded.
+     *
+     * @param uri
+     *     of the pact file
+     *
+     * @return Descriptor of given pact file.
+     */
+    static PactDescriptor of(URI uri) {
+        if (!PactFileReader.isLocal(uri)) {
+            return new PactDescriptor(uri, null, null);
+        }
+
+        String consumer = null;
+        String provider = null;
+        try (JsonReader reader = new JsonReader(new InputStreamReader(PactFileReader.openStream(uri),
+            StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            while (reader.hasNext() && (consumer == null || provider == null)) {
+                final String name = reader.nextName();
+                if (PROVIDER.equals(name)) {
+                    provider = readName(reader);
+                } else if (CONSUMER.equals(name)) {
+                    consumer = readName(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            throw new UncheckedIOException(String.format("Pact file %s could not be read", uri),
+                e instanceof IOException ? (IOException) e : new IOException(e));
+        }
+
+        return new PactDescriptor(uri, consumer, provider);
+    }
+
+    private static String readName(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+
+        String name = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (NAME.equals(reader.nextName()) && reader.peek() == JsonToken.STRING) {
+                name = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return name;
+    }
+
+    URI getUri() {
+        return uri;
+    }
+
+    /**
+     * @return Name of the consumer, or null if it is not known before loading the pact.
+     */
+    String getConsumer() {
+        return consumer;
+    }
+
+    /**
+     * @return Name of the provider, or null if it is not known before loading the pact.
+     */
+    String getProvider() {
+        return provider;
+    }
+
+    /**
+     * @param providerName
+     *     to be verified
+     * @param consumerName
+     *     to be verified, or null for any consumer
+     *
+     * @return False if described pact is known not to be about given provider and consumer.
+     */
+    boolean mayMatch(String providerName, String consumerName) {
+        return (provider == null || provider.equals(providerName))
+            && (consumer == null || consumerName == null || consumer.equals(consumerName));
+    }
+
+    /**
+     * @return Fully parsed pact.
+     */
+    Pact load() {
+        return load(null);
+    }
+
+    /**
+     * @param parsedPactCache
+     *     where parsed document of the pact file is looked for first, or null to always parse it
+     *
+     * @return Fully parsed pact.
+     */
+    Pact load(ParsedPactCache parsedPactCache) {
+        return PactFileReader.loadPact(uri, parsedPactCache);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (consumer %s, provider %s)", uri, consumer, provider);
+    }
+}
@@ -0,0 +1,182 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.BasePact;
+import au.com.dius.pact.model.Pact;
+import au.com.dius.pact.model.PactReader;
+import groovy.json.JsonSlurper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads pact files with {@link PactReader}, but keeping the metadata entries declared by consumers that are understood
+ * by Arquillian Algeron, which Pact reader drops. Parsed documents of local pact files may be kept in a
+ * {@link ParsedPactCache}, so unchanged files are not parsed again.
+ */
+class PactFileReader {
+
+    private static final Logger logger = Logger.getLogger(PactFileReader.class.getName());
+
+    private static final String METADATA = "metadata";
+    private static final Pattern MAJOR_VERSION = Pattern.compile("^\\s*(\\d+)");
+
+    private PactFileReader() {
+        super();
+    }
+
+    static Pact loadPact(URI uri) {
+        return loadPact(uri, null);
+    }
+
+    /**
+     * @param parsedPactCache
+     *     where parsed documents of local pact files are read from and stored, or null to always parse them
+     */
+    static Pact loadPact(URI uri, ParsedPactCache parsedPactCache) {
+        if (!isLocal(uri)) {
+            // Remote pacts, like the ones served by a Pact Broker, may require authentication handled by Pact reader
+            return PactReader.loadPact(uri.toString());
+        }
+
+        // Only plain files have a modification time to tell whether they changed
+        final Path pactFile = parsedPactCache != null && "file".equals(uri.getScheme()) ? Paths.get(uri) : null;
+        BasicFileAttributes pactFileAttributes = null;
+        if (pactFile != null) {
+            try {
+                pactFileAttributes = Files.readAttributes(pactFile, BasicFileAttributes.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException(String.format("Pact file %s could not be read", uri), e);
+            }
+
+            final Object cachedDocument = parsedPactCache.read(pactFile, pactFileAttributes);
+            if (cachedDocument != null) {
+                try {
+                    final Pact pact = fromDocument(cachedDocument);
+                    restoreMetadata(pact, cachedDocument);
+                    return pact;
+                } catch (RuntimeException | LinkageError e) {
+                    logger.log(Level.FINE,
+                        String.format("Pact %s could not be built from its cached document, parsing it", uri), e);
+                }
+            }
+        }
+
+        final String document = read(uri);
+        if (pactFile != null && isRequestResponsePact(document)) {
+            // Parsed once, and the same document is both built into a pact and stored in the cache
+            final Object json = new JsonSlurper().parseText(document);
+            final Pact pact;
+            try {
+                pact = fromDocument(json);
+            } catch (RuntimeException | LinkageError e) {
+                logger.log(Level.FINE,
+                    String.format("Pact %s could not be built from its parsed document, reading it", uri), e);
+                return loadWithPactReader(document);
+            }
+            parsedPactCache.write(pactFile, pactFileAttributes, json);
+            restoreMetadata(pact, json);
+            return pact;
+        }
+
+        return loadWithPactReader(document);
+    }
+
+    private static String read(URI uri) {
+        try (InputStream inputStream = openStream(uri)) {
+            final ByteArrayOutputStream content = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                content.write(buffer, 0, read);
+            }
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Pact file %s could not be read", uri), e);
+        }
+    }
+
+    /**
+     * Opens a local pact file. Jar files are not cached, so they are closed once the stream is, instead of being kept
+     * open, and locked on Windows, until the JVM exits.
+     */
+    static InputStream openStream(URI uri) throws IOException {
+        final URLConnection connection = uri.toURL().openConnection();
+        connection.setUseCaches(false);
+        return connection.getInputStream();
+    }
+
+    private static Pact loadWithPactReader(String document) {
+        final Pact pact = PactReader.loadPact(document);
+        if (document.contains(LatencyBudgetIndex.METADATA_KEY)) {
+            // Pact document is only parsed a second time when it declares any of the entries to restore
+            restoreMetadata(pact, new JsonSlurper().parseText(document));
+        }
+
+        return pact;
+    }
+
+    /**
+     * Builds a pact from its already parsed document the same way {@link PactReader} does once it has parsed it.
+     */
+    static Pact fromDocument(Object document) {
+        if (specificationMajorVersion(document) >= 3) {
+            return PactReader.loadV3Pact(null, document);
+        }
+        return PactReader.loadV2Pact(null, document);
+    }
+
+    private static int specificationMajorVersion(Object document) {
+        Object version = "2.0.0";
+        final Object metadata = document instanceof Map ? ((Map<?, ?>) document).get(METADATA) : null;
+        if (metadata instanceof Map) {
+            final Map<?, ?> metadataMap = (Map<?, ?>) metadata;
+            if (metadataMap.get("pact-specification") instanceof Map) {
+                version = ((Map<?, ?>) metadataMap.get("pact-specification")).get("version");
+            } else if (metadataMap.get("pactSpecificationVersion") != null) {
+                version = metadataMap.get("pactSpecificationVersion");
+            } else if (metadataMap.get("pactSpecification") instanceof Map) {
+                version = ((Map<?, ?>) metadataMap.get("pactSpecification")).get("version");
+            }
+        }
+
+        final Matcher majorVersion = MAJOR_VERSION.matcher(String.valueOf(version));
+        return majorVersion.find() ? Integer.parseInt(majorVersion.group(1)) : 2;
+    }
+
+    private static boolean isRequestResponsePact(String document) {
+        return document.contains("\"interactions\"") && !document.contains("\"messages\"");
+    }
+
+    static boolean isLocal(URI uri) {
+        return "file".equals(uri.getScheme()) || "jar".equals(uri.getScheme());
+    }
+
+    private static void restoreMetadata(Pact pact, Object json) {
+        if (!(pact instanceof BasePact) || !(json instanceof Map)) {
+            return;
+        }
+
+        final Object metadata = ((Map<?, ?>) json).get(METADATA);
+        if (metadata instanceof Map && ((Map<?, ?>) metadata).containsKey(LatencyBudgetIndex.METADATA_KEY)) {
+            final BasePact<?> basePact = (BasePact<?>) pact;
+            final Map<Object, Object> restoredMetadata = new HashMap<>(basePact.getMetadata());
+            restoredMetadata.put(LatencyBudgetIndex.METADATA_KEY,
+                ((Map<?, ?>) metadata).get(LatencyBudgetIndex.METADATA_KEY));
+            basePact.setMetadata(restoredMetadata);
+        }
+    }
+}
@@ -1,17 +1,55 @@
 package org.arquillian.algeron.pact.provider.core;
 
+import org.arquillian.algeron.pact.provider.core.httptarget.LoadReplay;
+import org.arquillian.algeron.pact.provider.core.httptarget.PooledHttpClientFactory;
+
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Map;
 
 public class PactProviderConfiguration {
 
+    public static final int DEFAULT_PACT_LOADING_THREADS = 8;
+
     private static final String HTTP_TARGET_URL = "targetUrl";
     private static final String INSECURE = "insecure";
     private static final String PROTOCOL = "protocol";
     private static final String HOST = "host";
     private static final String PORT = "port";
     private static final String PATH = "path";
+    private static final String PARALLEL = "parallel";
+    private static final String PARALLEL_THREADS = "parallelThreads";
+    private static final String VIRTUAL_THREADS = "virtualThreads";
+    private static final String MAX_CONCURRENT_INTERACTIONS = "maxConcurrentInteractions";
+    private static final String CONNECTION_POOL_SIZE = "connectionPoolSize";
+    private static final String CONNECTION_IDLE_TIMEOUT = "connectionIdleTimeout";
+    private static final String CONNECT_TIMEOUT = "connectTimeout";
+    private static final String READ_TIMEOUT = "readTimeout";
+    private static final String ASYNC_TARGET = "asyncTarget";
+    private static final String STREAMING_BODY_COMPARISON = "streamingBodyComparison";
+    private static final String FAIL_FAST = "failFast";
+    private static final String VERIFICATION_CACHE = "verificationCache";
+    private static final String VERIFICATION_CACHE_DIR = "verificationCacheDir";
+    private static final String PROVIDER_VERSION = "providerVersion";
+    private static final String PROVIDER_ARTIFACT = "providerArtifact";
+    private static final String FORCE_FULL_VERIFICATION = "forceFullVerification";
+    private static final String DEDUPLICATE_INTERACTIONS = "deduplicateInteractions";
+    private static final String LAZY_PACT_LOADING = "lazyPactLoading";
+    private static final String PACT_LOADING_THREADS = "pactLoadingThreads";
+    private static final String SUITE_PACTS_CACHE = "suitePactsCache";
+    private static final String PARSED_PACT_CACHE = "parsedPactCache";
+    private static final String PARSED_PACT_CACHE_DIR = "parsedPactCacheDir";
+    private static final String SCHEDULE_BY_STATE = "scheduleByState";
+    private static final String WARM_UP_ITERATIONS = "warmUpIterations";
+    private static final String WARM_UP_INTERACTIONS = "warmUpInteractions";
+    private static final String LOAD_REPLAY = "loadReplay";
+    private static final String LOAD_REPLAY_DURATION = "loadReplayDuration";
+    private static final String LOAD_REPLAY_CONCURRENCY = "loadReplayConcurrency";
+    private static final String LOAD_REPLAY_RATE = "loadReplayRate";
+    private static final String SHARD_INDEX = "shardIndex";
+    private static final String SHARD_COUNT = "shardCount";
+    private static final String SHARD_INDEX_PROPERTY = "pact.shardIndex";
+    private static final String SHARD_COUNT_PROPERTY = "pact.shardCount";
 
     private URL targetUrl;
     private boolean insecure = false;
@@ -21,6 +59,44 @@ public class PactProviderConfiguration {
     private int port = 8080;
     private String path = "/";
 
+    private boolean parallel = false;
+    private int parallelThreads = Runtime.getRuntime().availableProcessors();
+    private boolean virtualThreads = false;
+    private Integer maxConcurrentInteractions;
+
+    private int connectionPoolSize = PooledHttpClientFactory.DEFAULT_POOL_SIZE;
+    private long connectionIdleTimeout = PooledHttpClientFactory.DEFAULT_IDLE_TIMEOUT;
+    private int connectTimeout = PooledHttpClientFactory.DEFAULT_TIMEOUT;
+    private int readTimeout = PooledHttpClientFactory.DEFAULT_TIMEOUT;
+    private boolean asyncTarget = false;
+    private boolean streamingBodyComparison = false;
+    private boolean failFast = false;
+
+    private boolean verificationCache = false;
+    private String verificationCacheDir = "target/pact/verification-cache";
+    private String providerVersion;
+    private String providerArtifact;
+    private boolean forceFullVerification = false;
+
+    private boolean deduplicateInteractions = false;
+    private boolean lazyPactLoading = false;
+    private int pactLoadingThreads = DEFAULT_PACT_LOADING_THREADS;
+    private boolean suitePactsCache = true;
+    private boolean parsedPactCache = false;
+    private String parsedPactCacheDir = "target/pact/parsed-pact-cache";
+    private boolean scheduleByState = false;
+
+    private int warmUpIterations = 0;
+    private int warmUpInteractions = Integer.MAX_VALUE;
+
+    private boolean loadReplay = false;
+    private long loadReplayDuration = LoadReplay.DEFAULT_DURATION;
+    private Integer loadReplayConcurrency;
+    private double loadReplayRate = 0;
+
+    private int shardIndex = 0;
+    private int shardCount = 1;
+
     private PactProviderConfiguration() {
         super();
     }
@@ -49,6 +125,173 @@ public class PactProviderConfiguration {
         return insecure;
     }
 
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public int getParallelThreads() {
+        return parallelThreads;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * @return Maximum number of interactions verified at the same time on virtual threads. Defaults to connection pool
+     * size, since any interaction above it would only wait for a connection.
+     */
+    public int getMaxConcurrentInteractions() {
+        return maxConcurrentInteractions == null ? connectionPoolSize : maxConcurrentInteractions;
+    }
+
+    public int getConnectionPoolSize() {
+        return connectionPoolSize;
+    }
+
+    public long getConnectionIdleTimeout() {
+        return connectionIdleTimeout;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public boolean isAsyncTarget() {
+        return asyncTarget;
+    }
+
+    public boolean isStreamingBodyComparison() {
+        return streamingBodyComparison;
+    }
+
+    /**
+     * @return True if body comparison stops at first mismatch.
+     */
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    public boolean isVerificationCache() {
+        return verificationCache;
+    }
+
+    public String getVerificationCacheDir() {
+        return verificationCacheDir;
+    }
+
+    public String getProviderVersion() {
+        return providerVersion;
+    }
+
+    public String getProviderArtifact() {
+        return providerArtifact;
+    }
+
+    public boolean isForceFullVerification() {
+        return forceFullVerification;
+    }
+
+    public boolean isDeduplicateInteractions() {
+        return deduplicateInteractions;
+    }
+
+    /**
+     * @return True if pacts are only described when retrieved, and parsed one at a time when verified.
+     */
+    public boolean isLazyPactLoading() {
+        return lazyPactLoading;
+    }
+
+    /**
+     * @return Maximum number of pact files fetched and parsed at the same time.
+     */
+    public int getPactLoadingThreads() {
+        return pactLoadingThreads;
+    }
+
+    /**
+     * @return True if contracts retrieved and pacts parsed for a test class are reused by next test classes of the
+     * suite using the same contracts source.
+     */
+    public boolean isSuitePactsCache() {
+        return suitePactsCache;
+    }
+
+    /**
+     * @return True if parsed documents of local pact files are stored, and reused in next runs while files do not
+     * change.
+     */
+    public boolean isParsedPactCache() {
+        return parsedPactCache;
+    }
+
+    public String getParsedPactCacheDir() {
+        return parsedPactCacheDir;
+    }
+
+    public boolean isScheduleByState() {
+        return scheduleByState;
+    }
+
+    public int getWarmUpIterations() {
+        return warmUpIterations;
+    }
+
+    /**
+     * @return Maximum number of interactions sent during warm-up, each one to a different endpoint.
+     */
+    public int getWarmUpInteractions() {
+        return warmUpInteractions;
+    }
+
+    public boolean isWarmUp() {
+        return warmUpIterations > 0 && warmUpInteractions > 0;
+    }
+
+    public boolean isLoadReplay() {
+        return loadReplay;
+    }
+
+    public long getLoadReplayDuration() {
+        return loadReplayDuration;
+    }
+
+    /**
+     * @return Number of workers replaying requests at the same time. Defaults to connection pool size, since any worker
+     * above it would only wait for a connection.
+     */
+    public int getLoadReplayConcurrency() {
+        return loadReplayConcurrency == null ? connectionPoolSize : loadReplayConcurrency;
+    }
+
+    public double getLoadReplayRate() {
+        return loadReplayRate;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    /**
+     * @return Name of the directory where current shard writes its own files, or empty if verification is not sharded.
+     */
+    public String getShardDirectory() {
+        return isSharded() ? "shard-" + shardIndex : "";
+    }
+
     public boolean isTargetUrlSet() {
         return this.getTargetUrl() != null;
     }
@@ -84,6 +327,150 @@ public class PactProviderConfiguration {
             configuration.path = config.get(PATH);
         }
 
+        if (config.containsKey(PARALLEL)) {
+            configuration.parallel = Boolean.parseBoolean(config.get(PARALLEL));
+        }
+
+        if (config.containsKey(PARALLEL_THREADS)) {
+            configuration.parallelThreads = Integer.parseInt(config.get(PARALLEL_THREADS));
+        }
+
+        if (config.containsKey(VIRTUAL_THREADS)) {
+            configuration.virtualThreads = Boolean.parseBoolean(config.get(VIRTUAL_THREADS));
+        }
+
+        if (config.containsKey(MAX_CONCURRENT_INTERACTIONS)) {
+            configuration.maxConcurrentInteractions = Integer.parseInt(config.get(MAX_CONCURRENT_INTERACTIONS));
+        }
+
+        if (config.containsKey(CONNECTION_POOL_SIZE)) {
+            configuration.connectionPoolSize = Integer.parseInt(config.get(CONNECTION_POOL_SIZE));
+        }
+
+        if (config.containsKey(CONNECTION_IDLE_TIMEOUT)) {
+            configuration.connectionIdleTimeout = Long.parseLong(config.get(CONNECTION_IDLE_TIMEOUT));
+        }
+
+        if (config.containsKey(CONNECT_TIMEOUT)) {
+            configuration.connectTimeout = Integer.parseInt(config.get(CONNECT_TIMEOUT));
+        }
+
+        if (config.containsKey(READ_TIMEOUT)) {
+            configuration.readTimeout = Integer.parseInt(config.get(READ_TIMEOUT));
+        }
+
+        if (config.containsKey(ASYNC_TARGET)) {
+            configuration.asyncTarget = Boolean.parseBoolean(config.get(ASYNC_TARGET));
+        }
+
+        if (config.containsKey(STREAMING_BODY_COMPARISON)) {
+            configuration.streamingBodyComparison = Boolean.parseBoolean(config.get(STREAMING_BODY_COMPARISON));
+        }
+
+        if (config.containsKey(FAIL_FAST)) {
+            configuration.failFast = Boolean.parseBoolean(config.get(FAIL_FAST));
+        }
+
+        if (config.containsKey(VERIFICATION_CACHE)) {
+            configuration.verificationCache = Boolean.parseBoolean(config.get(VERIFICATION_CACHE));
+        }
+
+        if (config.containsKey(VERIFICATION_CACHE_DIR)) {
+            configuration.verificationCacheDir = config.get(VERIFICATION_CACHE_DIR);
+        }
+
+        if (config.containsKey(PROVIDER_VERSION)) {
+            configuration.providerVersion = config.get(PROVIDER_VERSION);
+        }
+
+        if (config.containsKey(PROVIDER_ARTIFACT)) {
+            configuration.providerArtifact = config.get(PROVIDER_ARTIFACT);
+        }
+
+        if (config.containsKey(FORCE_FULL_VERIFICATION)) {
+            configuration.forceFullVerification = Boolean.parseBoolean(config.get(FORCE_FULL_VERIFICATION));
+        }
+
+        if (config.containsKey(DEDUPLICATE_INTERACTIONS)) {
+            configuration.deduplicateInteractions = Boolean.parseBoolean(config.get(DEDUPLICATE_INTERACTIONS));
+        }
+
+        if (config.containsKey(LAZY_PACT_LOADING)) {
+            configuration.lazyPactLoading = Boolean.parseBoolean(config.get(LAZY_PACT_LOADING));
+        }
+
+        if (config.containsKey(PACT_LOADING_THREADS)) {
+            configuration.pactLoadingThreads = Integer.parseInt(config.get(PACT_LOADING_THREADS));
+        }
+
+        if (config.containsKey(SUITE_PACTS_CACHE)) {
+            configuration.suitePactsCache = Boolean.parseBoolean(config.get(SUITE_PACTS_CACHE));
+        }
+
+        if (config.containsKey(PARSED_PACT_CACHE)) {
+            configuration.parsedPactCache = Boolean.parseBoolean(config.get(PARSED_PACT_CACHE));
+        }
+
+        if (config.containsKey(PARSED_PACT_CACHE_DIR)) {
+            configuration.parsedPactCacheDir = config.get(PARSED_PACT_CACHE_DIR);
+        }
+
+        if (config.containsKey(SCHEDULE_BY_STATE)) {
+            configuration.scheduleByState = Boolean.parseBoolean(config.get(SCHEDULE_BY_STATE));
+        }
+
+        if (config.containsKey(WARM_UP_ITERATIONS)) {
+            configuration.warmUpIterations = Integer.parseInt(config.get(WARM_UP_ITERATIONS));
+        }
+
+        if (config.containsKey(WARM_UP_INTERACTIONS)) {
+            configuration.warmUpInteractions = Integer.parseInt(config.get(WARM_UP_INTERACTIONS));
+        }
+
+        if (config.containsKey(LOAD_REPLAY)) {
+            configuration.loadReplay = Boolean.parseBoolean(config.get(LOAD_REPLAY));
+        }
+
+        if (config.containsKey(LOAD_REPLAY_DURATION)) {
+            configuration.loadReplayDuration = Long.parseLong(config.get(LOAD_REPLAY_DURATION));
+        }
+
+        if (config.containsKey(LOAD_REPLAY_CONCURRENCY)) {
+            configuration.loadReplayConcurrency = Integer.parseInt(config.get(LOAD_REPLAY_CONCURRENCY));
+        }
+
+        if (config.containsKey(LOAD_REPLAY_RATE)) {
+            configuration.loadReplayRate = Double.parseDouble(config.get(LOAD_REPLAY_RATE));
+        }
+
+        // Shard is usually different for each fork, so it can also be set as system property
+        final String shardIndex = config.getOrDefault(SHARD_INDEX, System.getProperty(SHARD_INDEX_PROPERTY));
+        if (shardIndex != null) {
+            configuration.shardIndex = Integer.parseInt(shardIndex);
+        }
+
+        final String shardCount = config.getOrDefault(SHARD_COUNT, System.getProperty(SHARD_COUNT_PROPERTY));
+        if (shardCount != null) {
+            configuration.shardCount = Integer.parseInt(shardCount);
+        }
+
+        if (configuration.shardCount < 1 || configuration.shardIndex < 0
+            || configuration.shardIndex >= configuration.shardCount) {
+            throw new IllegalArgumentException(String.format("%s should be between 0 and %s - 1 but it is %s",
+                SHARD_INDEX, SHARD_COUNT, configuration.shardIndex));
+        }
+
+        if (configuration.verificationCache
+            && configuration.providerVersion == null && configuration.providerArtifact == null) {
+            throw new IllegalArgumentException(String.format("%s requires either %s or %s to be set",
+                VERIFICATION_CACHE, PROVIDER_VERSION, PROVIDER_ARTIFACT));
+        }
+
+        if (configuration.lazyPactLoading && configuration.deduplicateInteractions) {
+            throw new IllegalArgumentException(String.format("%s cannot be used together with %s, since identical "
+                + "interactions are looked for across all pacts", LAZY_PACT_LOADING, DEDUPLICATE_INTERACTIONS));
+        }
+
         return configuration;
     }
 }
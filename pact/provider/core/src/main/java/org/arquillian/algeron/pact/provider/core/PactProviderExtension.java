@@ -11,5 +11,9 @@ public class PactProviderExtension implements LoadableExtension {
             .observer(PactProviderConfigurator.class)
             .observer(HttpTargetCreator.class)
             .service(ResourceProvider.class, HttpTargetResourceProvider.class);
+
+        if (LoadableExtension.Validate.classExists("org.jboss.arquillian.container.spi.event.container.AfterDeploy")) {
+            builder.observer(ProviderDeploymentObserver.class);
+        }
     }
 }
@@ -0,0 +1,59 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.Pact;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Suite wide cache of retrieved contracts and parsed pacts, so test classes verifying the same provider against the
+ * same contracts source only retrieve and parse its contracts once.
+ * <p>
+ * Entries are keyed by contracts source, this is its resolved configuration, together with provider name.
+ */
+class PactsCache {
+
+    private final Map<Object, List<URI>> contracts = new ConcurrentHashMap<>();
+    private final Map<Object, List<Pact>> pacts = new ConcurrentHashMap<>();
+    private final Map<Object, List<PactDescriptor>> descriptors = new ConcurrentHashMap<>();
+
+    /**
+     * @return Contracts retrieved from given source, retrieving them only if they are not cached.
+     */
+    List<URI> getContracts(Object sourceKey, Supplier<List<URI>> retriever) {
+        return get(contracts, sourceKey, retriever);
+    }
+
+    /**
+     * @return Pacts of provider parsed from given source, parsing them only if they are not cached.
+     */
+    List<Pact> getPacts(Object sourceKey, Supplier<List<Pact>> loader) {
+        return get(pacts, sourceKey, loader);
+    }
+
+    /**
+     * @return Descriptors of pacts from given source, reading them only if they are not cached.
+     */
+    List<PactDescriptor> getDescriptors(Object sourceKey, Supplier<List<PactDescriptor>> reader) {
+        return get(descriptors, sourceKey, reader);
+    }
+
+    /**
+     * Nothing is cached when loading fails, so next test class tries again.
+     */
+    private static <T> List<T> get(Map<Object, List<T>> cache, Object sourceKey, Supplier<List<T>> loader) {
+        final List<T> cached = cache.get(sourceKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        final List<T> loaded = Collections.unmodifiableList(new ArrayList<>(loader.get()));
+        cache.put(sourceKey, loaded);
+        return loaded;
+    }
+}
@@ -1,7 +1,6 @@
 package org.arquillian.algeron.pact.provider.core;
 
 import au.com.dius.pact.model.Pact;
-import au.com.dius.pact.model.PactReader;
 import org.arquillian.algeron.pact.provider.api.Pacts;
 import org.arquillian.algeron.pact.provider.spi.Consumer;
 import org.arquillian.algeron.pact.provider.spi.Provider;
@@ -21,12 +20,16 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URI;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toList;
@@ -39,17 +42,49 @@ public class PactsRetriever {
 
     public static final String PROVIDER = "provider";
 
+    private static final Logger logger = Logger.getLogger(PactsRetriever.class.getName());
+
     @Inject
     @SuiteScoped
     InstanceProducer<Pacts> pactsInstanceProducer;
 
+    @Inject
+    @SuiteScoped
+    InstanceProducer<InteractionGroups> interactionGroupsInstanceProducer;
+
+    @Inject
+    @SuiteScoped
+    InstanceProducer<PactsCache> pactsCacheInstanceProducer;
+
     @Inject
     Instance<AlgeronProviderConfiguration> algeronProviderConfigurationInstance;
 
+    @Inject
+    Instance<PactProviderConfiguration> pactProviderConfigurationInstance;
+
     public void retrievePacts(@Observes BeforeClass test) {
+        final PactProviderConfiguration pactProviderConfiguration =
+            pactProviderConfigurationInstance == null ? null : pactProviderConfigurationInstance.get();
+
+        if (pactProviderConfiguration != null && pactProviderConfiguration.isLazyPactLoading()) {
+            final LazyPacts lazyPacts = getLazyPacts(test);
+            if (lazyPacts != null && !lazyPacts.getDescriptors().isEmpty()) {
+                pactsInstanceProducer.set(lazyPacts);
+            }
+            return;
+        }
+
         List<Pact> pacts = getPacts(test);
         if (!pacts.isEmpty()) {
             pactsInstanceProducer.set(new Pacts(pacts));
+
+            if (pactProviderConfiguration != null && pactProviderConfiguration.isDeduplicateInteractions()) {
+                final InteractionGroups interactionGroups = InteractionGroups.of(pacts);
+                logger.log(Level.INFO, String.format(
+                    "%s interactions are verified together with identical interactions of other consumers",
+                    interactionGroups.countDuplicates()));
+                interactionGroupsInstanceProducer.set(interactionGroups);
+            }
         }
     }
 
@@ -66,33 +101,183 @@ public class PactsRetriever {
         final Consumer consumerInfo = testClass.getAnnotation(Consumer.class);
         final String consumerName = consumerInfo != null ? consumerInfo.value() : null;
 
-        List<Pact> pacts;
+        final PactsCache pactsCache = getPactsCache();
+        // Cached pacts are shared by test classes verifying other consumers, so they are only filtered by provider
+        final List<Pact> providerPacts = pactsCache == null ?
+            loadContractFiles(retrieveContracts(testClass, serviceName), serviceName, consumerName) :
+            pactsCache.getPacts(getContractsSourceKey(testClass, serviceName),
+                () -> loadContractFiles(retrieveContracts(testClass, serviceName), serviceName));
+
+        return providerPacts.stream()
+            .filter(p -> consumerName == null || p.getConsumer().getName().equals(consumerName))
+            .collect(toList());
+    }
+
+    /**
+     * Only describes pacts of the verified provider and consumer, without parsing them.
+     *
+     * @return Pacts to be parsed one at a time when verified, or null if test class is not a provider test.
+     */
+    LazyPacts getLazyPacts(BeforeClass test) {
+        final TestClass testClass = test.getTestClass();
+
+        final Provider providerInfo = testClass.getAnnotation(Provider.class);
+        if (providerInfo == null) {
+            return null;
+        }
+
+        final String serviceName = providerInfo.value();
+
+        final Consumer consumerInfo = testClass.getAnnotation(Consumer.class);
+        final String consumerName = consumerInfo != null ? consumerInfo.value() : null;
+
+        final PactsCache pactsCache = getPactsCache();
+        final List<PactDescriptor> sourceDescriptors = pactsCache == null ?
+            describeContractFiles(retrieveContracts(testClass, serviceName)) :
+            pactsCache.getDescriptors(getContractsSourceKey(testClass, serviceName),
+                () -> describeContractFiles(retrieveContracts(testClass, serviceName)));
+
+        final List<PactDescriptor> descriptors = sourceDescriptors.stream()
+            .filter(descriptor -> descriptor.mayMatch(serviceName, consumerName))
+            .collect(toList());
+
+        return new LazyPacts(descriptors, serviceName, consumerName, getParsedPactCache());
+    }
+
+    private List<URI> retrieveContracts(TestClass testClass, String serviceName) {
+        final PactsCache pactsCache = getPactsCache();
+        if (pactsCache == null) {
+            return retrieveContractsFromSource(testClass, serviceName);
+        }
+        return pactsCache.getContracts(getContractsSourceKey(testClass, serviceName),
+            () -> retrieveContractsFromSource(testClass, serviceName));
+    }
+
+    private List<URI> retrieveContractsFromSource(TestClass testClass, String serviceName) {
         try {
             final ContractsRetriever contractsSource =
                 getContractsSource(testClass, algeronProviderConfigurationInstance.get());
             contractsSource.setProviderName(serviceName);
-            final List<URI> contractsDirectory = contractsSource.retrieve();
-
-            pacts = loadContractFiles(contractsDirectory, serviceName).stream()
-                .filter(p -> consumerName == null || p.getConsumer().getName().equals(consumerName))
-                .collect(toList());
+            return contractsSource.retrieve();
         } catch (IOException e) {
             throw new IllegalArgumentException(e);
         }
-        return pacts;
+    }
+
+    List<PactDescriptor> describeContractFiles(List<URI> contracts) {
+        if (contracts == null) {
+            return new ArrayList<>();
+        }
+
+        final List<URI> contractFiles = contracts.stream()
+            .filter(uri -> uri.toString().endsWith(".json"))
+            .collect(toList());
+
+        return ConcurrentContractLoader.load(contractFiles, PactDescriptor::of, getPactLoadingThreads());
+    }
+
+    /**
+     * Suite wide cache is created by the first test class retrieving pacts, unless it is disabled.
+     *
+     * @return Cache of pacts, or null if pacts are not cached.
+     */
+    private PactsCache getPactsCache() {
+        final PactProviderConfiguration pactProviderConfiguration =
+            pactProviderConfigurationInstance == null ? null : pactProviderConfigurationInstance.get();
+        if (pactsCacheInstanceProducer == null
+            || (pactProviderConfiguration != null && !pactProviderConfiguration.isSuitePactsCache())) {
+            return null;
+        }
+
+        PactsCache pactsCache = pactsCacheInstanceProducer.get();
+        if (pactsCache == null) {
+            pactsCache = new PactsCache();
+            pactsCacheInstanceProducer.set(pactsCache);
+        }
+        return pactsCache;
+    }
+
+    /**
+     * Identifies the contracts retrieved for a provider. Retrievers declared with {@link ContractsSource} may be
+     * created with the test class, so the test class is part of their identity. Annotations meta-annotated with it
+     * and retriever configuration are compared by value, so test classes declaring the same source share it.
+     *
+     * @return Key of contracts source of given test class for given provider.
+     */
+    Object getContractsSourceKey(final TestClass testClass, final String serviceName) {
+        final ContractsSource pactSource = testClass.getAnnotation(ContractsSource.class);
+        if (pactSource != null) {
+            return Arrays.asList(pactSource.value(), testClass.getJavaClass(), serviceName);
+        }
+
+        final List<Annotation> pactLoaders = Arrays.stream(testClass.getJavaClass().getAnnotations())
+            .filter(annotation -> annotation.annotationType().getAnnotation(ContractsSource.class) != null)
+            .collect(toList());
+        if (isAnnotationPresent(pactLoaders)) {
+            return Arrays.asList(pactLoaders, serviceName);
+        }
+
+        final AlgeronProviderConfiguration algeronProviderConfiguration = algeronProviderConfigurationInstance.get();
+        if (algeronProviderConfiguration != null && algeronProviderConfiguration.isRetrieverConfigurationSet()) {
+            return Arrays.asList(new HashMap<>(algeronProviderConfiguration.getRetrieverConfiguration()), serviceName);
+        }
+
+        // No source at all, retrieval fails anyway
+        return Arrays.asList(testClass.getJavaClass(), serviceName);
+    }
+
+    /**
+     * @return Cache of parsed pact documents kept between runs, or null if it is disabled.
+     */
+    private ParsedPactCache getParsedPactCache() {
+        final PactProviderConfiguration pactProviderConfiguration =
+            pactProviderConfigurationInstance == null ? null : pactProviderConfigurationInstance.get();
+        if (pactProviderConfiguration == null || !pactProviderConfiguration.isParsedPactCache()) {
+            return null;
+        }
+        return new ParsedPactCache(Paths.get(pactProviderConfiguration.getParsedPactCacheDir()));
+    }
+
+    private int getPactLoadingThreads() {
+        final PactProviderConfiguration pactProviderConfiguration =
+            pactProviderConfigurationInstance == null ? null : pactProviderConfigurationInstance.get();
+        return pactProviderConfiguration == null ?
+            PactProviderConfiguration.DEFAULT_PACT_LOADING_THREADS : pactProviderConfiguration.getPactLoadingThreads();
     }
 
     protected List<Pact> loadContractFiles(List<URI> contracts, String providerName) {
+        return loadContractFiles(contracts, providerName, null);
+    }
+
+    /**
+     * Consumer and provider names of local pact files are read first, so files about other providers or consumers
+     * are skipped without being fully parsed.
+     *
+     * @param consumerName
+     *     to keep, or null to keep pacts of all consumers
+     */
+    protected List<Pact> loadContractFiles(List<URI> contracts, String providerName, String consumerName) {
         if (contracts != null) {
             List<URI> contractFiles = contracts.stream()
                 .filter(uri -> uri.toString().endsWith(".json"))
                 .collect(toList());
 
             if (contractFiles != null) {
-                return contractFiles.stream()
-                    .map(URI::toString)
-                    .map(PactReader::loadPact)
-                    .filter(pact -> pact.getProvider().getName().equals(providerName))
+                final ParsedPactCache parsedPactCache = getParsedPactCache();
+                final List<Pact> pacts = ConcurrentContractLoader.load(contractFiles, uri -> {
+                    final PactDescriptor descriptor = PactDescriptor.of(uri);
+                    return descriptor.mayMatch(providerName, consumerName) ? descriptor.load(parsedPactCache) : null;
+                }, getPactLoadingThreads());
+
+                final long skipped = pacts.stream().filter(pact -> pact == null).count();
+                if (skipped > 0) {
+                    logger.log(Level.FINE, String.format(
+                        "Skipped %s of %s pact files as they are about other providers or consumers", skipped,
+                        contractFiles.size()));
+                }
+
+                return pacts.stream()
+                    .filter(pact -> pact != null && pact.getProvider().getName().equals(providerName))
                     .collect(Collectors.toList());
             }
         }
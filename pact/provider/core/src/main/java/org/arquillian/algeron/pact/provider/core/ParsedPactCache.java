@@ -0,0 +1,264 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Local store of parsed pact documents, so unchanged pact files are not parsed again as JSON in next runs.
+ * <p>
+ * Each pact file is cached in its own entry, named after the hash of the file path, holding the path, size and last
+ * modification time of the file it was parsed from, followed by the document tree in a compact binary form where
+ * repeated keys and values are only written once. As in build tools, a file with the same size and modification time
+ * is considered unchanged, so it is not even read when its entry is used.
+ */
+class ParsedPactCache {
+
+    private static final Logger logger = Logger.getLogger(ParsedPactCache.class.getName());
+
+    private static final int MAGIC = 0x50414354;
+    private static final int FORMAT_VERSION = 2;
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INTEGER = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte BIG_INTEGER = 6;
+    private static final byte BIG_DECIMAL = 7;
+    private static final byte STRING = 8;
+    private static final byte STRING_REFERENCE = 9;
+    private static final byte LIST = 10;
+    private static final byte MAP = 11;
+
+    private final Path cacheDirectory;
+
+    ParsedPactCache(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * @param pactFile
+     *     parsed pact file
+     * @param pactFileAttributes
+     *     current attributes of the pact file
+     *
+     * @return Parsed document of given pact file, or null if it is not cached or the file changed since it was.
+     */
+    Object read(Path pactFile, BasicFileAttributes pactFileAttributes) {
+        final Path entry = entryOf(pactFile);
+        if (!Files.exists(entry)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION
+                || !in.readUTF().equals(pactFile.toAbsolutePath().toString())
+                || in.readLong() != pactFileAttributes.size()
+                || in.readLong() != pactFileAttributes.lastModifiedTime().toMillis()) {
+                return null;
+            }
+            // No length read from a corrupted entry can be bigger than the entry itself
+            return readValue(in, new ArrayList<>(), Files.size(entry));
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.FINE, String.format("Parsed pact cache entry %s could not be read, ignoring it", entry),
+                e);
+            return null;
+        }
+    }
+
+    /**
+     * Entry is written to a temporary file first, so concurrent loaders never read a partially written entry.
+     *
+     * @param pactFile
+     *     parsed pact file
+     * @param pactFileAttributes
+     *     attributes of the pact file read before it was parsed
+     * @param document
+     *     parsed document, made of maps, lists, strings, numbers, booleans and nulls
+     */
+    void write(Path pactFile, BasicFileAttributes pactFileAttributes, Object document) {
+        final Path entry = entryOf(pactFile);
+        Path temporaryEntry = null;
+        try {
+            Files.createDirectories(cacheDirectory);
+            temporaryEntry = Files.createTempFile(cacheDirectory, entry.getFileName().toString(), ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporaryEntry)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(pactFile.toAbsolutePath().toString());
+                out.writeLong(pactFileAttributes.size());
+                out.writeLong(pactFileAttributes.lastModifiedTime().toMillis());
+                writeValue(out, document, new HashMap<>());
+            }
+
+            Files.move(temporaryEntry, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, String.format("Parsed pact cache entry %s could not be written", entry), e);
+            if (temporaryEntry != null) {
+                try {
+                    Files.deleteIfExists(temporaryEntry);
+                } catch (IOException ignored) {
+                    // Leftover temporary file only wastes space
+                }
+            }
+        }
+    }
+
+    Path entryOf(Path pactFile) {
+        return cacheDirectory.resolve(InteractionDigest.of(pactFile.toAbsolutePath().toString()) + ".bin");
+    }
+
+    private static void writeValue(DataOutputStream out, Object value, Map<String, Integer> strings)
+        throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(INTEGER);
+            out.writeInt(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof BigInteger) {
+            out.writeByte(BIG_INTEGER);
+            writeString(out, value.toString());
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(BIG_DECIMAL);
+            writeString(out, value.toString());
+        } else if (value instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeSharedString(out, String.valueOf(entry.getKey()), strings);
+                writeValue(out, entry.getValue(), strings);
+            }
+        } else if (value instanceof Collection) {
+            final Collection<?> collection = (Collection<?>) value;
+            out.writeByte(LIST);
+            out.writeInt(collection.size());
+            for (Object element : collection) {
+                writeValue(out, element, strings);
+            }
+        } else if (value instanceof CharSequence) {
+            writeSharedString(out, value.toString(), strings);
+        } else {
+            throw new IllegalArgumentException(
+                String.format("Value of type %s cannot be cached", value.getClass().getName()));
+        }
+    }
+
+    private static void writeSharedString(DataOutputStream out, String value, Map<String, Integer> strings)
+        throws IOException {
+        final Integer index = strings.get(value);
+        if (index != null) {
+            out.writeByte(STRING_REFERENCE);
+            out.writeInt(index);
+        } else {
+            strings.put(value, strings.size());
+            out.writeByte(STRING);
+            writeString(out, value);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        // Bodies may exceed the 64KB limit of modified UTF-8 strings
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static Object readValue(DataInputStream in, List<String> strings, long limit) throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case BIG_INTEGER:
+                return new BigInteger(readString(in, limit));
+            case BIG_DECIMAL:
+                return new BigDecimal(readString(in, limit));
+            case STRING:
+            case STRING_REFERENCE:
+                return readSharedString(in, type, strings, limit);
+            case MAP:
+                final int entries = readLength(in, limit);
+                final Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < entries; i++) {
+                    final String key = readSharedString(in, in.readByte(), strings, limit);
+                    map.put(key, readValue(in, strings, limit));
+                }
+                return map;
+            case LIST:
+                final int size = readLength(in, limit);
+                final List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in, strings, limit));
+                }
+                return list;
+            default:
+                throw new IOException(String.format("Unknown value type %s", type));
+        }
+    }
+
+    private static String readSharedString(DataInputStream in, byte type, List<String> strings, long limit)
+        throws IOException {
+        if (type == STRING_REFERENCE) {
+            return strings.get(in.readInt());
+        }
+        if (type != STRING) {
+            throw new IOException(String.format("Expected a string but found value type %s", type));
+        }
+        final String value = readString(in, limit);
+        strings.add(value);
+        return value;
+    }
+
+    private static String readString(DataInputStream in, long limit) throws IOException {
+        final byte[] bytes = new byte[readLength(in, limit)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength(DataInputStream in, long limit) throws IOException {
+        final int length = in.readInt();
+        if (length < 0 || length > limit) {
+            throw new IOException(String.format("Length %s exceeds the size of the entry", length));
+        }
+        return length;
+    }
+}
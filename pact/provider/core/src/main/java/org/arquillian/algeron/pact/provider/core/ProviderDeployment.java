@@ -0,0 +1,17 @@
+package org.arquillian.algeron.pact.provider.core;
+
+/**
+ * Provider deployed by Arquillian for current test class, which is cold until first interactions are sent to it.
+ */
+class ProviderDeployment {
+
+    private volatile boolean warmedUp = false;
+
+    boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    void markWarmedUp() {
+        this.warmedUp = true;
+    }
+}
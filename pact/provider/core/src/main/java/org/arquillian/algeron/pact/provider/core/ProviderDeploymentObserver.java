@@ -0,0 +1,22 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import org.jboss.arquillian.container.spi.event.container.AfterDeploy;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.test.spi.annotation.ClassScoped;
+
+/**
+ * Records that provider has been deployed by Arquillian, so it can be warmed up before verification. When deployment is
+ * skipped, or there is no container at all, nothing is recorded.
+ */
+public class ProviderDeploymentObserver {
+
+    @Inject
+    @ClassScoped
+    InstanceProducer<ProviderDeployment> providerDeploymentInstanceProducer;
+
+    public void recordDeployment(@Observes AfterDeploy afterDeploy) {
+        providerDeploymentInstanceProducer.set(new ProviderDeployment());
+    }
+}
@@ -0,0 +1,54 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.Consumer;
+import au.com.dius.pact.model.ProviderState;
+import au.com.dius.pact.model.RequestResponseInteraction;
+
+import java.util.stream.Collectors;
+
+/**
+ * Interaction to be verified together with the consumer defining it.
+ */
+class ScheduledInteraction {
+
+    private final Consumer consumer;
+    private final RequestResponseInteraction interaction;
+    private final String stateKey;
+
+    ScheduledInteraction(Consumer consumer, RequestResponseInteraction interaction) {
+        this.consumer = consumer;
+        this.interaction = interaction;
+        this.stateKey = InteractionDigest.canonical(interaction.getProviderStates().stream()
+            .map(ProviderState::toMap)
+            .collect(Collectors.toList()));
+    }
+
+    Consumer getConsumer() {
+        return consumer;
+    }
+
+    RequestResponseInteraction getInteraction() {
+        return interaction;
+    }
+
+    /**
+     * Shard of an interaction only depends on its consumer, description and provider states, so all forks agree on it
+     * regardless of the order in which pacts are loaded.
+     *
+     * @param shardCount
+     *     total number of shards
+     *
+     * @return Shard, between 0 and shardCount - 1, where this interaction is verified.
+     */
+    int getShard(int shardCount) {
+        final String digest = InteractionDigest.of(consumer.getName(), interaction.getDescription(), stateKey);
+        return (int) (Long.parseLong(digest.substring(0, 15), 16) % shardCount);
+    }
+
+    /**
+     * @return Key identifying provider states of the interaction, this is state names and parameters in order.
+     */
+    String getStateKey() {
+        return stateKey;
+    }
+}
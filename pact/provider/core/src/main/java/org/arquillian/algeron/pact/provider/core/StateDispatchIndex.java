@@ -0,0 +1,218 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.ProviderState;
+import org.arquillian.algeron.pact.provider.spi.State;
+import org.jboss.arquillian.test.spi.TestClass;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Index of the methods annotated with {@link State} of a test class.
+ * <p>
+ * Patterns, argument converters and method handles are resolved once when the index is built, and the methods reacting
+ * to each state name are resolved the first time the state is found, so executing a state is just a lookup.
+ * Parameterised states may come with many different names, so only the most recently used ones are kept.
+ */
+public class StateDispatchIndex {
+
+    static final int MAX_RESOLVED_STATES = 1024;
+
+    private final Class<?> testClass;
+    private final List<StateMethod> stateMethods;
+    private final Map<String, List<StateInvocation>> invocationsByState =
+        Collections.synchronizedMap(new LinkedHashMap<String, List<StateInvocation>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<StateInvocation>> eldest) {
+                return size() > MAX_RESOLVED_STATES;
+            }
+        });
+
+    public StateDispatchIndex(TestClass testClass) {
+        this.testClass = testClass.getJavaClass();
+        this.stateMethods = Collections.unmodifiableList(Arrays.stream(testClass.getMethods(State.class))
+            .map(StateMethod::new)
+            .collect(Collectors.toList()));
+    }
+
+    public boolean isIndexOf(TestClass testClass) {
+        return this.testClass.equals(testClass.getJavaClass());
+    }
+
+    /**
+     * Checks if all methods reacting to given state are declared safe for concurrent use.
+     *
+     * @param stateName
+     *     to check
+     *
+     * @return true if state can be set up concurrently with other interactions.
+     */
+    public boolean isConcurrent(String stateName) {
+        return getInvocations(stateName).stream()
+            .allMatch(stateInvocation -> stateInvocation.stateMethod.concurrent);
+    }
+
+    /**
+     * Checks if all methods reacting to given state are declared idempotent.
+     *
+     * @param stateName
+     *     to check
+     *
+     * @return true if state does not need to be set up again when it is already set up.
+     */
+    public boolean isIdempotent(String stateName) {
+        return getInvocations(stateName).stream()
+            .allMatch(stateInvocation -> stateInvocation.stateMethod.idempotent);
+    }
+
+    /**
+     * Executes all methods reacting to given state.
+     *
+     * @param state
+     *     to set up
+     * @param target
+     *     test instance where methods are executed
+     *
+     * @return parameters returned by executed state methods.
+     */
+    public Map<String, ?> execute(ProviderState state, Object target) {
+        final List<StateInvocation> invocations = getInvocations(state.getName());
+        if (invocations.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, Object> statesParams = new HashMap<>();
+        for (StateInvocation invocation : invocations) {
+            final Object stateParams = invocation.execute(state, target);
+            if (stateParams instanceof Map) {
+                statesParams.putAll((Map) stateParams);
+            }
+        }
+        return statesParams;
+    }
+
+    private List<StateInvocation> getInvocations(String stateName) {
+        List<StateInvocation> invocations = invocationsByState.get(stateName);
+        if (invocations == null) {
+            // Resolved out of the lock, at worst a state is resolved twice
+            invocations = resolveInvocations(stateName);
+            invocationsByState.put(stateName, invocations);
+        }
+        return invocations;
+    }
+
+    int resolvedStates() {
+        return invocationsByState.size();
+    }
+
+    private List<StateInvocation> resolveInvocations(String stateName) {
+        final List<StateInvocation> invocations = new ArrayList<>();
+        for (StateMethod stateMethod : stateMethods) {
+            final Optional<Pattern> matchingPattern = ArrayMatcher.firstMatch(stateMethod.patterns, stateName);
+            matchingPattern.ifPresent(pattern -> invocations.add(new StateInvocation(stateMethod, pattern, stateName)));
+        }
+        return invocations;
+    }
+
+    private static class StateMethod {
+
+        private final Method method;
+        private final MethodHandle methodHandle;
+        private final Pattern[] patterns;
+        private final boolean concurrent;
+        private final boolean idempotent;
+        private final boolean mapParameter;
+        private final Function<String, ?>[] converters;
+
+        StateMethod(Method method) {
+            final State state = method.getAnnotation(State.class);
+
+            this.method = method;
+            this.patterns = Arrays.stream(state.value())
+                .map(Pattern::compile)
+                .toArray(Pattern[]::new);
+            this.concurrent = state.concurrent();
+            this.idempotent = state.idempotent();
+            this.mapParameter = method.getParameterCount() == 1 &&
+                Map.class.isAssignableFrom(method.getParameterTypes()[0]);
+            this.converters = Arrays.stream(method.getParameterTypes())
+                .map(StateTypeConverter::converterFor)
+                .toArray(Function[]::new);
+            this.methodHandle = spreadMethodHandle(method);
+        }
+
+        private static MethodHandle spreadMethodHandle(Method method) {
+            try {
+                method.setAccessible(true);
+                MethodHandle methodHandle = MethodHandles.lookup().unreflect(method);
+                if (Modifier.isStatic(method.getModifiers())) {
+                    // Target is ignored by static state methods
+                    methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+                }
+                // (Object target, Object[] arguments)Object so it can be invoked with any state method signature
+                return methodHandle.asType(methodHandle.type().generic())
+                    .asSpreader(Object[].class, method.getParameterCount());
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        Object invoke(Object target, Object[] arguments) {
+            try {
+                return (Object) methodHandle.invokeExact(target, arguments);
+            } catch (Throwable e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+    }
+
+    private static class StateInvocation {
+
+        private final StateMethod stateMethod;
+        private final List<String> arguments;
+
+        StateInvocation(StateMethod stateMethod, Pattern matchingPattern, String stateName) {
+            this.stateMethod = stateMethod;
+
+            if (!stateMethod.mapParameter && stateMethod.method.getParameterCount() > 0) {
+                // Use regular expressions to pass parameters.
+                this.arguments = ArgumentPatternMatcher.arguments(matchingPattern, stateName);
+
+                if (arguments.size() != stateMethod.method.getParameterCount()) {
+                    throw new IllegalArgumentException(String.format(
+                        "Consumer state %s matches with provider state %s but provider method contains %s arguments instead of matching %s",
+                        stateName, matchingPattern.pattern(), stateMethod.method.getParameterCount(),
+                        arguments.size()));
+                }
+            } else {
+                this.arguments = Collections.emptyList();
+            }
+        }
+
+        Object execute(ProviderState state, Object target) {
+            if (stateMethod.mapParameter) {
+                return stateMethod.invoke(target, new Object[] {state.getParams()});
+            }
+
+            final Object[] instances = new Object[arguments.size()];
+            for (int i = 0; i < instances.length; i++) {
+                instances[i] = stateMethod.converters[i].apply(arguments.get(i));
+            }
+
+            return stateMethod.invoke(target, instances);
+        }
+    }
+}
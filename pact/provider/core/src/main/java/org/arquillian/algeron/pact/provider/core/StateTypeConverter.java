@@ -8,6 +8,7 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.function.Function;
 
 public class StateTypeConverter {
 
@@ -26,83 +27,104 @@ public class StateTypeConverter {
      * @return Value converted to the appropriate type
      */
     public static <T> T convert(String value, Class<T> to) {
-        if (value == null && !(String.class.equals(to) || String[].class.equals(to))) {
-            return null;
+        return converterFor(to).apply(value);
+    }
+
+    /**
+     * Resolves the conversion to given type once, so it can be applied to many values without checking the type
+     * again.
+     *
+     * @param to
+     *     Type of desired value
+     * @param <T>
+     *     Type of returned value
+     *
+     * @return Function converting a string to the appropriate type
+     */
+    public static <T> Function<String, T> converterFor(Class<T> to) {
+        final Function<String, ?> converter = resolveConverter(to);
+
+        if (String.class.equals(to) || String[].class.equals(to)) {
+            return (Function<String, T>) converter;
         }
 
+        return value -> value == null ? null : (T) converter.apply(value);
+    }
+
+    private static Function<String, ?> resolveConverter(Class<?> to) {
         if (String.class.equals(to)) {
-            return to.cast(value);
-        } else if (Integer.class.equals(to)) {
-            return to.cast(Integer.valueOf(value));
-        } else if (int.class.equals(to)) {
-            return (T) Integer.valueOf(value);
-        } else if (Double.class.equals(to)) {
-            return to.cast(Double.valueOf(value));
-        } else if (double.class.equals(to)) {
-            return (T) Double.valueOf(value);
-        } else if (Long.class.equals(to)) {
-            return to.cast(Long.valueOf(value));
-        } else if (long.class.equals(value)) {
-            return (T) Long.valueOf(value);
-        } else if (Boolean.class.equals(to)) {
-            return to.cast(Boolean.valueOf(value));
-        } else if (boolean.class.equals(to)) {
-            return (T) Boolean.valueOf(value);
+            return to::cast;
+        } else if (Integer.class.equals(to) || int.class.equals(to)) {
+            return Integer::valueOf;
+        } else if (Double.class.equals(to) || double.class.equals(to)) {
+            return Double::valueOf;
+        } else if (Long.class.equals(to) || long.class.equals(to)) {
+            return Long::valueOf;
+        } else if (Boolean.class.equals(to) || boolean.class.equals(to)) {
+            return Boolean::valueOf;
         } else if (URL.class.equals(to)) {
-            try {
-                return to.cast(new URI(value).toURL());
-            } catch (MalformedURLException e) {
-                throw new IllegalArgumentException("Unable to convert value " + value + " to URL", e);
-            } catch (URISyntaxException e) {
-                throw new IllegalArgumentException("Unable to convert value " + value + " to URL", e);
-            }
+            return value -> {
+                try {
+                    return new URI(value).toURL();
+                } catch (MalformedURLException e) {
+                    throw new IllegalArgumentException("Unable to convert value " + value + " to URL", e);
+                } catch (URISyntaxException e) {
+                    throw new IllegalArgumentException("Unable to convert value " + value + " to URL", e);
+                }
+            };
         } else if (URI.class.equals(to)) {
-            try {
-                return to.cast(new URI(value));
-            } catch (URISyntaxException e) {
-                throw new IllegalArgumentException("Unable to convert value " + value + " to URL", e);
-            }
-        } else {
-            String trimmedValue = extractEnumName(value);
-            if (to.isEnum()) {
-                return (T) Enum.valueOf((Class<Enum>) to, trimmedValue.toUpperCase());
-            } else if (String[].class.equals(to)) {
+            return value -> {
+                try {
+                    return new URI(value);
+                } catch (URISyntaxException e) {
+                    throw new IllegalArgumentException("Unable to convert value " + value + " to URL", e);
+                }
+            };
+        } else if (to.isEnum()) {
+            return value -> Enum.valueOf((Class<Enum>) to, extractEnumName(value).toUpperCase());
+        } else if (String[].class.equals(to)) {
+            return value -> {
                 final String[] convertedArray = value.split(",");
                 if (convertedArray.length == 0) {
-                    return to.cast(new String[0]);
+                    return new String[0];
                 }
 
                 trimElements(convertedArray);
 
                 if (convertedArray.length == 1 && hasOnlyBlanks(convertedArray)) {
-                    return to.cast(new String[0]);
+                    return new String[0];
                 }
 
-                return to.cast(convertedArray);
-            } else if (Collection.class.isAssignableFrom(to)) {
+                return convertedArray;
+            };
+        } else if (Collection.class.isAssignableFrom(to)) {
+            return value -> {
                 final String[] convertedArray = value.split(",");
                 if (convertedArray.length == 0) {
-                    return to.cast(new ArrayList<>());
+                    return new ArrayList<>();
                 }
 
                 trimElements(convertedArray);
 
                 if (convertedArray.length == 1 && hasOnlyBlanks(convertedArray)) {
-                    return to.cast(new ArrayList<>());
+                    return new ArrayList<>();
                 }
 
-                return to.cast(Arrays.asList(convertedArray));
-            } else if (Charset.class.equals(to)) {
-                return to.cast(Charset.forName(trimmedValue.toUpperCase()));
-            } else if (Class.class.equals(to)) {
+                return Arrays.asList(convertedArray);
+            };
+        } else if (Charset.class.equals(to)) {
+            return value -> Charset.forName(extractEnumName(value).toUpperCase());
+        } else if (Class.class.equals(to)) {
+            return value -> {
                 try {
-                    Object clazz = Class.forName(value);
-                    return to.cast(clazz);
+                    return Class.forName(value);
                 } catch (Exception e) {
                     throw new IllegalArgumentException("Unable to find class [" + value + "].", e);
                 }
-            } else // Try to create instance via reflection
-            {
+            };
+        } else // Try to create instance via reflection
+        {
+            return value -> {
                 try {
                     Object instance = Class.forName(value).newInstance();
                     return to.cast(instance);
@@ -110,7 +132,7 @@ public class StateTypeConverter {
                     throw new IllegalArgumentException(
                         "Unable to convert value [" + value + "] to a class [" + to.getName() + "].", e);
                 }
-            }
+            };
         }
     }
 
@@ -0,0 +1,182 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.Consumer;
+import au.com.dius.pact.model.RequestResponseInteraction;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Local store of the interactions that already passed verification against a given provider build.
+ * <p>
+ * Each entry is a hash of the interaction content, the consumer name, the test verifying it and the provider
+ * fingerprint, so any change in the contract or in the provider invalidates it, and an interaction verified by one test
+ * is still verified by any other test of the same provider. Cache is stored as a plain text file with the provider
+ * fingerprint in the first line followed by one entry per line.
+ */
+public class VerificationCache {
+
+    private static final Logger logger = Logger.getLogger(VerificationCache.class.getName());
+
+    private final Path cacheFile;
+    private final String providerFingerprint;
+    private final String testName;
+    private final Set<String> verifiedInteractions = ConcurrentHashMap.newKeySet();
+
+    private VerificationCache(Path cacheFile, String providerFingerprint, String testName) {
+        this.cacheFile = cacheFile;
+        this.providerFingerprint = providerFingerprint;
+        this.testName = testName;
+    }
+
+    /**
+     * Creates an empty verification cache of given provider, ignoring any stored one. Stored cache is replaced when
+     * this cache is stored.
+     *
+     * @param cacheDirectory
+     *     where caches are stored
+     * @param providerName
+     *     name of the provider
+     * @param providerFingerprint
+     *     identifies the provider build being verified
+     * @param testName
+     *     identifies the test verifying the provider, as its class and method names
+     *
+     * @return Empty verification cache of the provider.
+     */
+    public static VerificationCache empty(Path cacheDirectory, String providerName, String providerFingerprint,
+        String testName) {
+        return new VerificationCache(cacheDirectory.resolve(providerName + ".cache"), providerFingerprint, testName);
+    }
+
+    /**
+     * Loads the verification cache of given provider. If provider fingerprint changed since cache was stored, an empty
+     * cache is returned.
+     *
+     * @param cacheDirectory
+     *     where caches are stored
+     * @param providerName
+     *     name of the provider
+     * @param providerFingerprint
+     *     identifies the provider build being verified
+     * @param testName
+     *     identifies the test verifying the provider, as its class and method names
+     *
+     * @return Verification cache of the provider.
+     */
+    public static VerificationCache load(Path cacheDirectory, String providerName, String providerFingerprint,
+        String testName) {
+        final VerificationCache verificationCache =
+            empty(cacheDirectory, providerName, providerFingerprint, testName);
+
+        if (Files.exists(verificationCache.cacheFile)) {
+            try {
+                final List<String> lines = Files.readAllLines(verificationCache.cacheFile, StandardCharsets.UTF_8);
+                if (!lines.isEmpty() && providerFingerprint.equals(lines.get(0))) {
+                    verificationCache.verifiedInteractions.addAll(lines.subList(1, lines.size()));
+                } else {
+                    logger.log(Level.INFO, String.format(
+                        "Provider %s changed since last verification, all interactions are going to be verified",
+                        providerName));
+                }
+            } catch (IOException e) {
+                logger.log(Level.WARNING, String.format("Verification cache %s could not be read, ignoring it",
+                    verificationCache.cacheFile), e);
+            }
+        }
+
+        return verificationCache;
+    }
+
+    public boolean isVerified(Consumer consumer, RequestResponseInteraction interaction) {
+        return verifiedInteractions.contains(key(consumer, interaction));
+    }
+
+    public void markVerified(Consumer consumer, RequestResponseInteraction interaction) {
+        verifiedInteractions.add(key(consumer, interaction));
+    }
+
+    public void store() {
+        final List<String> lines = new ArrayList<>(verifiedInteractions.size() + 1);
+        lines.add(providerFingerprint);
+        lines.addAll(verifiedInteractions);
+
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Files.write(cacheFile, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, String.format("Verification cache %s could not be written", cacheFile), e);
+        }
+    }
+
+    private String key(Consumer consumer, RequestResponseInteraction interaction) {
+        return InteractionDigest.of(consumer.getName(), InteractionDigest.of(interaction), testName,
+            providerFingerprint);
+    }
+
+    /**
+     * Resolves the fingerprint of the provider being verified. If a version is given it is used as is, otherwise the
+     * checksum of the given artifact (a file or all files of a directory) is calculated.
+     *
+     * @param providerVersion
+     *     set by user. Can be null.
+     * @param providerArtifact
+     *     path to provider build artifact. Can be null.
+     *
+     * @return Fingerprint of the provider or null if none of them is set.
+     */
+    public static String resolveProviderFingerprint(String providerVersion, String providerArtifact) {
+        if (providerVersion != null) {
+            return providerVersion;
+        }
+
+        if (providerArtifact != null) {
+            return checksum(Paths.get(providerArtifact));
+        }
+
+        return null;
+    }
+
+    private static String checksum(Path artifact) {
+        try {
+            final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+
+            final List<Path> files;
+            try (Stream<Path> paths = Files.walk(artifact)) {
+                files = paths.filter(Files::isRegularFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+            }
+
+            for (Path file : files) {
+                messageDigest.update(artifact.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = new DigestInputStream(Files.newInputStream(file), messageDigest)) {
+                    final byte[] buffer = new byte[8192];
+                    while (in.read(buffer) != -1) {
+                        // digest is updated while reading
+                    }
+                }
+            }
+
+            return InteractionDigest.toHex(messageDigest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(
+                String.format("Checksum of provider artifact %s could not be calculated", artifact), e);
+        }
+    }
+}
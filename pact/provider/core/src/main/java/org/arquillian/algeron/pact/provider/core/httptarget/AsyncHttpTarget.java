@@ -0,0 +1,218 @@
+package org.arquillian.algeron.pact.provider.core.httptarget;
+
+import au.com.dius.pact.model.Request;
+import au.com.dius.pact.model.RequestResponseInteraction;
+import au.com.dius.pact.model.Response;
+import au.com.dius.pact.provider.ProviderClient;
+import au.com.dius.pact.provider.ProviderInfo;
+import au.com.dius.pact.provider.ProviderVerifier;
+import java.io.IOException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.apache.http.HttpResponse;
+import org.apache.http.concurrent.FutureCallback;
+import org.arquillian.algeron.pact.provider.core.timing.VerificationTimings;
+import org.arquillian.algeron.pact.provider.spi.AsyncVerificationAwareTarget;
+import org.arquillian.algeron.pact.provider.spi.DeferredReports;
+
+/**
+ * Http target that sends requests with a non-blocking http client. When a verification registry is set, each
+ * interaction is sent and the target returns immediately, so many interactions can be in flight at once without
+ * holding a thread per request. Responses are compared with the pact once they complete, on a pool of as many
+ * threads as available processors owned by the target.
+ * <p>
+ * Without a verification registry it behaves as {@link HttpTarget}.
+ */
+public class AsyncHttpTarget extends HttpTarget implements AsyncVerificationAwareTarget {
+
+    private PooledHttpAsyncClientFactory httpAsyncClientFactory = new PooledHttpAsyncClientFactory();
+
+    private ExecutorService comparisonExecutor;
+
+    private Consumer<CompletionStage<?>> currentVerificationRegistry;
+
+    /**
+     * @param url
+     *     url of the tested service
+     * @param insecure
+     *     true if certificates should be ignored
+     */
+    public AsyncHttpTarget(final URL url, final boolean insecure) {
+        super(url, insecure);
+    }
+
+    /**
+     * @param host
+     *     host of tested service
+     * @param port
+     *     port of tested service
+     * @param protocol
+     *     protocol of the tested service
+     * @param path
+     *     path of the tested service
+     * @param insecure
+     *     true if certificates should be ignored
+     */
+    public AsyncHttpTarget(final String protocol, final String host, final int port, final String path,
+        final boolean insecure) {
+        super(protocol, host, port, path, insecure);
+    }
+
+    @Override
+    void resetCurrentFields() {
+        super.resetCurrentFields();
+        this.currentVerificationRegistry = null;
+    }
+
+    @Override
+    public void testInteraction(String consumerName, RequestResponseInteraction interaction) {
+        if (this.currentVerificationRegistry == null) {
+            super.testInteraction(consumerName, interaction);
+            return;
+        }
+
+        this.currentVerificationRegistry.accept(verifyInteraction(getProviderInfo(), consumerName, interaction,
+            getStateParams(), getReportedInteractions(consumerName, interaction), getLatencyBudgetCheck()));
+    }
+
+    private CompletionStage<Void> verifyInteraction(ProviderInfo provider, String consumerName,
+        RequestResponseInteraction interaction, Map<String, ?> stateParams,
+        Map<au.com.dius.pact.model.Consumer, RequestResponseInteraction> reportedInteractions,
+        LatencyBudgetCheck latencyBudgetCheck) {
+        final ProviderVerifier verifier = setupVerifier(provider, reportedInteractions);
+        final ProviderClient client = new ProviderClient(provider, getHttpClientFactory());
+        final Response expectedResponse = interaction.getResponse().generatedResponse(stateParams);
+        final Request request = interaction.getRequest().generatedRequest(stateParams);
+        final long requestStart = System.nanoTime();
+
+        final CompletableFuture<HttpResponse> response = new CompletableFuture<>();
+        final AtomicLong requestTime = new AtomicLong();
+        try {
+            httpAsyncClientFactory.execute(provider.getInsecure(), client.prepareRequest(request),
+                new FutureCallback<HttpResponse>() {
+                    @Override
+                    public void completed(HttpResponse httpResponse) {
+                        requestTime.set(System.nanoTime() - requestStart);
+                        response.complete(httpResponse);
+                    }
+
+                    @Override
+                    public void failed(Exception e) {
+                        response.completeExceptionally(e);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        response.completeExceptionally(new CancellationException("Request to provider was cancelled"));
+                    }
+                });
+        } catch (Exception e) {
+            response.completeExceptionally(e);
+        }
+
+        // Responses are compared out of the I/O dispatch threads, so big bodies do not delay other requests
+        final DeferredVerification verification = new DeferredVerification(verifier);
+        response.handleAsync((httpResponse, error) -> {
+            final Map<String, Object> failures = new HashMap<>();
+
+            if (error == null) {
+                final Map<String, Object> actualResponse = client.handleResponse(httpResponse);
+                getVerificationTimings().recordRequest(consumerName, VerificationTimings.endpointOf(interaction),
+                    requestTime.get(), bodySize(request.getBody()), bodySize(actualResponse));
+                compareResponse(verifier, consumerName, interaction, expectedResponse, actualResponse, failures);
+
+                // Replays are sent with the blocking client, in the thread comparing responses
+                if (latencyBudgetCheck != null && failures.isEmpty()) {
+                    latencyBudgetCheck.check(client, request, interaction.getDescription(), failures);
+                }
+            } else {
+                final Exception e = error instanceof Exception ? (Exception) error : new IllegalStateException(error);
+                requestFailed(verifier, provider, interaction, failures, e);
+            }
+
+            // Reports are finalised by the test thread once verification is awaited
+            completeVerification(verifier, failures, false);
+            return null;
+        }, getComparisonExecutor()).whenComplete((result, error) -> {
+            if (error == null) {
+                verification.complete(null);
+            } else {
+                verification.completeExceptionally(error);
+            }
+        });
+
+        return verification;
+    }
+
+    private synchronized ExecutorService getComparisonExecutor() {
+        if (this.comparisonExecutor == null) {
+            this.comparisonExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+        return this.comparisonExecutor;
+    }
+
+    @Override
+    public void setVerificationRegistry(Consumer<CompletionStage<?>> verificationRegistry) {
+        this.currentVerificationRegistry = verificationRegistry;
+    }
+
+    /**
+     * Sets the factory providing the http async client reused by all interactions verified asynchronously.
+     * Previous factory is closed.
+     *
+     * @param httpAsyncClientFactory
+     *     to be used
+     */
+    public void setHttpAsyncClientFactory(PooledHttpAsyncClientFactory httpAsyncClientFactory) {
+        try {
+            this.httpAsyncClientFactory.close();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        this.httpAsyncClientFactory = httpAsyncClientFactory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            try {
+                this.httpAsyncClientFactory.close();
+            } finally {
+                synchronized (this) {
+                    if (this.comparisonExecutor != null) {
+                        this.comparisonExecutor.shutdownNow();
+                        this.comparisonExecutor = null;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Verification completing once its response is compared, whose reports are finalised by the test thread once it
+     * is awaited.
+     */
+    private static class DeferredVerification extends CompletableFuture<Void> implements DeferredReports {
+
+        private final ProviderVerifier verifier;
+
+        DeferredVerification(ProviderVerifier verifier) {
+            this.verifier = verifier;
+        }
+
+        @Override
+        public void finaliseReports() {
+            verifier.finaliseReports();
+        }
+    }
+}
@@ -1,40 +1,60 @@
 package org.arquillian.algeron.pact.provider.core.httptarget;
 
+import au.com.dius.pact.model.OptionalBody;
+import au.com.dius.pact.model.Request;
 import au.com.dius.pact.model.RequestResponseInteraction;
+import au.com.dius.pact.model.Response;
 import au.com.dius.pact.provider.ConsumerInfo;
-import au.com.dius.pact.provider.HttpClientFactory;
 import au.com.dius.pact.provider.ProviderClient;
 import au.com.dius.pact.provider.ProviderInfo;
 import au.com.dius.pact.provider.ProviderVerifier;
 import au.com.dius.pact.provider.reporters.ReporterManager;
 import au.com.dius.pact.provider.reporters.VerifierReporter;
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Consumer;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.http.HttpRequest;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.arquillian.algeron.configuration.SystemPropertyResolver;
 import org.arquillian.algeron.pact.provider.core.recorder.ArquillianVerifierReporter;
+import org.arquillian.algeron.pact.provider.core.timing.VerificationTimings;
 import org.arquillian.algeron.pact.provider.spi.ArquillianTestClassAwareTarget;
+import org.arquillian.algeron.pact.provider.spi.ConcurrentExecutionAwareTarget;
+import org.arquillian.algeron.pact.provider.spi.DeferredReports;
+import org.arquillian.algeron.pact.provider.spi.LatencyBudgetAwareTarget;
+import org.arquillian.algeron.pact.provider.spi.LoadReplayAwareTarget;
 import org.arquillian.algeron.pact.provider.spi.PactProviderExecutionAwareTarget;
 import org.arquillian.algeron.pact.provider.spi.Provider;
 import org.arquillian.algeron.pact.provider.spi.ProviderContextAwareTarget;
+import org.arquillian.algeron.pact.provider.spi.SharedInteractionAwareTarget;
 import org.arquillian.algeron.pact.provider.spi.Target;
 import org.arquillian.algeron.pact.provider.spi.TargetRequestFilter;
 import org.arquillian.algeron.pact.provider.spi.VerificationReports;
+import org.arquillian.algeron.pact.provider.spi.WarmUpAwareTarget;
 import org.jboss.arquillian.core.api.Injector;
 import org.jboss.arquillian.test.spi.TestClass;
 
 public class HttpTarget implements Target, ArquillianTestClassAwareTarget, PactProviderExecutionAwareTarget,
-    ProviderContextAwareTarget {
+    ProviderContextAwareTarget, ConcurrentExecutionAwareTarget, SharedInteractionAwareTarget, LatencyBudgetAwareTarget,
+    LoadReplayAwareTarget, WarmUpAwareTarget, Closeable {
+
+    private static final Logger logger = Logger.getLogger(HttpTarget.class.getName());
 
     private String path;
     private String host;
@@ -42,15 +62,27 @@ public class HttpTarget implements Target, ArquillianTestClassAwareTarget, PactP
     private String protocol;
     private boolean insecure;
 
+    private PooledHttpClientFactory httpClientFactory = new PooledHttpClientFactory();
+    private VerificationTimings verificationTimings = new VerificationTimings();
+    private LoadReplay loadReplay = new LoadReplay();
+    private StreamingBodyComparator streamingBodyComparator;
+
     private final SystemPropertyResolver systemPropertyResolver = new SystemPropertyResolver();
 
     private TestClass testClass;
     private Object testInstance;
+    private RequestFilterChain requestFilterChain;
 
     private au.com.dius.pact.model.Consumer currentConsumer;
     private RequestResponseInteraction currentRequestResponseInteraction;
     private Injector injector;
     private Map<String, ?> currentStateParams;
+    private Executor currentExecutor;
+    private Map<au.com.dius.pact.model.Consumer, RequestResponseInteraction> currentSharedInteractions;
+    private LatencyBudgetCheck currentLatencyBudgetCheck;
+    private Map<au.com.dius.pact.model.Consumer, List<RequestResponseInteraction>> currentLoadReplayInteractions;
+    private int currentWarmUpIterations;
+    private String reportSubdirectory = "";
 
     /**
      * @param host
@@ -180,10 +212,15 @@ public class HttpTarget implements Target, ArquillianTestClassAwareTarget, PactP
         }
     }
 
-    private void resetCurrentFields() {
+    void resetCurrentFields() {
         this.currentConsumer = null;
         this.currentRequestResponseInteraction = null;
         this.currentStateParams = null;
+        this.currentExecutor = null;
+        this.currentSharedInteractions = null;
+        this.currentLatencyBudgetCheck = null;
+        this.currentLoadReplayInteractions = null;
+        this.currentWarmUpIterations = 0;
     }
 
     @Override
@@ -196,79 +233,314 @@ public class HttpTarget implements Target, ArquillianTestClassAwareTarget, PactP
         this.testInteraction(consumer, interaction);
     }
 
+    /**
+     * During warm-up, given interaction is only sent without being verified. In load replay mode, given interaction is
+     * not verified either, instead all interactions to replay are sent as load.
+     */
     @Override
     public void testInteraction(String consumerName, RequestResponseInteraction interaction) {
-        ProviderInfo provider = getProviderInfo();
-        ConsumerInfo consumer = new ConsumerInfo(consumerName);
-        ProviderVerifier verifier = setupVerifier(interaction, provider, consumer);
+        if (this.currentWarmUpIterations > 0) {
+            warmUp(getProviderInfo(), interaction, getStateParams(), currentWarmUpIterations);
+            return;
+        }
+
+        if (this.currentLoadReplayInteractions != null) {
+            loadReplay.replay(getProviderInfo(), httpClientFactory, getStateParams(), currentLoadReplayInteractions);
+            return;
+        }
+
+        // Everything that depends on mutable fields is resolved here, so verification can run in another thread
+        final ProviderInfo provider = getProviderInfo();
+        final Map<String, ?> stateParams = getStateParams();
+        final Map<au.com.dius.pact.model.Consumer, RequestResponseInteraction> reportedInteractions =
+            getReportedInteractions(consumerName, interaction);
+        final LatencyBudgetCheck latencyBudgetCheck = getLatencyBudgetCheck();
+
+        // Reporters are created and injected in the test thread, where Arquillian contexts are active
+        final ProviderVerifier verifier = setupVerifier(provider, reportedInteractions);
+
+        if (this.currentExecutor == null) {
+            verifyInteraction(verifier, provider, consumerName, interaction, stateParams, latencyBudgetCheck, true);
+        } else {
+            this.currentExecutor.execute(new DeferredVerification(verifier, () -> verifyInteraction(verifier,
+                provider, consumerName, interaction, stateParams, latencyBudgetCheck, false)));
+        }
+    }
+
+    private void warmUp(ProviderInfo provider, RequestResponseInteraction interaction, Map<String, ?> stateParams,
+        int iterations) {
+        final ProviderClient client = new ProviderClient(provider, httpClientFactory);
+        final Request request = interaction.getRequest().generatedRequest(stateParams);
+        for (int i = 0; i < iterations; i++) {
+            try {
+                client.makeRequest(request);
+            } catch (Exception e) {
+                logger.log(Level.FINE, String.format("Warm-up request of interaction %s failed",
+                    interaction.getDescription()), e);
+            }
+        }
+    }
 
+    LatencyBudgetCheck getLatencyBudgetCheck() {
+        return currentLatencyBudgetCheck;
+    }
+
+    Map<String, ?> getStateParams() {
+        return currentStateParams == null ? Collections.emptyMap() : currentStateParams;
+    }
+
+    Map<au.com.dius.pact.model.Consumer, RequestResponseInteraction> getReportedInteractions(
+        String consumerName, RequestResponseInteraction interaction) {
+        if (currentSharedInteractions != null && currentSharedInteractions.containsValue(interaction)) {
+            return currentSharedInteractions;
+        }
+        return Collections.singletonMap(new au.com.dius.pact.model.Consumer(consumerName), interaction);
+    }
+
+    /**
+     * Same as {@link ProviderVerifier#verifyResponseFromProvider}, but request and response comparison are timed
+     * separately, and latency budget is checked once response matches.
+     */
+    private void verifyInteraction(ProviderVerifier verifier, ProviderInfo provider, String consumerName,
+        RequestResponseInteraction interaction, Map<String, ?> stateParams, LatencyBudgetCheck latencyBudgetCheck,
+        boolean finaliseReports) {
         Map<String, Object> failures = new HashMap<>();
-        ProviderClient client = new ProviderClient(provider, new HttpClientFactory());
-        verifier.verifyResponseFromProvider(provider, interaction, interaction.getDescription(), failures, client,
-            currentStateParams == null ? Collections.emptyMap() : currentStateParams);
+        ProviderClient client = new ProviderClient(provider, httpClientFactory);
+        final String endpoint = VerificationTimings.endpointOf(interaction);
+        try {
+            final Response expectedResponse = interaction.getResponse().generatedResponse(stateParams);
+            final Request request = interaction.getRequest().generatedRequest(stateParams);
 
+            if (streamingBodyComparator != null && streamingBodyComparator.supports(expectedResponse)) {
+                verifyStreamedResponse(verifier, provider, client, consumerName, interaction, request,
+                    expectedResponse, failures);
+            } else {
+                final long requestStart = System.nanoTime();
+                final Map<String, Object> actualResponse = client.makeRequest(request);
+                verificationTimings.recordRequest(consumerName, endpoint, System.nanoTime() - requestStart,
+                    bodySize(request.getBody()), bodySize(actualResponse));
+
+                compareResponse(verifier, consumerName, interaction, expectedResponse, actualResponse, failures);
+            }
+
+            if (latencyBudgetCheck != null && failures.isEmpty()) {
+                latencyBudgetCheck.check(client, request, interaction.getDescription(), failures);
+            }
+        } catch (Exception e) {
+            requestFailed(verifier, provider, interaction, failures, e);
+        }
+
+        completeVerification(verifier, failures, finaliseReports);
+    }
+
+    /**
+     * Status and headers are compared by Pact, but a JSON body is compared while it is read from provider, so it is
+     * never fully buffered. Request time only covers the time until response headers are received, and reading the
+     * body is timed as part of the comparison.
+     */
+    private void verifyStreamedResponse(ProviderVerifier verifier, ProviderInfo provider, ProviderClient client,
+        String consumerName, RequestResponseInteraction interaction, Request request, Response expectedResponse,
+        Map<String, Object> failures) throws IOException {
+        final String endpoint = VerificationTimings.endpointOf(interaction);
+        final long requestStart = System.nanoTime();
+
+        try (CloseableHttpResponse httpResponse = httpClientFactory.newClient(provider)
+            .execute(client.prepareRequest(request))) {
+            final long requestTime = System.nanoTime() - requestStart;
+            final HttpEntity entity = httpResponse.getEntity();
+
+            if (!StreamingBodyComparator.isJson(entity)) {
+                final Map<String, Object> actualResponse = client.handleResponse(httpResponse);
+                verificationTimings.recordRequest(consumerName, endpoint, requestTime, bodySize(request.getBody()),
+                    bodySize(actualResponse));
+                compareResponse(verifier, consumerName, interaction, expectedResponse, actualResponse, failures);
+                return;
+            }
+
+            httpResponse.setEntity(StreamingBodyComparator.withoutContent(entity));
+            final Map<String, Object> actualResponse = client.handleResponse(httpResponse);
+
+            final long comparisonStart = System.nanoTime();
+            verifier.verifyRequestResponsePact(StreamingBodyComparator.withoutBody(expectedResponse), actualResponse,
+                interaction.getDescription(), failures);
+
+            long responseSize = 0;
+            if (failures.isEmpty() || !streamingBodyComparator.isFailFast()) {
+                final InputStream body = entity.getContent();
+                final StreamingBodyComparator.Comparison comparison = streamingBodyComparator.compare(
+                    expectedResponse, body, StreamingBodyComparator.charsetOf(entity));
+                responseSize = comparison.getBodySize();
+
+                final Map<String, String> mismatches = comparison.getMismatches();
+                if (mismatches.isEmpty() || !streamingBodyComparator.isFailFast()) {
+                    // Body has been fully read so connection goes back to the pool. Otherwise closing the response
+                    // discards the connection instead of draining the rest of the body.
+                    body.close();
+                }
+
+                if (!mismatches.isEmpty()) {
+                    failures.put(interaction.getDescription() + " has a matching body",
+                        Collections.singletonMap("comparison", mismatches));
+                    verifier.getReporters().forEach(reporter -> reporter.bodyComparisonFailed(mismatches));
+                }
+            }
+
+            verificationTimings.recordComparison(consumerName, endpoint, System.nanoTime() - comparisonStart);
+            verificationTimings.recordRequest(consumerName, endpoint, requestTime, bodySize(request.getBody()),
+                responseSize);
+        }
+    }
+
+    void compareResponse(ProviderVerifier verifier, String consumerName, RequestResponseInteraction interaction,
+        Response expectedResponse, Map<String, Object> actualResponse, Map<String, Object> failures) {
+        final long comparisonStart = System.nanoTime();
+        verifier.verifyRequestResponsePact(expectedResponse, actualResponse, interaction.getDescription(), failures);
+        verificationTimings.recordComparison(consumerName, VerificationTimings.endpointOf(interaction),
+            System.nanoTime() - comparisonStart);
+    }
+
+    void requestFailed(ProviderVerifier verifier, ProviderInfo provider, RequestResponseInteraction interaction,
+        Map<String, Object> failures, Exception e) {
+        final String interactionMessage = interaction.getDescription();
+        failures.put(interactionMessage, e);
+        final boolean showStacktrace = verifier.getProjectHasProperty().apply(ProviderVerifier.PACT_SHOW_STACKTRACE);
+        verifier.getReporters()
+            .forEach(reporter -> reporter.requestFailed(provider, interaction, interactionMessage, e, showStacktrace));
+    }
+
+    static long bodySize(OptionalBody body) {
+        return body == null ? 0 : body.orEmpty().length;
+    }
+
+    static long bodySize(Map<String, Object> response) {
+        final Object data = response.get("data");
+        if (data instanceof byte[]) {
+            return ((byte[]) data).length;
+        }
+        return data == null ? 0 : data.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Finalises reports of given verification.
+     *
+     * @throws AssertionError
+     *     if verification has failures
+     */
+    void completeVerification(ProviderVerifier verifier, Map<String, Object> failures) {
+        completeVerification(verifier, failures, true);
+    }
+
+    /**
+     * @param finaliseReports
+     *     false if reports are finalised later, by the thread running the test
+     *
+     * @throws AssertionError
+     *     if verification has failures
+     */
+    void completeVerification(ProviderVerifier verifier, Map<String, Object> failures, boolean finaliseReports) {
         try {
             if (!failures.isEmpty()) {
                 verifier.displayFailures(failures);
                 throw getAssertionError(failures);
             }
         } finally {
-            verifier.finaliseReports();
+            if (finaliseReports) {
+                verifier.finaliseReports();
+            }
         }
     }
 
-    private ProviderVerifier setupVerifier(RequestResponseInteraction interaction, ProviderInfo provider,
-        ConsumerInfo consumer) {
+    /**
+     * Verification of an interaction is reported for each consumer sharing it, with its own description. When reports
+     * are not enabled, only the verified interaction is reported to the default reporters.
+     */
+    ProviderVerifier setupVerifier(ProviderInfo provider,
+        Map<au.com.dius.pact.model.Consumer, RequestResponseInteraction> reportedInteractions) {
         ProviderVerifier verifier = new ProviderVerifier();
 
-        setupReporters(verifier, provider.getName(), interaction.getDescription());
+        final List<VerifierReporter> reporters = new ArrayList<>();
+        for (Map.Entry<au.com.dius.pact.model.Consumer, RequestResponseInteraction> reportedInteraction
+            : reportedInteractions.entrySet()) {
+            final RequestResponseInteraction interaction = reportedInteraction.getValue();
+            final List<VerifierReporter> interactionReporters =
+                createReporters(provider.getName(), interaction.getDescription());
+
+            if (interactionReporters == null) {
+                // Reports are not enabled, so default reporters only show the first one, which is the verified one
+                reporters.addAll(verifier.getReporters());
+                reportInteraction(verifier.getReporters(), provider, reportedInteraction.getKey(), interaction);
+                break;
+            }
 
-        verifier.initialiseReporters(provider);
-        verifier.reportVerificationForConsumer(consumer, provider);
+            reporters.addAll(interactionReporters);
+            reportInteraction(interactionReporters, provider, reportedInteraction.getKey(), interaction);
+        }
+        verifier.setReporters(reporters);
 
-        verifier.reportStateForInteraction(interaction.displayState(), provider, consumer, true);
+        return verifier;
+    }
 
-        verifier.reportInteractionDescription(interaction);
+    private void reportInteraction(List<VerifierReporter> reporters, ProviderInfo provider,
+        au.com.dius.pact.model.Consumer consumer, RequestResponseInteraction interaction) {
+        final ConsumerInfo consumerInfo = new ConsumerInfo(consumer.getName());
+        for (VerifierReporter reporter : reporters) {
+            reporter.initialise(provider);
+            reporter.reportVerificationForConsumer(consumerInfo, provider);
+            reporter.stateForInteraction(interaction.displayState(), provider, consumerInfo, true);
+            reporter.interactionDescription(interaction);
+        }
+    }
 
-        return verifier;
+    private List<VerifierReporter> createReporters(String name, String description) {
+        File reportDir = getReportDirectory();
+
+        if (reportDir == null) {
+            return null;
+        }
+
+        String[] reports;
+        VerificationReports verificationReports = testClass.getAnnotation(VerificationReports.class);
+        if (verificationReports != null) {
+            reports = verificationReports.value();
+        } else {
+            reports = systemPropertyResolver.resolveValue("pact.verification.reports:").split(",");
+        }
+
+        reportDir.mkdirs();
+        return Arrays.stream(reports)
+            .filter(r -> !r.isEmpty())
+            .map(r -> {
+                final String reportType = r.trim();
+                if ("recorder".equals(reportType)) {
+                    return injector.inject(new ArquillianVerifierReporter());
+                } else {
+                    VerifierReporter reporter = ReporterManager.createReporter(reportType);
+                    reporter.setReportDir(reportDir);
+                    reporter.setReportFile(new File(reportDir, name + " - " + description + reporter.getExt()));
+                    return reporter;
+                }
+            }).collect(Collectors.toList());
     }
 
-    private void setupReporters(ProviderVerifier verifier, String name, String description) {
+    /**
+     * @return Directory where reports are written, or null if reports are not enabled.
+     */
+    private File getReportDirectory() {
         String reportDirectory = "target/pact/reports";
-        String[] reports = new String[] {};
-        boolean reportingEnabled = false;
 
         VerificationReports verificationReports = testClass.getAnnotation(VerificationReports.class);
         if (verificationReports != null) {
-            reportingEnabled = true;
             reportDirectory = verificationReports.reportDir();
-            reports = verificationReports.value();
         } else if (systemPropertyResolver.propertyDefined("pact.verification.reports")) {
-            reportingEnabled = true;
             reportDirectory = systemPropertyResolver.resolveValue("pact.verification.reportDir:" + reportDirectory);
-            reports = systemPropertyResolver.resolveValue("pact.verification.reports:").split(",");
+        } else {
+            return null;
         }
 
-        if (reportingEnabled) {
-            File reportDir = new File(reportDirectory);
-            reportDir.mkdirs();
-            verifier.setReporters(Arrays.stream(reports)
-                .filter(r -> !r.isEmpty())
-                .map(r -> {
-                    final String reportType = r.trim();
-                    if ("recorder".equals(reportType)) {
-                        return injector.inject(new ArquillianVerifierReporter());
-                    } else {
-                        VerifierReporter reporter = ReporterManager.createReporter(reportType);
-                        reporter.setReportDir(reportDir);
-                        reporter.setReportFile(new File(reportDir, name + " - " + description + reporter.getExt()));
-                        return reporter;
-                    }
-                }).collect(Collectors.toList()));
-        }
+        return new File(reportDirectory, reportSubdirectory);
     }
 
-    private ProviderInfo getProviderInfo() {
+    ProviderInfo getProviderInfo() {
         Provider provider = testClass.getAnnotation(Provider.class);
         final ProviderInfo providerInfo = new ProviderInfo(provider.value());
         providerInfo.setPort(port);
@@ -277,20 +549,8 @@ public class HttpTarget implements Target, ArquillianTestClassAwareTarget, PactP
         providerInfo.setPath(path);
         providerInfo.setInsecure(insecure);
 
-        if (testClass != null && testInstance != null) {
-            final Method[] methods = testClass.getMethods(TargetRequestFilter.class);
-
-            if (methods != null && methods.length > 0) {
-                providerInfo.setRequestFilter(
-                    (Consumer<HttpRequest>) httpRequest -> Arrays.stream(methods).forEach(method -> {
-                        try {
-                            method.invoke(testInstance, httpRequest);
-                        } catch (Throwable t) {
-                            throw new AssertionError(
-                                "Request filter method " + method.getName() + " failed with an exception", t);
-                        }
-                    }));
-            }
+        if (requestFilterChain != null) {
+            providerInfo.setRequestFilter(requestFilterChain);
         }
 
         return providerInfo;
@@ -379,8 +639,25 @@ public class HttpTarget implements Target, ArquillianTestClassAwareTarget, PactP
 
     @Override
     public void setTestClass(TestClass testClass, Object testInstance) {
+        if (this.testClass != testClass || this.testInstance != testInstance) {
+            this.requestFilterChain = createRequestFilterChain(testClass, testInstance);
+        }
         this.testClass = testClass;
         this.testInstance = testInstance;
+        this.verificationTimings.setReportDirectory(getReportDirectory());
+        this.loadReplay.setReportDirectory(getReportDirectory());
+    }
+
+    private RequestFilterChain createRequestFilterChain(TestClass testClass, Object testInstance) {
+        if (testClass != null && testInstance != null) {
+            final Method[] methods = testClass.getMethods(TargetRequestFilter.class);
+
+            if (methods != null && methods.length > 0) {
+                return new RequestFilterChain(methods, testInstance);
+            }
+        }
+
+        return null;
     }
 
     @Override
@@ -402,4 +679,126 @@ public class HttpTarget implements Target, ArquillianTestClassAwareTarget, PactP
     public void setStateParams(Map<String, ?> params) {
         this.currentStateParams = Collections.singletonMap("providerState", params);
     }
+
+    /**
+     * Sets the factory providing the http client reused by all verified interactions.
+     * Previous factory is closed.
+     *
+     * @param httpClientFactory
+     *     to be used
+     */
+    public void setHttpClientFactory(PooledHttpClientFactory httpClientFactory) {
+        try {
+            this.httpClientFactory.close();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        this.httpClientFactory = httpClientFactory;
+    }
+
+    /**
+     * Sets the subdirectory of the reports directory where reports are written, so verifications running in different
+     * forks do not overwrite each other reports.
+     *
+     * @param reportSubdirectory
+     *     relative to reports directory. Empty to write reports directly in reports directory.
+     */
+    public void setReportSubdirectory(String reportSubdirectory) {
+        this.reportSubdirectory = reportSubdirectory == null ? "" : reportSubdirectory;
+    }
+
+    PooledHttpClientFactory getHttpClientFactory() {
+        return httpClientFactory;
+    }
+
+    /**
+     * Sets where latencies of state set-ups, requests and response comparisons are recorded. Timing report is written
+     * into reports directory when reports are enabled.
+     *
+     * @param verificationTimings
+     *     shared by all verified interactions of the suite
+     */
+    public void setVerificationTimings(VerificationTimings verificationTimings) {
+        this.verificationTimings = verificationTimings;
+    }
+
+    VerificationTimings getVerificationTimings() {
+        return verificationTimings;
+    }
+
+    /**
+     * Sets how interactions are replayed in load replay mode.
+     *
+     * @param loadReplay
+     *     shared by all replayed interactions of the suite
+     */
+    public void setLoadReplay(LoadReplay loadReplay) {
+        this.loadReplay = loadReplay;
+    }
+
+    /**
+     * Sets the comparator of JSON bodies while they are read from provider.
+     *
+     * @param streamingBodyComparator
+     *     to be used, or null to let Pact compare fully read bodies
+     */
+    public void setStreamingBodyComparator(StreamingBodyComparator streamingBodyComparator) {
+        this.streamingBodyComparator = streamingBodyComparator;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.httpClientFactory.close();
+    }
+
+    @Override
+    public void setExecutor(Executor executor) {
+        this.currentExecutor = executor;
+    }
+
+    @Override
+    public void setLatencyBudget(double percentile, long millis, int replays) {
+        this.currentLatencyBudgetCheck = replays > 0 ? new LatencyBudgetCheck(percentile, millis, replays) : null;
+    }
+
+    @Override
+    public void setWarmUpIterations(int warmUpIterations) {
+        this.currentWarmUpIterations = warmUpIterations;
+    }
+
+    @Override
+    public void setLoadReplayInteractions(
+        Map<au.com.dius.pact.model.Consumer, List<RequestResponseInteraction>> loadReplayInteractions) {
+        this.currentLoadReplayInteractions = loadReplayInteractions;
+    }
+
+    @Override
+    public void setSharedInteractions(
+        Map<au.com.dius.pact.model.Consumer, RequestResponseInteraction> sharedInteractions) {
+        this.currentSharedInteractions = sharedInteractions;
+    }
+
+    /**
+     * Verification run by the executor, whose reports are finalised by the test thread once it is awaited.
+     */
+    private static class DeferredVerification implements Runnable, DeferredReports {
+
+        private final ProviderVerifier verifier;
+        private final Runnable verification;
+
+        DeferredVerification(ProviderVerifier verifier, Runnable verification) {
+            this.verifier = verifier;
+            this.verification = verification;
+        }
+
+        @Override
+        public void run() {
+            verification.run();
+        }
+
+        @Override
+        public void finaliseReports() {
+            verifier.finaliseReports();
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package org.arquillian.algeron.pact.provider.core.httptarget;
+
+import au.com.dius.pact.model.Request;
+import au.com.dius.pact.provider.ProviderClient;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.arquillian.algeron.pact.provider.core.timing.Histogram;
+
+/**
+ * Replays an already verified request and checks that a percentile of measured latencies is within budget.
+ */
+class LatencyBudgetCheck {
+
+    private final double percentile;
+    private final long millis;
+    private final int replays;
+
+    LatencyBudgetCheck(double percentile, long millis, int replays) {
+        this.percentile = percentile;
+        this.millis = millis;
+        this.replays = replays;
+    }
+
+    /**
+     * Replays are sent one after the other, so they do not compete with each other for provider resources.
+     * Responses are not compared again, only its latency is measured.
+     *
+     * @param failures
+     *     where a failure is added under given interaction message if budget is exceeded or any replay fails
+     */
+    void check(ProviderClient client, Request request, String interactionMessage, Map<String, Object> failures) {
+        final Histogram latencies = new Histogram();
+
+        for (int i = 0; i < replays; i++) {
+            final long start = System.nanoTime();
+            try {
+                client.makeRequest(request);
+            } catch (Exception e) {
+                failures.put(interactionMessage, new IllegalStateException(
+                    String.format("Replay %s of %s to check latency budget failed", i + 1, replays), e));
+                return;
+            }
+            latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        }
+
+        final long measured = latencies.getValueAtPercentile(percentile);
+        if (measured > TimeUnit.MILLISECONDS.toMicros(millis)) {
+            failures.put(interactionMessage, String.format(Locale.ROOT,
+                "Latency budget exceeded: p%s of %s replays is %.3f ms but budget is %s ms",
+                formatPercentile(), replays, measured / 1000.0, millis));
+        }
+    }
+
+    private String formatPercentile() {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,258 @@
+package org.arquillian.algeron.pact.provider.core.httptarget;
+
+import au.com.dius.pact.model.Consumer;
+import au.com.dius.pact.model.Request;
+import au.com.dius.pact.model.RequestResponseInteraction;
+import au.com.dius.pact.provider.ProviderClient;
+import au.com.dius.pact.provider.ProviderInfo;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.arquillian.algeron.pact.provider.core.timing.Histogram;
+
+/**
+ * Replays requests of pact interactions against provider for a fixed duration, as a throughput test.
+ * <p>
+ * Requests of all replayed interactions are sent in turns by a number of workers, either as fast as provider answers
+ * or at a fixed rate. At a fixed rate, latency is measured from the moment a request was scheduled rather than sent,
+ * so a slow provider delaying next requests is not hidden from percentiles. Responses are not compared against pacts,
+ * only a status different from the expected one is counted as an error.
+ * <p>
+ * Results of all replays of a suite are written into a report, when a report directory is set.
+ */
+public class LoadReplay {
+
+    private static final Logger logger = Logger.getLogger(LoadReplay.class.getName());
+
+    public static final long DEFAULT_DURATION = 10000;
+    public static final int DEFAULT_CONCURRENCY = PooledHttpClientFactory.DEFAULT_POOL_SIZE;
+
+    static final String REPORT_NAME = "load-replay.txt";
+
+    private static final String SUMMARY_ROW = "%8s %8s %10s %10s %10s %10s %10s  %s%n";
+
+    private final long durationMillis;
+    private final int concurrency;
+    private final double rate;
+
+    private final List<String> report = new ArrayList<>();
+    private volatile File reportDirectory;
+
+    public LoadReplay() {
+        this(DEFAULT_DURATION, DEFAULT_CONCURRENCY, 0);
+    }
+
+    /**
+     * @param durationMillis
+     *     how long requests are replayed for each group of interactions
+     * @param concurrency
+     *     number of workers sending requests at the same time
+     * @param rate
+     *     requests per second sent by all workers together. 0 or less to send requests as fast as provider answers.
+     */
+    public LoadReplay(long durationMillis, int concurrency, double rate) {
+        if (durationMillis <= 0 || concurrency <= 0) {
+            throw new IllegalArgumentException(String.format(
+                "Load replay duration and concurrency should be positive but they are %s and %s", durationMillis,
+                concurrency));
+        }
+        this.durationMillis = durationMillis;
+        this.concurrency = concurrency;
+        this.rate = rate;
+    }
+
+    /**
+     * Sets the directory where load replay report is written. When no directory is set, results are only logged.
+     *
+     * @param reportDirectory
+     *     where verification reports are written
+     */
+    void setReportDirectory(File reportDirectory) {
+        this.reportDirectory = reportDirectory;
+    }
+
+    /**
+     * Replays given interactions until duration elapses.
+     *
+     * @throws AssertionError
+     *     if any replayed request failed or got an unexpected status
+     */
+    void replay(ProviderInfo provider, PooledHttpClientFactory httpClientFactory, Map<String, ?> stateParams,
+        Map<Consumer, List<RequestResponseInteraction>> interactions) {
+        final List<ReplayedInteraction> replayedInteractions = new ArrayList<>();
+        interactions.forEach((consumer, consumerInteractions) -> consumerInteractions.forEach(
+            interaction -> replayedInteractions.add(new ReplayedInteraction(consumer, interaction, stateParams))));
+
+        if (replayedInteractions.isEmpty()) {
+            return;
+        }
+
+        final long elapsed = run(provider, httpClientFactory, replayedInteractions);
+        final String summary = summarize(provider, replayedInteractions, elapsed);
+        logger.log(Level.INFO, summary);
+        writeReport(summary);
+
+        final List<ReplayedInteraction> failedInteractions = replayedInteractions.stream()
+            .filter(replayedInteraction -> replayedInteraction.errors.sum() > 0)
+            .collect(Collectors.toList());
+
+        if (!failedInteractions.isEmpty()) {
+            throw new AssertionError(failedInteractions.stream()
+                .map(failedInteraction -> String.format("%s of %s requests of %s failed, first error: %s",
+                    failedInteraction.errors.sum(), failedInteraction.latencies.getTotalCount(),
+                    failedInteraction.getName(), failedInteraction.firstError.get()))
+                .collect(Collectors.joining(System.lineSeparator(), "Load replay failed:" + System.lineSeparator(),
+                    "")));
+        }
+    }
+
+    /**
+     * @return Nanoseconds elapsed replaying requests.
+     */
+    private long run(ProviderInfo provider, PooledHttpClientFactory httpClientFactory,
+        List<ReplayedInteraction> replayedInteractions) {
+        final AtomicLong sequence = new AtomicLong();
+        final long interval = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(concurrency);
+        try {
+            final List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executorService.submit(() -> {
+                    final ProviderClient client = new ProviderClient(provider, httpClientFactory);
+                    while (true) {
+                        final long n = sequence.getAndIncrement();
+                        final long scheduled = interval > 0 ? start + n * interval : System.nanoTime();
+                        if (scheduled >= deadline) {
+                            return null;
+                        }
+
+                        final long wait = scheduled - System.nanoTime();
+                        if (wait > 0) {
+                            TimeUnit.NANOSECONDS.sleep(wait);
+                        }
+
+                        replayedInteractions.get((int) (n % replayedInteractions.size())).send(client, scheduled);
+                    }
+                }));
+            }
+
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Load replay has been interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load replay worker failed", e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        return System.nanoTime() - start;
+    }
+
+    private String summarize(ProviderInfo provider, List<ReplayedInteraction> replayedInteractions, long elapsed) {
+        final double seconds = elapsed / (double) TimeUnit.SECONDS.toNanos(1);
+        final StringBuilder summary = new StringBuilder(String.format(Locale.ROOT,
+            "Load replay of %s with states [%s] for %.1f s with %s workers at %s%n", provider.getName(),
+            replayedInteractions.get(0).interaction.displayState(), seconds, concurrency,
+            rate > 0 ? String.format(Locale.ROOT, "%s requests per second", rate) : "maximum rate"));
+        summary.append(String.format(SUMMARY_ROW, "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms",
+            ""));
+
+        for (ReplayedInteraction replayedInteraction : replayedInteractions) {
+            final Histogram latencies = replayedInteraction.latencies;
+            summary.append(String.format(SUMMARY_ROW, latencies.getTotalCount(), replayedInteraction.errors.sum(),
+                String.format(Locale.ROOT, "%.1f", latencies.getTotalCount() / seconds),
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)), millis(latencies.getMaxValue()),
+                replayedInteraction.getName()));
+        }
+
+        return summary.toString();
+    }
+
+    private String millis(long micros) {
+        return String.format(Locale.ROOT, "%.3f", micros / 1000.0);
+    }
+
+    /**
+     * Report is rewritten after each replay with all results of the suite, so it is complete even if suite is aborted.
+     */
+    private synchronized void writeReport(String summary) {
+        report.add(summary);
+
+        final File directory = this.reportDirectory;
+        if (directory == null) {
+            return;
+        }
+
+        directory.mkdirs();
+        try (Writer writer = Files.newBufferedWriter(new File(directory, REPORT_NAME).toPath(),
+            StandardCharsets.UTF_8)) {
+            writer.write(String.join(System.lineSeparator(), report));
+        } catch (IOException e) {
+            logger.log(Level.WARNING, String.format("Load replay report could not be written to %s", directory), e);
+        }
+    }
+
+    private static class ReplayedInteraction {
+
+        private final Consumer consumer;
+        private final RequestResponseInteraction interaction;
+        private final Request request;
+        private final String expectedStatus;
+
+        private final Histogram latencies = new Histogram();
+        private final LongAdder errors = new LongAdder();
+        private final AtomicReference<String> firstError = new AtomicReference<>();
+
+        ReplayedInteraction(Consumer consumer, RequestResponseInteraction interaction, Map<String, ?> stateParams) {
+            this.consumer = consumer;
+            this.interaction = interaction;
+            this.request = interaction.getRequest().generatedRequest(stateParams);
+            this.expectedStatus = String.valueOf(interaction.getResponse().generatedResponse(stateParams).getStatus());
+        }
+
+        void send(ProviderClient client, long scheduled) {
+            try {
+                final Object status = client.makeRequest(request).get("statusCode");
+                if (!expectedStatus.equals(String.valueOf(status))) {
+                    error(String.format("expected status %s but was %s", expectedStatus, status));
+                }
+            } catch (Exception e) {
+                error(e.toString());
+            }
+            latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled));
+        }
+
+        private void error(String message) {
+            errors.increment();
+            firstError.compareAndSet(null, message);
+        }
+
+        String getName() {
+            return consumer.getName() + " - " + interaction.getDescription();
+        }
+    }
+}
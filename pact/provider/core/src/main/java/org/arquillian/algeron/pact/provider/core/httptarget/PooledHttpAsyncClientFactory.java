@@ -0,0 +1,179 @@
+package org.arquillian.algeron.pact.provider.core.httptarget;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.HashMap;
+import java.util.Map;
+import javax.net.ssl.SSLContext;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.impl.client.StandardHttpRequestRetryHandler;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.protocol.HttpCoreContext;
+import org.apache.http.ssl.SSLContextBuilder;
+
+/**
+ * Http async client factory that always returns the same started keep-alive client. Requests are multiplexed over a
+ * few I/O dispatch threads, so the number of requests in flight is not bound to the number of threads.
+ * As in {@link PooledHttpClientFactory}, one client is kept per value of provider's insecure flag.
+ * Returned clients are thread safe and must be closed by calling {@link #close()}.
+ */
+public class PooledHttpAsyncClientFactory implements Closeable {
+
+    private final int poolSize;
+    private final int connectTimeout;
+    private final int readTimeout;
+
+    // Async client has no retry support of its own, failed requests are retried as Pact's own client does
+    private final HttpRequestRetryHandler retryHandler = new StandardHttpRequestRetryHandler(3, true);
+
+    private final Map<Boolean, CloseableHttpAsyncClient> httpAsyncClients = new HashMap<>();
+
+    public PooledHttpAsyncClientFactory() {
+        this(PooledHttpClientFactory.DEFAULT_POOL_SIZE, PooledHttpClientFactory.DEFAULT_TIMEOUT,
+            PooledHttpClientFactory.DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * @param poolSize
+     *     maximum number of connections kept open against provider. Requests exceeding it wait for a free connection
+     * @param connectTimeout
+     *     milliseconds to wait for a connection to be established. Negative means system default
+     * @param readTimeout
+     *     milliseconds to wait for data once connected. Negative means system default
+     */
+    public PooledHttpAsyncClientFactory(int poolSize, int connectTimeout, int readTimeout) {
+        this.poolSize = poolSize;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    public synchronized CloseableHttpAsyncClient newClient(boolean insecure) {
+        return this.httpAsyncClients.computeIfAbsent(insecure, flag -> {
+            final CloseableHttpAsyncClient httpAsyncClient = createClient(flag);
+            httpAsyncClient.start();
+            return httpAsyncClient;
+        });
+    }
+
+    /**
+     * Sends given request with the client for given insecure flag. Requests failing with an I/O error are sent
+     * again up to three times before callback is notified of the failure.
+     *
+     * @param insecure
+     *     true if certificates should be ignored
+     * @param request
+     *     to be sent
+     * @param callback
+     *     notified once request completes, fails or is cancelled
+     */
+    public void execute(boolean insecure, HttpUriRequest request, FutureCallback<HttpResponse> callback) {
+        execute(newClient(insecure), request, 1, callback);
+    }
+
+    private void execute(CloseableHttpAsyncClient httpAsyncClient, HttpUriRequest request, int executionCount,
+        FutureCallback<HttpResponse> callback) {
+        final HttpClientContext context = HttpClientContext.create();
+        context.setAttribute(HttpCoreContext.HTTP_REQUEST, request);
+
+        httpAsyncClient.execute(request, context, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse httpResponse) {
+                callback.completed(httpResponse);
+            }
+
+            @Override
+            public void failed(Exception e) {
+                if (e instanceof IOException && httpAsyncClient.isRunning()
+                    && retryHandler.retryRequest((IOException) e, executionCount, context)) {
+                    execute(httpAsyncClient, request, executionCount + 1, callback);
+                } else {
+                    callback.failed(e);
+                }
+            }
+
+            @Override
+            public void cancelled() {
+                callback.cancelled();
+            }
+        });
+    }
+
+    private CloseableHttpAsyncClient createClient(boolean insecure) {
+        final PoolingNHttpClientConnectionManager connectionManager;
+        try {
+            final DefaultConnectingIOReactor ioReactor = new DefaultConnectingIOReactor(IOReactorConfig.custom()
+                .setConnectTimeout(Math.max(0, connectTimeout))
+                .setSoTimeout(Math.max(0, readTimeout))
+                .build());
+            connectionManager = new PoolingNHttpClientConnectionManager(ioReactor,
+                insecure ? insecureSessionStrategyRegistry() : systemSessionStrategyRegistry());
+        } catch (IOReactorException e) {
+            throw new IllegalStateException(e);
+        }
+        connectionManager.setMaxTotal(poolSize);
+        // All requests go to the same provider so one route can use the whole pool
+        connectionManager.setDefaultMaxPerRoute(poolSize);
+
+        final RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout(connectTimeout)
+            .setSocketTimeout(readTimeout)
+            .build();
+
+        // Same proxy and truststore settings as Pact's own client factory
+        return HttpAsyncClients.custom()
+            .useSystemProperties()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .build();
+    }
+
+    /**
+     * Connection manager is set explicitly, so builder's system properties are not applied to it. Https connections
+     * use javax.net.ssl settings through system session strategy.
+     */
+    private Registry<SchemeIOSessionStrategy> systemSessionStrategyRegistry() {
+        return RegistryBuilder.<SchemeIOSessionStrategy>create()
+            .register("http", NoopIOSessionStrategy.INSTANCE)
+            .register("https", SSLIOSessionStrategy.getSystemDefaultStrategy())
+            .build();
+    }
+
+    private Registry<SchemeIOSessionStrategy> insecureSessionStrategyRegistry() {
+        try {
+            final SSLContext sslContext = new SSLContextBuilder()
+                .loadTrustMaterial(null, (chain, authType) -> true)
+                .build();
+            return RegistryBuilder.<SchemeIOSessionStrategy>create()
+                .register("http", NoopIOSessionStrategy.INSTANCE)
+                .register("https", new SSLIOSessionStrategy(sslContext, NoopHostnameVerifier.INSTANCE))
+                .build();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (CloseableHttpAsyncClient httpAsyncClient : this.httpAsyncClients.values()) {
+            httpAsyncClient.close();
+        }
+        this.httpAsyncClients.clear();
+    }
+}
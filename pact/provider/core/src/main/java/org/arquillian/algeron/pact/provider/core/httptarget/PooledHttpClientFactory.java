@@ -0,0 +1,131 @@
+package org.arquillian.algeron.pact.provider.core.httptarget;
+
+import au.com.dius.pact.provider.IHttpClientFactory;
+import au.com.dius.pact.provider.IProviderInfo;
+import java.io.Closeable;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLContext;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.client.StandardHttpRequestRetryHandler;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.ssl.SSLContextBuilder;
+
+/**
+ * Http client factory that always returns the same keep-alive client, so connections to provider are reused between
+ * interactions instead of opening (and handshaking) a new one per request. One client is kept per value of
+ * provider's insecure flag, so an insecure provider never shares the client of a secure one.
+ * Returned clients are thread safe and must be closed by calling {@link #close()}.
+ */
+public class PooledHttpClientFactory implements IHttpClientFactory, Closeable {
+
+    public static final int DEFAULT_POOL_SIZE = 20;
+    public static final long DEFAULT_IDLE_TIMEOUT = 30000;
+    public static final int DEFAULT_TIMEOUT = -1;
+
+    private final int poolSize;
+    private final long idleTimeout;
+    private final int connectTimeout;
+    private final int readTimeout;
+
+    private final Map<Boolean, CloseableHttpClient> httpClients = new HashMap<>();
+
+    public PooledHttpClientFactory() {
+        this(DEFAULT_POOL_SIZE, DEFAULT_IDLE_TIMEOUT, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * @param poolSize
+     *     maximum number of connections kept open against provider
+     * @param idleTimeout
+     *     milliseconds after which an idle connection is evicted
+     * @param connectTimeout
+     *     milliseconds to wait for a connection to be established. Negative means system default
+     * @param readTimeout
+     *     milliseconds to wait for data once connected. Negative means system default
+     */
+    public PooledHttpClientFactory(int poolSize, long idleTimeout, int connectTimeout, int readTimeout) {
+        this.poolSize = poolSize;
+        this.idleTimeout = idleTimeout;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public synchronized CloseableHttpClient newClient(IProviderInfo provider) {
+        return this.httpClients.computeIfAbsent(provider.getInsecure(), this::createClient);
+    }
+
+    private CloseableHttpClient createClient(boolean insecure) {
+        final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+            insecure ? insecureSocketFactoryRegistry() : systemSocketFactoryRegistry());
+        connectionManager.setMaxTotal(poolSize);
+        // All requests go to the same provider so one route can use the whole pool
+        connectionManager.setDefaultMaxPerRoute(poolSize);
+
+        final RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout(connectTimeout)
+            .setSocketTimeout(readTimeout)
+            .build();
+
+        // Same proxy, truststore and retry settings as Pact's own client factory
+        final HttpClientBuilder httpClientBuilder = HttpClients.custom()
+            .useSystemProperties()
+            .setRetryHandler(new StandardHttpRequestRetryHandler(3, true))
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig);
+
+        if (idleTimeout > 0) {
+            httpClientBuilder
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+        }
+
+        return httpClientBuilder.build();
+    }
+
+    /**
+     * Connection manager is set explicitly, so builder's system properties are not applied to it. Https connections
+     * use javax.net.ssl settings through system socket factory.
+     */
+    private Registry<ConnectionSocketFactory> systemSocketFactoryRegistry() {
+        return RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .register("https", SSLConnectionSocketFactory.getSystemSocketFactory())
+            .build();
+    }
+
+    private Registry<ConnectionSocketFactory> insecureSocketFactoryRegistry() {
+        try {
+            final SSLContext sslContext = new SSLContextBuilder()
+                .loadTrustMaterial(null, (chain, authType) -> true)
+                .build();
+            return RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE))
+                .build();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (CloseableHttpClient httpClient : this.httpClients.values()) {
+            httpClient.close();
+        }
+        this.httpClients.clear();
+    }
+}
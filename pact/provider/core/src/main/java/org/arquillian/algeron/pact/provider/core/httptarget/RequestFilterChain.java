@@ -0,0 +1,54 @@
+package org.arquillian.algeron.pact.provider.core.httptarget;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Consumer;
+import org.apache.http.HttpRequest;
+
+/**
+ * Executes all methods annotated with {@link org.arquillian.algeron.pact.provider.spi.TargetRequestFilter} of a test
+ * instance. Method handles are bound to the test instance once, so the same chain is reused for every request.
+ */
+class RequestFilterChain implements Consumer<HttpRequest> {
+
+    private static final MethodType FILTER_TYPE = MethodType.methodType(void.class, HttpRequest.class);
+
+    private final String[] names;
+    private final MethodHandle[] filters;
+
+    RequestFilterChain(Method[] methods, Object testInstance) {
+        this.names = new String[methods.length];
+        this.filters = new MethodHandle[methods.length];
+
+        for (int i = 0; i < methods.length; i++) {
+            names[i] = methods[i].getName();
+            filters[i] = bind(methods[i], testInstance);
+        }
+    }
+
+    private static MethodHandle bind(Method method, Object testInstance) {
+        try {
+            method.setAccessible(true);
+            final MethodHandle methodHandle = MethodHandles.lookup().unreflect(method);
+            // Static filters have no receiver to bind
+            return (Modifier.isStatic(method.getModifiers()) ? methodHandle : methodHandle.bindTo(testInstance))
+                .asType(FILTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public void accept(HttpRequest httpRequest) {
+        for (int i = 0; i < filters.length; i++) {
+            try {
+                filters[i].invokeExact(httpRequest);
+            } catch (Throwable t) {
+                throw new AssertionError("Request filter method " + names[i] + " failed with an exception", t);
+            }
+        }
+    }
+}
@@ -0,0 +1,665 @@
+package org.arquillian.algeron.pact.provider.core.httptarget;
+
+import au.com.dius.pact.model.OptionalBody;
+import au.com.dius.pact.model.Response;
+import au.com.dius.pact.model.matchingrules.Category;
+import au.com.dius.pact.model.matchingrules.MatchingRule;
+import au.com.dius.pact.model.matchingrules.MatchingRuleGroup;
+import au.com.dius.pact.model.matchingrules.RuleLogic;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.entity.ContentType;
+
+/**
+ * Compares JSON response bodies while they are read from provider, so only the expected body is kept as a tree and
+ * the actual body, which may be several megabytes, is never fully buffered.
+ * <p>
+ * Follows Pact rules for response bodies: unexpected keys are allowed, arrays must have the same size unless a
+ * matching rule applies to them, and the matching rule with the most specific path applies to each value. Bodies with
+ * matching rules that are not supported here are left to Pact.
+ */
+public class StreamingBodyComparator {
+
+    private static final String BODY_CATEGORY = "body";
+    private static final String ROOT = "$";
+    private static final String WILDCARD = "*";
+
+    private static final Set<String> SUPPORTED_MATCHERS = new HashSet<>(Arrays.asList(
+        "type", "min", "max", "regex", "integer", "decimal", "number", "boolean", "equality", "null", "include"));
+
+    private static final Pattern PATH_TOKEN = Pattern.compile("\\.([^.\\[]+)|\\['([^']*)']|\\[(\\d+|\\*)]");
+
+    private final boolean failFast;
+
+    public StreamingBodyComparator() {
+        this(false);
+    }
+
+    /**
+     * @param failFast
+     *     true if comparison stops at first mismatch, leaving the rest of the body unread
+     */
+    public StreamingBodyComparator(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    /**
+     * @return True if expected response has a JSON body whose matching rules can all be applied while streaming.
+     */
+    public boolean supports(Response expectedResponse) {
+        final OptionalBody body = expectedResponse.getBody();
+        if (body == null || !body.isPresent()) {
+            return false;
+        }
+
+        for (MatchingRuleGroup ruleGroup : bodyRules(expectedResponse).values()) {
+            for (MatchingRule rule : ruleGroup.getRules()) {
+                final Map<String, ?> definition = rule.toMap();
+                if (!SUPPORTED_MATCHERS.contains(matchType(definition))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return True if given response entity is declared as JSON.
+     */
+    public static boolean isJson(HttpEntity entity) {
+        if (entity == null) {
+            return false;
+        }
+        try {
+            final String mimeType = ContentType.getOrDefault(entity).getMimeType();
+            return mimeType != null && mimeType.toLowerCase().contains("json");
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return Charset declared by given response entity, or UTF-8 as mandated for JSON.
+     */
+    public static Charset charsetOf(HttpEntity entity) {
+        final Charset charset = ContentType.getOrDefault(entity).getCharset();
+        return charset == null ? StandardCharsets.UTF_8 : charset;
+    }
+
+    /**
+     * @return Copy of given entity, with the same headers but empty content.
+     */
+    static HttpEntity withoutContent(HttpEntity entity) {
+        final BasicHttpEntity emptyEntity = new BasicHttpEntity();
+        emptyEntity.setContent(new ByteArrayInputStream(new byte[0]));
+        emptyEntity.setContentLength(0);
+        emptyEntity.setContentType(entity.getContentType());
+        emptyEntity.setContentEncoding(entity.getContentEncoding());
+        return emptyEntity;
+    }
+
+    /**
+     * @return Copy of given response without body, so Pact only compares status and headers.
+     */
+    static Response withoutBody(Response expectedResponse) {
+        final Response response = expectedResponse.copy();
+        response.setBody(OptionalBody.missing());
+        return response;
+    }
+
+    /**
+     * Compares body of expected response with given body while it is read. Given stream is not closed.
+     *
+     * @param expectedResponse
+     *     with the expected body and its matching rules
+     * @param actualBody
+     *     stream of the body returned by provider
+     * @param charset
+     *     of the body returned by provider
+     * @return Result of the comparison
+     * @throws IOException
+     *     if actual body cannot be read
+     */
+    public Comparison compare(Response expectedResponse, InputStream actualBody, Charset charset)
+        throws IOException {
+        final JsonElement expected;
+        try {
+            expected = new JsonParser().parse(new InputStreamReader(
+                new ByteArrayInputStream(expectedResponse.getBody().orEmpty()), StandardCharsets.UTF_8));
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Expected body is not a valid JSON document", e);
+        }
+
+        final CountingInputStream countingBody = new CountingInputStream(actualBody);
+        final Comparison comparison = new Comparison(parseRules(bodyRules(expectedResponse)));
+
+        final JsonReader reader = new JsonReader(new InputStreamReader(countingBody, charset));
+        reader.setLenient(true);
+        try {
+            final List<Object> path = new ArrayList<>();
+            path.add(ROOT);
+            if (isEmpty(reader)) {
+                comparison.mismatch(path, "Expected a body but received an empty one");
+            } else {
+                compareValue(expected, path, reader, comparison);
+            }
+        } catch (FailFast e) {
+            // First mismatch has been recorded, rest of the body is not read
+        } catch (IOException | IllegalStateException e) {
+            if (comparison.mismatches.isEmpty()) {
+                throw e;
+            }
+            // Body is malformed after some mismatch has been found, so mismatches are more helpful than the error
+        }
+
+        comparison.bodySize = countingBody.count;
+        return comparison;
+    }
+
+    private static boolean isEmpty(JsonReader reader) throws IOException {
+        try {
+            return reader.peek() == JsonToken.END_DOCUMENT;
+        } catch (EOFException e) {
+            return true;
+        }
+    }
+
+    private static Map<String, MatchingRuleGroup> bodyRules(Response expectedResponse) {
+        if (expectedResponse.getMatchingRules() == null) {
+            return Collections.emptyMap();
+        }
+        final Category category = expectedResponse.getMatchingRules().rulesForCategory(BODY_CATEGORY);
+        return category == null ? Collections.<String, MatchingRuleGroup>emptyMap() : category.getMatchingRules();
+    }
+
+    private static String matchType(Map<String, ?> definition) {
+        final Object match = definition.get("match");
+        if (match == null) {
+            return definition.containsKey("min") ? "min" : definition.containsKey("max") ? "max" : null;
+        }
+        return String.valueOf(match);
+    }
+
+    private static List<PathRule> parseRules(Map<String, MatchingRuleGroup> ruleGroups) {
+        final List<PathRule> rules = new ArrayList<>();
+        for (Map.Entry<String, MatchingRuleGroup> ruleGroup : ruleGroups.entrySet()) {
+            final List<Map<String, ?>> definitions = new ArrayList<>();
+            for (MatchingRule rule : ruleGroup.getValue().getRules()) {
+                definitions.add(rule.toMap());
+            }
+            rules.add(new PathRule(parsePath(ruleGroup.getKey()), definitions,
+                ruleGroup.getValue().getRuleLogic() == RuleLogic.OR));
+        }
+        return rules;
+    }
+
+    /**
+     * Parses a Pact path expression like {@code $.planets[*].name} or {@code $['a key'].*} into its tokens.
+     * Indexes are returned as integers, and both {@code .*} and {@code [*]} as wildcards.
+     */
+    static List<Object> parsePath(String pathExpression) {
+        final List<Object> tokens = new ArrayList<>();
+        tokens.add(ROOT);
+
+        String expression = pathExpression.trim();
+        if (expression.startsWith(ROOT)) {
+            expression = expression.substring(1);
+        }
+        // Version 2 pacts prefix body paths with the category
+        if (expression.equals("." + BODY_CATEGORY) || expression.startsWith("." + BODY_CATEGORY + ".")
+            || expression.startsWith("." + BODY_CATEGORY + "[")) {
+            expression = expression.substring(BODY_CATEGORY.length() + 1);
+        }
+
+        final Matcher matcher = PATH_TOKEN.matcher(expression);
+        int position = 0;
+        while (position < expression.length() && matcher.find(position) && matcher.start() == position) {
+            if (matcher.group(1) != null) {
+                tokens.add(matcher.group(1));
+            } else if (matcher.group(2) != null) {
+                tokens.add(matcher.group(2));
+            } else if (WILDCARD.equals(matcher.group(3))) {
+                tokens.add(WILDCARD);
+            } else {
+                tokens.add(Integer.valueOf(matcher.group(3)));
+            }
+            position = matcher.end();
+        }
+
+        if (position < expression.length()) {
+            throw new IllegalArgumentException(String.format("Matching rule path %s is not valid", pathExpression));
+        }
+
+        return tokens;
+    }
+
+    private void compareValue(JsonElement expected, List<Object> path, JsonReader reader, Comparison comparison)
+        throws IOException {
+        final PathRule rule = comparison.ruleFor(path);
+        final JsonToken token = reader.peek();
+
+        if (expected.isJsonObject() && token == JsonToken.BEGIN_OBJECT) {
+            if (rule != null) {
+                checkRule(rule, expected, Kind.OBJECT, null, path, comparison);
+            }
+            compareObject(expected.getAsJsonObject(), path, reader, comparison);
+        } else if (expected.isJsonArray() && token == JsonToken.BEGIN_ARRAY) {
+            compareArray(expected.getAsJsonArray(), rule, path, reader, comparison);
+        } else if (token == JsonToken.BEGIN_OBJECT || token == JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            final Kind kind = token == JsonToken.BEGIN_OBJECT ? Kind.OBJECT : Kind.ARRAY;
+            if (rule != null) {
+                checkRule(rule, expected, kind, null, path, comparison);
+            } else {
+                comparison.mismatch(path, String.format("Expected %s but received %s", describe(expected),
+                    kind.description));
+            }
+        } else {
+            comparePrimitive(expected, rule, path, reader, comparison);
+        }
+    }
+
+    private void compareObject(JsonObject expected, List<Object> path, JsonReader reader, Comparison comparison)
+        throws IOException {
+        final Set<String> receivedKeys = new HashSet<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String key = reader.nextName();
+            final JsonElement expectedValue = expected.get(key);
+            if (expectedValue == null) {
+                // Unexpected keys are allowed in responses
+                reader.skipValue();
+                continue;
+            }
+
+            receivedKeys.add(key);
+            path.add(key);
+            compareValue(expectedValue, path, reader, comparison);
+            path.remove(path.size() - 1);
+        }
+        reader.endObject();
+
+        for (Map.Entry<String, JsonElement> expectedEntry : expected.entrySet()) {
+            if (!receivedKeys.contains(expectedEntry.getKey())) {
+                path.add(expectedEntry.getKey());
+                comparison.mismatch(path, String.format("Expected %s but was missing",
+                    describe(expectedEntry.getValue())));
+                path.remove(path.size() - 1);
+            }
+        }
+    }
+
+    private void compareArray(JsonArray expected, PathRule rule, List<Object> path, JsonReader reader,
+        Comparison comparison) throws IOException {
+        int index = 0;
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            path.add(index);
+            if (rule != null && expected.size() > 0) {
+                // With a matching rule, additional elements are compared with the first expected one
+                compareValue(expected.get(index < expected.size() ? index : 0), path, reader, comparison);
+            } else if (index < expected.size()) {
+                compareValue(expected.get(index), path, reader, comparison);
+            } else {
+                reader.skipValue();
+            }
+            path.remove(path.size() - 1);
+            index++;
+        }
+        reader.endArray();
+
+        if (rule != null) {
+            checkRule(rule, expected, Kind.ARRAY, index, path, comparison);
+            if (expected.size() == 0 && index > 0) {
+                comparison.mismatch(path, String.format("Expected an empty List but received %d elements", index));
+            }
+        } else if (index != expected.size()) {
+            comparison.mismatch(path, String.format("Expected a List with %d elements but received %d elements",
+                expected.size(), index));
+        }
+    }
+
+    private void comparePrimitive(JsonElement expected, PathRule rule, List<Object> path, JsonReader reader,
+        Comparison comparison) throws IOException {
+        final Kind kind;
+        final String value;
+        switch (reader.peek()) {
+            case STRING:
+                kind = Kind.STRING;
+                value = reader.nextString();
+                break;
+            case NUMBER:
+                kind = Kind.NUMBER;
+                value = reader.nextString();
+                break;
+            case BOOLEAN:
+                kind = Kind.BOOLEAN;
+                value = String.valueOf(reader.nextBoolean());
+                break;
+            case NULL:
+                kind = Kind.NULL;
+                value = null;
+                reader.nextNull();
+                break;
+            default:
+                throw new IllegalStateException(String.format("Unexpected %s at %s", reader.peek(), pathOf(path)));
+        }
+
+        if (rule != null) {
+            checkRule(rule, expected, kind, value, path, comparison);
+        } else if (!isEqual(expected, kind, value)) {
+            comparison.mismatch(path, String.format("Expected %s but received %s", describe(expected),
+                describe(kind, value)));
+        }
+    }
+
+    private void checkRule(PathRule rule, JsonElement expected, Kind kind, Object value, List<Object> path,
+        Comparison comparison) {
+        String failure = null;
+        for (Map<String, ?> definition : rule.definitions) {
+            failure = check(definition, expected, kind, value);
+            if (rule.or ? failure == null : failure != null) {
+                break;
+            }
+        }
+
+        if (failure != null) {
+            comparison.mismatch(path, failure);
+        }
+    }
+
+    /**
+     * @param value
+     *     textual value of primitives, or number of elements of arrays
+     * @return Failure message, or null if value matches given rule definition.
+     */
+    private static String check(Map<String, ?> definition, JsonElement expected, Kind kind, Object value) {
+        final String actual = isPrimitive(kind) ? describe(kind, (String) value) : kind.description;
+        switch (matchType(definition)) {
+            case "type":
+            case "min":
+            case "max":
+                if (kindOf(expected) != kind) {
+                    return String.format("Expected %s to be the same type as %s", actual, describe(expected));
+                }
+                if (kind == Kind.ARRAY) {
+                    final int size = (Integer) value;
+                    final Object min = definition.get("min");
+                    final Object max = definition.get("max");
+                    if (min != null && size < Integer.parseInt(String.valueOf(min))) {
+                        return String.format("Expected a List with at least %s elements but received %d elements",
+                            min, size);
+                    }
+                    if (max != null && size > Integer.parseInt(String.valueOf(max))) {
+                        return String.format("Expected a List with at most %s elements but received %d elements",
+                            max, size);
+                    }
+                }
+                return null;
+            case "regex":
+                final String regex = String.valueOf(definition.get("regex"));
+                return isPrimitive(kind) && value != null && ((String) value).matches(regex) ? null
+                    : String.format("Expected %s to match '%s'", actual, regex);
+            case "integer":
+                return kind == Kind.NUMBER && isInteger((String) value) ? null
+                    : String.format("Expected %s to be an integer", actual);
+            case "decimal":
+                return kind == Kind.NUMBER && !isInteger((String) value) ? null
+                    : String.format("Expected %s to be a decimal number", actual);
+            case "number":
+                return kind == Kind.NUMBER ? null : String.format("Expected %s to be a number", actual);
+            case "boolean":
+                return kind == Kind.BOOLEAN ? null : String.format("Expected %s to be a boolean", actual);
+            case "null":
+                return kind == Kind.NULL ? null : String.format("Expected %s to be null", actual);
+            case "include":
+                final String include = String.valueOf(definition.get("value"));
+                return isPrimitive(kind) && value != null && ((String) value).contains(include) ? null
+                    : String.format("Expected %s to include '%s'", actual, include);
+            case "equality":
+                if (isPrimitive(kind)) {
+                    return isEqual(expected, kind, (String) value) ? null
+                        : String.format("Expected %s to be equal to %s", actual, describe(expected));
+                }
+                // Containers are compared element by element
+                return kindOf(expected) == kind ? null
+                    : String.format("Expected %s to be equal to %s", actual, describe(expected));
+            default:
+                throw new IllegalArgumentException(String.format("Matching rule %s is not supported", definition));
+        }
+    }
+
+    private static boolean isEqual(JsonElement expected, Kind kind, String value) {
+        if (kindOf(expected) != kind) {
+            return false;
+        }
+        switch (kind) {
+            case NULL:
+                return true;
+            case NUMBER:
+                return new BigDecimal(expected.getAsString()).compareTo(new BigDecimal(value)) == 0;
+            default:
+                return expected.getAsString().equals(value);
+        }
+    }
+
+    private static boolean isInteger(String number) {
+        return number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0;
+    }
+
+    private static boolean isPrimitive(Kind kind) {
+        return kind != Kind.OBJECT && kind != Kind.ARRAY;
+    }
+
+    private static Kind kindOf(JsonElement element) {
+        if (element.isJsonObject()) {
+            return Kind.OBJECT;
+        }
+        if (element.isJsonArray()) {
+            return Kind.ARRAY;
+        }
+        if (element.isJsonNull()) {
+            return Kind.NULL;
+        }
+        final JsonPrimitive primitive = element.getAsJsonPrimitive();
+        return primitive.isNumber() ? Kind.NUMBER : primitive.isBoolean() ? Kind.BOOLEAN : Kind.STRING;
+    }
+
+    private static String describe(JsonElement element) {
+        final Kind kind = kindOf(element);
+        return isPrimitive(kind) ? describe(kind, kind == Kind.NULL ? null : element.getAsString()) : kind.description;
+    }
+
+    private static String describe(Kind kind, String value) {
+        switch (kind) {
+            case NULL:
+                return "null";
+            case STRING:
+                return "'" + value + "'";
+            default:
+                return value;
+        }
+    }
+
+    static String pathOf(List<Object> path) {
+        final StringBuilder pathExpression = new StringBuilder();
+        for (Object token : path) {
+            if (token instanceof Integer) {
+                pathExpression.append('[').append(token).append(']');
+            } else if (pathExpression.length() == 0) {
+                pathExpression.append(token);
+            } else {
+                pathExpression.append('.').append(token);
+            }
+        }
+        return pathExpression.toString();
+    }
+
+    private enum Kind {
+        OBJECT("a Map"), ARRAY("a List"), STRING("a String"), NUMBER("a Number"), BOOLEAN("a Boolean"),
+        NULL("null");
+
+        private final String description;
+
+        Kind(String description) {
+            this.description = description;
+        }
+    }
+
+    private static class PathRule {
+        private final List<Object> path;
+        private final List<Map<String, ?>> definitions;
+        private final boolean or;
+
+        private PathRule(List<Object> path, List<Map<String, ?>> definitions, boolean or) {
+            this.path = path;
+            this.definitions = definitions;
+            this.or = or;
+        }
+
+        /**
+         * Same weighting as Pact: rule applies to given path and its descendants, and each exact token weighs twice
+         * as much as a wildcard.
+         *
+         * @return Weight of this rule for given path, or 0 if it does not apply.
+         */
+        private int weight(List<Object> actualPath) {
+            if (path.size() > actualPath.size()) {
+                return 0;
+            }
+
+            int weight = 1;
+            for (int i = 0; i < path.size(); i++) {
+                final Object token = path.get(i);
+                if (WILDCARD.equals(token)) {
+                    continue;
+                }
+                if (!token.equals(actualPath.get(i))) {
+                    return 0;
+                }
+                weight *= 2;
+            }
+            return weight;
+        }
+    }
+
+    /**
+     * Result of a body comparison.
+     */
+    public final class Comparison {
+        private final List<PathRule> rules;
+        private final Map<String, String> mismatches = new LinkedHashMap<>();
+        private long bodySize;
+
+        private Comparison(List<PathRule> rules) {
+            this.rules = rules;
+        }
+
+        private PathRule ruleFor(List<Object> path) {
+            PathRule bestRule = null;
+            int bestWeight = 0;
+            for (PathRule rule : rules) {
+                final int weight = rule.weight(path);
+                if (weight > bestWeight) {
+                    bestRule = rule;
+                    bestWeight = weight;
+                }
+            }
+            return bestRule;
+        }
+
+        private void mismatch(List<Object> path, String message) {
+            mismatches.putIfAbsent(pathOf(path), message);
+            if (failFast) {
+                throw new FailFast();
+            }
+        }
+
+        /**
+         * @return Mismatch message per path of the actual body, in reading order. Empty if bodies match.
+         */
+        public Map<String, String> getMismatches() {
+            return mismatches;
+        }
+
+        /**
+         * @return Number of bytes of actual body read during comparison.
+         */
+        public long getBodySize() {
+            return bodySize;
+        }
+    }
+
+    private static class FailFast extends RuntimeException {
+        private FailFast() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int read = super.read();
+            if (read != -1) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read != -1) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            final long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.arquillian.algeron.pact.provider.core.timing;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of non-negative values with a bounded relative error, in the style of HdrHistogram.
+ * Values below 128 are counted exactly. Greater values are counted in buckets covering a power of two range each, split
+ * in 64 sub-buckets, so any recorded value is reported with an error lower than 1.6%.
+ * <p>
+ * Recording is lock free, so values can be recorded concurrently from any thread.
+ */
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int BUCKET_COUNT = Long.SIZE - 1 - SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SUB_BUCKET_COUNT + BUCKET_COUNT * SUB_BUCKET_HALF_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param value
+     *     to be recorded. Negative values are recorded as 0.
+     */
+    public void recordValue(long value) {
+        final long recordedValue = Math.max(0, value);
+        counts.incrementAndGet(indexOf(recordedValue));
+        totalCount.increment();
+        sum.add(recordedValue);
+        min.accumulate(recordedValue);
+        max.accumulate(recordedValue);
+    }
+
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    public long getMinValue() {
+        return getTotalCount() == 0 ? 0 : min.get();
+    }
+
+    public long getMaxValue() {
+        return max.get();
+    }
+
+    public double getMean() {
+        final long count = getTotalCount();
+        return count == 0 ? 0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * @param percentile
+     *     between 0 and 100
+     *
+     * @return Highest value equivalent to the one at given percentile, never greater than max recorded value. 0 if
+     * nothing has been recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        final long count = getTotalCount();
+        if (count == 0) {
+            return 0;
+        }
+
+        final long countAtPercentile = Math.max(1, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * count));
+        long cumulativeCount = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            cumulativeCount += counts.get(i);
+            if (cumulativeCount >= countAtPercentile) {
+                return Math.min(highestEquivalentValue(i), getMaxValue());
+            }
+        }
+
+        return getMaxValue();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        // Shifts value so it falls in the upper half of a sub-bucket range, [64, 128)
+        final int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT
+            + (int) ((value >>> shift) - SUB_BUCKET_HALF_COUNT);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        final int bucketIndex = index - SUB_BUCKET_COUNT;
+        final int shift = bucketIndex / SUB_BUCKET_HALF_COUNT + 1;
+        final long subBucket = bucketIndex % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return (subBucket << shift) + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,150 @@
+package org.arquillian.algeron.pact.provider.core.timing;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Writes recorded timings as json, to be processed by other tools, and as a plain text summary listing the slowest
+ * endpoints and provider states first.
+ */
+class TimingReportWriter {
+
+    private static final double[] PERCENTILES = {50, 90, 99};
+    private static final String SUMMARY_ROW = "%8s %10s %10s %10s %10s  %s%n";
+
+    private final Map<String, Map<String, Map<VerificationTimings.Metric, Histogram>>> groups = new LinkedHashMap<>();
+
+    TimingReportWriter(Map<String, ? extends Map<VerificationTimings.Metric, Histogram>> consumers,
+        Map<String, ? extends Map<VerificationTimings.Metric, Histogram>> endpoints,
+        Map<String, ? extends Map<VerificationTimings.Metric, Histogram>> states) {
+        // Sorted, so reports of same verification can be compared
+        groups.put("consumers", sorted(consumers));
+        groups.put("endpoints", sorted(endpoints));
+        groups.put("states", sorted(states));
+    }
+
+    private Map<String, Map<VerificationTimings.Metric, Histogram>> sorted(
+        Map<String, ? extends Map<VerificationTimings.Metric, Histogram>> entries) {
+        return new TreeMap<>(entries);
+    }
+
+    void writeJson(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("{\n");
+            writer.write("  \"latencyUnit\": \"microseconds\",\n");
+            writer.write("  \"sizeUnit\": \"bytes\"");
+            for (Map.Entry<String, Map<String, Map<VerificationTimings.Metric, Histogram>>> group
+                : groups.entrySet()) {
+                writer.write(",\n  " + quote(group.getKey()) + ": {");
+                writeEntries(writer, group.getValue());
+                writer.write("}");
+            }
+            writer.write("\n}\n");
+        }
+    }
+
+    private void writeEntries(Writer writer, Map<String, Map<VerificationTimings.Metric, Histogram>> entries)
+        throws IOException {
+        final Iterator<Map.Entry<String, Map<VerificationTimings.Metric, Histogram>>> iterator =
+            entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, Map<VerificationTimings.Metric, Histogram>> entry = iterator.next();
+            writer.write("\n    " + quote(entry.getKey()) + ": {");
+
+            final List<String> metrics = Arrays.stream(VerificationTimings.Metric.values())
+                .filter(entry.getValue()::containsKey)
+                .map(metric -> "\n      " + quote(metric.getName()) + ": " + toJson(entry.getValue().get(metric)))
+                .collect(Collectors.toList());
+            writer.write(String.join(",", metrics));
+
+            writer.write("\n    }");
+            if (iterator.hasNext()) {
+                writer.write(",");
+            }
+        }
+        if (!entries.isEmpty()) {
+            writer.write("\n  ");
+        }
+    }
+
+    private String toJson(Histogram histogram) {
+        final StringBuilder json = new StringBuilder("{")
+            .append("\"count\": ").append(histogram.getTotalCount())
+            .append(", \"min\": ").append(histogram.getMinValue())
+            .append(", \"mean\": ").append(String.format(Locale.ROOT, "%.1f", histogram.getMean()));
+        for (double percentile : PERCENTILES) {
+            json.append(", \"p").append((int) percentile).append("\": ")
+                .append(histogram.getValueAtPercentile(percentile));
+        }
+        return json.append(", \"max\": ").append(histogram.getMaxValue()).append("}").toString();
+    }
+
+    void writeSummary(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(String.format("Verification timings in milliseconds%n"));
+            writeTable(writer, "Slowest endpoints by request latency", "endpoints",
+                VerificationTimings.Metric.REQUEST);
+            writeTable(writer, "Slowest endpoints by response comparison", "endpoints",
+                VerificationTimings.Metric.COMPARISON);
+            writeTable(writer, "Slowest provider states set-up", "states",
+                VerificationTimings.Metric.STATE_SETUP);
+            writeTable(writer, "Consumers by request latency", "consumers",
+                VerificationTimings.Metric.REQUEST);
+        }
+    }
+
+    private void writeTable(Writer writer, String title, String group, VerificationTimings.Metric metric)
+        throws IOException {
+        final List<Map.Entry<String, Histogram>> rows = groups.get(group).entrySet().stream()
+            .filter(entry -> entry.getValue().containsKey(metric))
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get(metric)))
+            .entrySet().stream()
+            .sorted(Comparator.comparingLong(
+                (Map.Entry<String, Histogram> entry) -> entry.getValue().getValueAtPercentile(99)).reversed()
+                .thenComparing(Map.Entry::getKey))
+            .collect(Collectors.toList());
+
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        writer.write(String.format("%n%s%n", title));
+        writer.write(String.format(SUMMARY_ROW, "count", "p50", "p90", "p99", "max", ""));
+        for (Map.Entry<String, Histogram> row : rows) {
+            final Histogram histogram = row.getValue();
+            writer.write(String.format(SUMMARY_ROW, histogram.getTotalCount(),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue()), row.getKey()));
+        }
+    }
+
+    private String millis(long micros) {
+        return String.format(Locale.ROOT, "%.3f", micros / 1000.0);
+    }
+
+    private String quote(String value) {
+        final StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
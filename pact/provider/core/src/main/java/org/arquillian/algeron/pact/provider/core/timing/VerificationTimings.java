@@ -0,0 +1,117 @@
+package org.arquillian.algeron.pact.provider.core.timing;
+
+import au.com.dius.pact.model.Request;
+import au.com.dius.pact.model.RequestResponseInteraction;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Collects how long provider states set up, requests to provider and response comparisons take during a suite, and how
+ * large request and response bodies are. Values are kept in a {@link Histogram} per consumer, per endpoint and per
+ * provider state, so slow interactions and slow state set-ups can be spotted in the timing report.
+ * <p>
+ * Latencies are recorded in microseconds and body sizes in bytes. Values can be recorded concurrently.
+ */
+public class VerificationTimings {
+
+    private static final Logger logger = Logger.getLogger(VerificationTimings.class.getName());
+
+    static final String REPORT_NAME = "verification-timings";
+
+    enum Metric {
+        STATE_SETUP("stateSetup"),
+        REQUEST("request"),
+        COMPARISON("comparison"),
+        REQUEST_BODY_SIZE("requestBodySize"),
+        RESPONSE_BODY_SIZE("responseBodySize");
+
+        private final String name;
+
+        Metric(String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+    }
+
+    private final ConcurrentMap<String, ConcurrentMap<Metric, Histogram>> consumers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<Metric, Histogram>> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<Metric, Histogram>> states = new ConcurrentHashMap<>();
+
+    private volatile File reportDirectory;
+
+    public void recordStateSetup(String consumer, String state, long nanos) {
+        final long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        record(consumers, consumer, Metric.STATE_SETUP, micros);
+        record(states, state, Metric.STATE_SETUP, micros);
+    }
+
+    public void recordRequest(String consumer, String endpoint, long nanos, long requestBodySize,
+        long responseBodySize) {
+        final long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        record(consumers, consumer, Metric.REQUEST, micros);
+        record(consumers, consumer, Metric.REQUEST_BODY_SIZE, requestBodySize);
+        record(consumers, consumer, Metric.RESPONSE_BODY_SIZE, responseBodySize);
+        record(endpoints, endpoint, Metric.REQUEST, micros);
+        record(endpoints, endpoint, Metric.REQUEST_BODY_SIZE, requestBodySize);
+        record(endpoints, endpoint, Metric.RESPONSE_BODY_SIZE, responseBodySize);
+    }
+
+    public void recordComparison(String consumer, String endpoint, long nanos) {
+        final long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        record(consumers, consumer, Metric.COMPARISON, micros);
+        record(endpoints, endpoint, Metric.COMPARISON, micros);
+    }
+
+    private void record(ConcurrentMap<String, ConcurrentMap<Metric, Histogram>> scope, String key, Metric metric,
+        long value) {
+        scope.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(metric, m -> new Histogram())
+            .recordValue(value);
+    }
+
+    /**
+     * Sets the directory where timing report is written. When no directory is set, no report is written.
+     *
+     * @param reportDirectory
+     *     where verification reports are written
+     */
+    public void setReportDirectory(File reportDirectory) {
+        this.reportDirectory = reportDirectory;
+    }
+
+    /**
+     * Writes timing report as json and as a readable summary into report directory, if any was set and something has
+     * been recorded.
+     */
+    public void writeReport() {
+        final File directory = this.reportDirectory;
+        if (directory == null || (consumers.isEmpty() && states.isEmpty())) {
+            return;
+        }
+
+        try {
+            final TimingReportWriter timingReportWriter = new TimingReportWriter(consumers, endpoints, states);
+            directory.mkdirs();
+            timingReportWriter.writeJson(new File(directory, REPORT_NAME + ".json").toPath());
+            timingReportWriter.writeSummary(new File(directory, REPORT_NAME + ".txt").toPath());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, String.format("Timing report could not be written to %s", directory), e);
+        }
+    }
+
+    /**
+     * @return Method and path of given interaction request, e.g. GET /planets.
+     */
+    public static String endpointOf(RequestResponseInteraction interaction) {
+        final Request request = interaction.getRequest();
+        return request.getMethod() + " " + request.getPath();
+    }
+}
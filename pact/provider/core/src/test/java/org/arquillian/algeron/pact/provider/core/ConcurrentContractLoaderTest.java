@@ -0,0 +1,80 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ConcurrentContractLoaderTest {
+
+    @Test
+    public void should_keep_contracts_order() {
+        final List<URI> contracts = contracts(20);
+
+        final List<String> loaded = ConcurrentContractLoader.load(contracts, uri -> {
+            // Later contracts finish first
+            sleep(20 - Integer.parseInt(uri.getPath().substring(1)));
+            return uri.getPath();
+        }, 4);
+
+        assertThat(loaded).containsExactlyElementsOf(
+            contracts.stream().map(URI::getPath).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void should_load_contracts_concurrently() {
+        final CountDownLatch allStarted = new CountDownLatch(4);
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        ConcurrentContractLoader.load(contracts(4), uri -> {
+            threads.add(Thread.currentThread().getName());
+            allStarted.countDown();
+            try {
+                return allStarted.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }, 4);
+
+        assertThat(threads).hasSize(4).doesNotContain(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void should_report_every_failing_contract() {
+        final List<URI> contracts = contracts(5);
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> ConcurrentContractLoader.load(contracts, uri -> {
+                if (uri.getPath().equals("/1") || uri.getPath().equals("/3")) {
+                    throw new IllegalStateException("broken " + uri.getPath());
+                }
+                return uri;
+            }, 2))
+            .withMessageContaining("2 contract files could not be loaded")
+            .withMessageContaining("http://contracts/1: broken /1")
+            .withMessageContaining("http://contracts/3: broken /3")
+            .satisfies(e -> assertThat(e.getSuppressed()).hasSize(1));
+    }
+
+    private static List<URI> contracts(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> URI.create("http://contracts/" + i))
+            .collect(Collectors.toList());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.Consumer;
+import au.com.dius.pact.model.Pact;
+import au.com.dius.pact.model.PactReader;
+import au.com.dius.pact.model.RequestResponseInteraction;
+import au.com.dius.pact.model.RequestResponsePact;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InteractionGroupsTest {
+
+    @Test
+    public void should_group_identical_interactions_of_different_consumers() {
+        final RequestResponsePact planetsPact = loadPlanetsPact();
+        final RequestResponsePact starshipsPact = copy(planetsPact, new Consumer("starships_consumer"));
+
+        final InteractionGroups interactionGroups = InteractionGroups.of(Arrays.asList(planetsPact, starshipsPact));
+
+        final RequestResponseInteraction planetsInteraction = planetsPact.getInteractions().get(0);
+        final RequestResponseInteraction starshipsInteraction = starshipsPact.getInteractions().get(0);
+
+        assertThat(interactionGroups.countDuplicates()).isEqualTo(2);
+        assertThat(interactionGroups.isDuplicate(planetsInteraction)).isFalse();
+        assertThat(interactionGroups.isDuplicate(starshipsInteraction)).isTrue();
+        assertThat(interactionGroups.getGroup(planetsPact.getConsumer(), planetsInteraction))
+            .containsEntry(new Consumer("planets_consumer"), planetsInteraction)
+            .containsEntry(new Consumer("starships_consumer"), starshipsInteraction)
+            .hasSize(2);
+    }
+
+    @Test
+    public void should_not_group_identical_interactions_of_same_consumer() {
+        final RequestResponsePact planetsPact = loadPlanetsPact();
+        final RequestResponsePact copiedPact = copy(planetsPact, planetsPact.getConsumer());
+
+        final InteractionGroups interactionGroups = InteractionGroups.of(Arrays.asList(planetsPact, copiedPact));
+
+        assertThat(interactionGroups.countDuplicates()).isZero();
+    }
+
+    private RequestResponsePact loadPlanetsPact() {
+        return (RequestResponsePact) PactReader.loadPact(
+            getClass().getResource("/pacts/planets_consumer-planets_provider.json").getFile());
+    }
+
+    private RequestResponsePact copy(Pact pact, Consumer consumer) {
+        final List<RequestResponseInteraction> interactions = ((RequestResponsePact) pact).getInteractions().stream()
+            .map(interaction -> new RequestResponseInteraction(consumer.getName() + " " + interaction.getDescription(),
+                interaction.getProviderStates(), interaction.getRequest(), interaction.getResponse()))
+            .collect(Collectors.toList());
+        return new RequestResponsePact(pact.getProvider(), consumer, interactions);
+    }
+}
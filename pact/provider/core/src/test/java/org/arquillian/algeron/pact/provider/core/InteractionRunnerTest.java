@@ -4,35 +4,62 @@ import au.com.dius.pact.model.Consumer;
 import au.com.dius.pact.model.Pact;
 import au.com.dius.pact.model.ProviderState;
 import au.com.dius.pact.model.RequestResponseInteraction;
+import au.com.dius.pact.model.RequestResponsePact;
+import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 import org.arquillian.algeron.pact.provider.api.Pacts;
+import org.arquillian.algeron.pact.provider.spi.ConcurrentExecutionAwareTarget;
+import org.arquillian.algeron.pact.provider.spi.DeferredReports;
 import org.arquillian.algeron.pact.provider.spi.CurrentConsumer;
 import org.arquillian.algeron.pact.provider.spi.CurrentInteraction;
+import org.arquillian.algeron.pact.provider.spi.LoadReplayAwareTarget;
+import org.arquillian.algeron.pact.provider.spi.PactProviderExecutionAwareTarget;
 import org.arquillian.algeron.pact.provider.spi.Provider;
 import org.arquillian.algeron.pact.provider.spi.State;
 import org.arquillian.algeron.pact.provider.spi.Target;
+import org.arquillian.algeron.pact.provider.spi.WarmUpAwareTarget;
 import org.arquillian.algeron.provider.core.retriever.ContractsFolder;
 import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
 import org.jboss.arquillian.core.spi.EventContext;
 import org.jboss.arquillian.test.api.ArquillianResource;
 import org.jboss.arquillian.test.spi.TestClass;
+import org.jboss.arquillian.test.spi.TestResult;
 import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 @RunWith(MockitoJUnitRunner.class)
 public class InteractionRunnerTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Mock
     private EventContext<org.jboss.arquillian.test.spi.event.suite.Test> eventContext;
 
@@ -77,6 +104,27 @@ public class InteractionRunnerTest {
         verify(eventContext, times(2)).proceed();
     }
 
+    @Test
+    public void should_execute_test_for_each_interaction_of_lazily_loaded_pacts() {
+        when(test.getTestClass()).thenReturn(new TestClass(PactProvider.class));
+        PactProvider pactDefinition = new PactProvider();
+        when(test.getTestInstance()).thenReturn(pactDefinition);
+
+        final PactsRetriever pactsRetriever = new PactsRetriever();
+        pactsRetriever.algeronProviderConfigurationInstance = algeronConfiguration;
+        final LazyPacts lazyPacts = pactsRetriever.getLazyPacts(new BeforeClass(PactProvider.class));
+
+        InteractionRunner interactionRunner = new InteractionRunner();
+        interactionRunner.pactsInstance = () -> lazyPacts;
+        interactionRunner.targetInstance = () -> target;
+        interactionRunner.executePacts(eventContext);
+
+        assertThat(pactDefinition.consumer).isEqualTo(new Consumer("planets_consumer"));
+        assertThat(pactDefinition.interaction).isNotNull();
+
+        verify(eventContext, times(2)).proceed();
+    }
+
     @Test
     public void should_throw_exception_when_no_target() {
         when(test.getTestClass()).thenReturn(new TestClass(PactProviderWithNoTarget.class));
@@ -92,6 +140,319 @@ public class InteractionRunnerTest {
                 "Field annotated with org.jboss.arquillian.test.api.ArquillianResource should implement org.arquillian.algeron.pact.provider.spi.Target and didn't found any");
     }
 
+    @Test
+    public void should_verify_interactions_concurrently_in_parallel_mode() {
+        when(test.getTestClass()).thenReturn(new TestClass(PactProvider.class));
+        when(test.getTestInstance()).thenReturn(new PactProvider());
+
+        final ConcurrentTarget concurrentTarget = new ConcurrentTarget(false);
+        doAnswer(invocation -> {
+            concurrentTarget.testInteraction();
+            return null;
+        }).when(eventContext).proceed();
+
+        InteractionRunner interactionRunner = new InteractionRunner();
+        interactionRunner.pactsInstance = pactsInstance;
+        interactionRunner.targetInstance = () -> concurrentTarget;
+        interactionRunner.pactProviderConfigurationInstance = () -> parallelConfiguration();
+        interactionRunner.executePacts(eventContext);
+
+        assertThat(concurrentTarget.verifiedInteractions)
+            .containsOnly("Planets average calculation", "Planets with biggest orbital period");
+        assertThat(concurrentTarget.verificationThreads)
+            .doesNotContain(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void should_verify_interactions_concurrently_in_virtual_threads_mode() {
+        when(test.getTestClass()).thenReturn(new TestClass(PactProvider.class));
+        when(test.getTestInstance()).thenReturn(new PactProvider());
+
+        final ConcurrentTarget concurrentTarget = new ConcurrentTarget(false);
+        doAnswer(invocation -> {
+            concurrentTarget.testInteraction();
+            return null;
+        }).when(eventContext).proceed();
+
+        final Map<String, String> configuration = new HashMap<>();
+        configuration.put("parallel", "true");
+        configuration.put("virtualThreads", "true");
+        configuration.put("maxConcurrentInteractions", "1");
+
+        InteractionRunner interactionRunner = new InteractionRunner();
+        interactionRunner.pactsInstance = pactsInstance;
+        interactionRunner.targetInstance = () -> concurrentTarget;
+        interactionRunner.pactProviderConfigurationInstance = () -> PactProviderConfiguration.fromMap(configuration);
+        interactionRunner.executePacts(eventContext);
+
+        assertThat(concurrentTarget.verifiedInteractions)
+            .containsOnly("Planets average calculation", "Planets with biggest orbital period");
+        assertThat(concurrentTarget.verificationThreads)
+            .doesNotContain(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void should_finalise_reports_of_concurrent_verifications_in_test_thread() {
+        when(test.getTestClass()).thenReturn(new TestClass(PactProvider.class));
+        when(test.getTestInstance()).thenReturn(new PactProvider());
+
+        final ConcurrentTarget concurrentTarget = new ConcurrentTarget(true);
+        doAnswer(invocation -> {
+            concurrentTarget.testInteraction();
+            return null;
+        }).when(eventContext).proceed();
+
+        InteractionRunner interactionRunner = new InteractionRunner();
+        interactionRunner.pactsInstance = pactsInstance;
+        interactionRunner.targetInstance = () -> concurrentTarget;
+        interactionRunner.pactProviderConfigurationInstance = () -> parallelConfiguration();
+
+        assertThatExceptionOfType(AssertionError.class)
+            .isThrownBy(() -> interactionRunner.executePacts(eventContext));
+
+        assertThat(concurrentTarget.finalisedReports)
+            .containsOnly("Planets average calculation", "Planets with biggest orbital period");
+        assertThat(concurrentTarget.reportThreads)
+            .containsOnly(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void should_report_failures_per_interaction_in_parallel_mode() {
+        when(test.getTestClass()).thenReturn(new TestClass(PactProvider.class));
+        when(test.getTestInstance()).thenReturn(new PactProvider());
+
+        final ConcurrentTarget concurrentTarget = new ConcurrentTarget(true);
+        doAnswer(invocation -> {
+            concurrentTarget.testInteraction();
+            return null;
+        }).when(eventContext).proceed();
+
+        InteractionRunner interactionRunner = new InteractionRunner();
+        interactionRunner.pactsInstance = pactsInstance;
+        interactionRunner.targetInstance = () -> concurrentTarget;
+        interactionRunner.pactProviderConfigurationInstance = () -> parallelConfiguration();
+
+        assertThatExceptionOfType(AssertionError.class)
+            .isThrownBy(() -> interactionRunner.executePacts(eventContext))
+            .withMessageContaining("planets_consumer - Planets average calculation: Status mismatch")
+            .withMessageContaining("planets_consumer - Planets with biggest orbital period: Status mismatch");
+    }
+
+    @Test
+    public void should_skip_interactions_already_verified_against_same_provider() throws Exception {
+        when(test.getTestClass()).thenReturn(new TestClass(PactProvider.class));
+        when(test.getTestInstance()).thenReturn(new PactProvider());
+        when(test.getTestMethod()).thenReturn(PactProvider.class.getMethod("verifyPlanets"));
+
+        final String cacheDir = temporaryFolder.newFolder().getAbsolutePath();
+
+        verifyWithCache(cacheDir, "1.0.0", false);
+        verifyWithCache(cacheDir, "1.0.0", false);
+        verify(eventContext, times(2)).proceed();
+
+        verifyWithCache(cacheDir, "1.0.1", false);
+        verify(eventContext, times(4)).proceed();
+    }
+
+    @Test
+    public void should_verify_all_interactions_when_full_verification_is_forced() throws Exception {
+        when(test.getTestClass()).thenReturn(new TestClass(PactProvider.class));
+        when(test.getTestInstance()).thenReturn(new PactProvider());
+        when(test.getTestMethod()).thenReturn(PactProvider.class.getMethod("verifyPlanets"));
+
+        final String cacheDir = temporaryFolder.newFolder().getAbsolutePath();
+
+        verifyWithCache(cacheDir, "1.0.0", false);
+        verifyWithCache(cacheDir, "1.0.0", true);
+        verify(eventContext, times(4)).proceed();
+    }
+
+    @Test
+    public void should_not_skip_interactions_verified_by_another_test_method() throws Exception {
+        when(test.getTestClass()).thenReturn(new TestClass(PactProvider.class));
+        when(test.getTestInstance()).thenReturn(new PactProvider());
+        when(test.getTestMethod()).thenReturn(PactProvider.class.getMethod("verifyPlanets"),
+            PactProvider.class.getMethod("verifyPlanetsAgain"));
+
+        final String cacheDir = temporaryFolder.newFolder().getAbsolutePath();
+
+        verifyWithCache(cacheDir, "1.0.0", false);
+        verifyWithCache(cacheDir, "1.0.0", false);
+        verify(eventContext, times(4)).proceed();
+    }
+
+    @Test
+    public void should_not_skip_interactions_whose_test_result_is_unknown() throws Exception {
+        when(test.getTestClass()).thenReturn(new TestClass(PactProvider.class));
+        when(test.getTestInstance()).thenReturn(new PactProvider());
+        when(test.getTestMethod()).thenReturn(PactProvider.class.getMethod("verifyPlanets"));
+
+        final String cacheDir = temporaryFolder.newFolder().getAbsolutePath();
+
+        verifyWithCache(cacheDir, "1.0.0", false, () -> null);
+        verifyWithCache(cacheDir, "1.0.0", false);
+        verify(eventContext, times(4)).proceed();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_index_states_of_provider_classes() {
+        InteractionRunner interactionRunner = new InteractionRunner();
+        interactionRunner.pactsInstance = () -> null;
+        interactionRunner.stateDispatchIndexInstanceProducer = mock(InstanceProducer.class);
+
+        interactionRunner.indexStates(new BeforeClass(PactProvider.class));
+
+        verify(interactionRunner.stateDispatchIndexInstanceProducer).set(any(StateDispatchIndex.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_not_index_states_of_classes_without_provider_nor_pacts() {
+        InteractionRunner interactionRunner = new InteractionRunner();
+        interactionRunner.pactsInstance = () -> null;
+        interactionRunner.stateDispatchIndexInstanceProducer = mock(InstanceProducer.class);
+
+        interactionRunner.indexStates(new BeforeClass(InteractionRunnerTest.class));
+
+        verify(interactionRunner.stateDispatchIndexInstanceProducer, never()).set(any(StateDispatchIndex.class));
+    }
+
+    @Test
+    public void should_verify_identical_interactions_of_different_consumers_once() {
+        when(test.getTestClass()).thenReturn(new TestClass(PactProvider.class));
+        when(test.getTestInstance()).thenReturn(new PactProvider());
+
+        final RequestResponsePact planetsPact = (RequestResponsePact) pactsInstance.get().getPacts().get(0);
+        final RequestResponsePact starshipsPact = new RequestResponsePact(planetsPact.getProvider(),
+            new Consumer("starships_consumer"), planetsPact.getInteractions().stream()
+            .map(interaction -> new RequestResponseInteraction("starships " + interaction.getDescription(),
+                interaction.getProviderStates(), interaction.getRequest(), interaction.getResponse()))
+            .collect(Collectors.toList()));
+        final List<Pact> pacts = Arrays.asList(planetsPact, starshipsPact);
+
+        InteractionRunner interactionRunner = new InteractionRunner();
+        interactionRunner.pactsInstance = () -> new Pacts(pacts);
+        interactionRunner.targetInstance = () -> target;
+        interactionRunner.interactionGroupsInstance = () -> InteractionGroups.of(pacts);
+        interactionRunner.executePacts(eventContext);
+
+        verify(eventContext, times(2)).proceed();
+    }
+
+    @Test
+    public void should_set_up_idempotent_states_once_for_consecutive_interactions() {
+        when(test.getTestClass()).thenReturn(new TestClass(PactProviderWithIdempotentState.class));
+        PactProviderWithIdempotentState pactDefinition = new PactProviderWithIdempotentState();
+        when(test.getTestInstance()).thenReturn(pactDefinition);
+
+        InteractionRunner interactionRunner = new InteractionRunner();
+        interactionRunner.pactsInstance = pactsInstance;
+        interactionRunner.targetInstance = () -> target;
+        interactionRunner.executePacts(eventContext);
+
+        assertThat(pactDefinition.stateSetUps).isEqualTo(1);
+        verify(eventContext, times(2)).proceed();
+    }
+
+    @Test
+    public void should_replay_interactions_with_same_states_together_in_load_replay_mode() {
+        when(test.getTestClass()).thenReturn(new TestClass(PactProviderWithIdempotentState.class));
+        PactProviderWithIdempotentState pactDefinition = new PactProviderWithIdempotentState();
+        when(test.getTestInstance()).thenReturn(pactDefinition);
+
+        final Target loadReplayTarget = mock(Target.class, withSettings().extraInterfaces(LoadReplayAwareTarget.class));
+        final Map<String, String> configuration = new HashMap<>();
+        configuration.put("loadReplay", "true");
+
+        InteractionRunner interactionRunner = new InteractionRunner();
+        interactionRunner.pactsInstance = pactsInstance;
+        interactionRunner.targetInstance = () -> loadReplayTarget;
+        interactionRunner.pactProviderConfigurationInstance = () -> PactProviderConfiguration.fromMap(configuration);
+        interactionRunner.executePacts(eventContext);
+
+        final ArgumentCaptor<Map<Consumer, List<RequestResponseInteraction>>> loadReplayInteractions =
+            ArgumentCaptor.forClass(Map.class);
+        verify((LoadReplayAwareTarget) loadReplayTarget).setLoadReplayInteractions(loadReplayInteractions.capture());
+        assertThat(loadReplayInteractions.getValue().get(new Consumer("planets_consumer")))
+            .extracting(RequestResponseInteraction::getDescription)
+            .containsExactly("Planets average calculation", "Planets with biggest orbital period");
+        assertThat(pactDefinition.stateSetUps).isEqualTo(1);
+        verify(eventContext, times(1)).proceed();
+    }
+
+    @Test
+    public void should_warm_up_deployed_provider_once_before_verification() {
+        when(test.getTestClass()).thenReturn(new TestClass(PactProvider.class));
+        when(test.getTestInstance()).thenReturn(new PactProvider());
+
+        final Target warmUpTarget = mock(Target.class, withSettings().extraInterfaces(WarmUpAwareTarget.class));
+        final ProviderDeployment providerDeployment = new ProviderDeployment();
+
+        InteractionRunner interactionRunner = new InteractionRunner();
+        interactionRunner.pactsInstance = pactsInstance;
+        interactionRunner.targetInstance = () -> warmUpTarget;
+        interactionRunner.providerDeploymentInstance = () -> providerDeployment;
+        interactionRunner.pactProviderConfigurationInstance = () -> warmUpConfiguration();
+        interactionRunner.executePacts(eventContext);
+        interactionRunner.executePacts(eventContext);
+
+        assertThat(providerDeployment.isWarmedUp()).isTrue();
+        verify((WarmUpAwareTarget) warmUpTarget, times(2)).setWarmUpIterations(3);
+        verify(eventContext, times(6)).proceed();
+    }
+
+    @Test
+    public void should_skip_warm_up_when_provider_is_not_deployed() {
+        when(test.getTestClass()).thenReturn(new TestClass(PactProvider.class));
+        when(test.getTestInstance()).thenReturn(new PactProvider());
+
+        final Target warmUpTarget = mock(Target.class, withSettings().extraInterfaces(WarmUpAwareTarget.class));
+
+        InteractionRunner interactionRunner = new InteractionRunner();
+        interactionRunner.pactsInstance = pactsInstance;
+        interactionRunner.targetInstance = () -> warmUpTarget;
+        interactionRunner.providerDeploymentInstance = () -> null;
+        interactionRunner.pactProviderConfigurationInstance = () -> warmUpConfiguration();
+        interactionRunner.executePacts(eventContext);
+
+        verify((WarmUpAwareTarget) warmUpTarget, never()).setWarmUpIterations(3);
+        verify(eventContext, times(2)).proceed();
+    }
+
+    private PactProviderConfiguration warmUpConfiguration() {
+        final Map<String, String> configuration = new HashMap<>();
+        configuration.put("warmUpIterations", "3");
+        return PactProviderConfiguration.fromMap(configuration);
+    }
+
+    private void verifyWithCache(String cacheDir, String providerVersion, boolean force) {
+        verifyWithCache(cacheDir, providerVersion, force, TestResult::passed);
+    }
+
+    private void verifyWithCache(String cacheDir, String providerVersion, boolean force,
+        Instance<TestResult> testResultInstance) {
+        final Map<String, String> configuration = new HashMap<>();
+        configuration.put("verificationCache", "true");
+        configuration.put("verificationCacheDir", cacheDir);
+        configuration.put("providerVersion", providerVersion);
+        configuration.put("forceFullVerification", Boolean.toString(force));
+
+        InteractionRunner interactionRunner = new InteractionRunner();
+        interactionRunner.pactsInstance = pactsInstance;
+        interactionRunner.targetInstance = () -> target;
+        interactionRunner.testResultInstance = testResultInstance;
+        interactionRunner.pactProviderConfigurationInstance = () -> PactProviderConfiguration.fromMap(configuration);
+        interactionRunner.executePacts(eventContext);
+    }
+
+    private PactProviderConfiguration parallelConfiguration() {
+        final Map<String, String> configuration = new HashMap<>();
+        configuration.put("parallel", "true");
+        configuration.put("parallelThreads", "2");
+        return PactProviderConfiguration.fromMap(configuration);
+    }
+
     @org.junit.Test
     public void should_execute_states_with_regular_expression_syntax_for_simple_types() {
 
@@ -153,6 +514,27 @@ public class InteractionRunnerTest {
 
         @ArquillianResource
         Target target;
+
+        public void verifyPlanets() {
+        }
+
+        public void verifyPlanetsAgain() {
+        }
+    }
+
+    @Provider("planets_provider")
+    @ContractsFolder("pacts")
+    public static class PactProviderWithIdempotentState {
+
+        int stateSetUps = 0;
+
+        @ArquillianResource
+        Target target;
+
+        @State(value = "planets aggregator", idempotent = true)
+        public void planetsAggregator() {
+            stateSetUps++;
+        }
     }
 
     @Provider("planets_provider")
@@ -204,4 +586,80 @@ public class InteractionRunnerTest {
             return animals;
         }
     }
+
+    public static class ConcurrentTarget implements Target, PactProviderExecutionAwareTarget,
+        ConcurrentExecutionAwareTarget {
+
+        private final boolean failing;
+
+        private RequestResponseInteraction interaction;
+        private Executor executor;
+
+        final Set<String> verifiedInteractions = ConcurrentHashMap.newKeySet();
+        final Set<String> verificationThreads = ConcurrentHashMap.newKeySet();
+        final Set<String> finalisedReports = ConcurrentHashMap.newKeySet();
+        final Set<String> reportThreads = ConcurrentHashMap.newKeySet();
+
+        ConcurrentTarget(boolean failing) {
+            this.failing = failing;
+        }
+
+        @Override
+        public void testInteraction() {
+            testInteraction("", interaction);
+        }
+
+        @Override
+        public void testInteraction(URL url) {
+            testInteraction();
+        }
+
+        @Override
+        public void testInteraction(URL url, String consumer, RequestResponseInteraction interaction) {
+            testInteraction(consumer, interaction);
+        }
+
+        @Override
+        public void testInteraction(String consumer, RequestResponseInteraction interaction) {
+            executor.execute(new Verification(interaction));
+        }
+
+        private class Verification implements Runnable, DeferredReports {
+
+            private final RequestResponseInteraction interaction;
+
+            Verification(RequestResponseInteraction interaction) {
+                this.interaction = interaction;
+            }
+
+            @Override
+            public void run() {
+                verificationThreads.add(Thread.currentThread().getName());
+                verifiedInteractions.add(interaction.getDescription());
+                if (failing) {
+                    throw new AssertionError("Status mismatch");
+                }
+            }
+
+            @Override
+            public void finaliseReports() {
+                reportThreads.add(Thread.currentThread().getName());
+                finalisedReports.add(interaction.getDescription());
+            }
+        }
+
+        @Override
+        public void setConsumer(Consumer consumer) {
+        }
+
+        @Override
+        public void setRequestResponseInteraction(RequestResponseInteraction requestResponseInteraction) {
+            this.interaction = requestResponseInteraction;
+        }
+
+        @Override
+        public void setExecutor(Executor executor) {
+            this.executor = executor;
+        }
+    }
 }
@@ -0,0 +1,95 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.Consumer;
+import au.com.dius.pact.model.Pact;
+import au.com.dius.pact.model.Provider;
+import au.com.dius.pact.model.ProviderState;
+import au.com.dius.pact.model.RequestResponseInteraction;
+import au.com.dius.pact.model.RequestResponsePact;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InteractionSchedulerTest {
+
+    @Test
+    public void should_group_interactions_with_same_provider_states() {
+        final ProviderState hoth = new ProviderState("planet exists", Collections.singletonMap("name", "Hoth"));
+        final ProviderState dagobah = new ProviderState("planet exists", Collections.singletonMap("name", "Dagobah"));
+
+        final List<Pact> pacts = Arrays.asList(
+            pact("planets_consumer",
+                interaction("planets", new ProviderState("planets exist")),
+                interaction("moons", new ProviderState("moons exist")),
+                interaction("hoth", hoth)),
+            pact("starships_consumer",
+                interaction("starships", new ProviderState("starships exist")),
+                interaction("dagobah", dagobah),
+                interaction("biggest planets", new ProviderState("planets exist")),
+                interaction("hoth moons", hoth)));
+
+        final List<String> schedule = InteractionScheduler.byProviderStates(pacts).stream()
+            .map(scheduledInteraction -> scheduledInteraction.getInteraction().getDescription())
+            .collect(Collectors.toList());
+
+        assertThat(schedule)
+            .containsExactly("planets", "biggest planets", "moons", "hoth", "hoth moons", "starships", "dagobah");
+    }
+
+    @Test
+    public void should_keep_pacts_order_by_default() {
+        final List<Pact> pacts = Arrays.asList(
+            pact("planets_consumer",
+                interaction("planets", new ProviderState("planets exist")),
+                interaction("moons", new ProviderState("moons exist"))),
+            pact("starships_consumer",
+                interaction("biggest planets", new ProviderState("planets exist"))));
+
+        final List<String> schedule = InteractionScheduler.inPactsOrder(pacts).stream()
+            .map(scheduledInteraction -> scheduledInteraction.getInteraction().getDescription())
+            .collect(Collectors.toList());
+
+        assertThat(schedule).containsExactly("planets", "moons", "biggest planets");
+    }
+
+    @Test
+    public void should_verify_each_interaction_in_exactly_one_shard() {
+        final List<Pact> pacts = Arrays.asList(
+            pact("planets_consumer",
+                interaction("planets", new ProviderState("planets exist")),
+                interaction("moons", new ProviderState("moons exist")),
+                interaction("stars", new ProviderState("stars exist"))),
+            pact("starships_consumer",
+                interaction("planets", new ProviderState("planets exist")),
+                interaction("starships", new ProviderState("starships exist"))));
+
+        final List<ScheduledInteraction> scheduledInteractions = InteractionScheduler.inPactsOrder(pacts);
+        final List<ScheduledInteraction> reversedInteractions = new ArrayList<>(scheduledInteractions);
+        Collections.reverse(reversedInteractions);
+
+        final List<ScheduledInteraction> shardedInteractions = new ArrayList<>();
+        for (int shardIndex = 0; shardIndex < 3; shardIndex++) {
+            final List<ScheduledInteraction> shard = InteractionScheduler.shard(scheduledInteractions, shardIndex, 3);
+
+            assertThat(InteractionScheduler.shard(reversedInteractions, shardIndex, 3))
+                .containsExactlyInAnyOrderElementsOf(shard);
+            shardedInteractions.addAll(shard);
+        }
+
+        assertThat(shardedInteractions).containsExactlyInAnyOrderElementsOf(scheduledInteractions);
+    }
+
+    private static Pact pact(String consumer, RequestResponseInteraction... interactions) {
+        return new RequestResponsePact(new Provider("planets_provider"), new Consumer(consumer),
+            Arrays.asList(interactions));
+    }
+
+    private static RequestResponseInteraction interaction(String description, ProviderState providerState) {
+        return new RequestResponseInteraction(description, Collections.singletonList(providerState));
+    }
+}
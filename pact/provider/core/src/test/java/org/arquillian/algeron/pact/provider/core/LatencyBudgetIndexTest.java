@@ -0,0 +1,105 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.Consumer;
+import au.com.dius.pact.model.PactReader;
+import au.com.dius.pact.model.RequestResponsePact;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.arquillian.algeron.pact.provider.spi.LatencyBudget;
+import org.arquillian.algeron.pact.provider.spi.Provider;
+import org.jboss.arquillian.test.spi.TestClass;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class LatencyBudgetIndexTest {
+
+    @Test
+    public void should_find_budgets_declared_by_provider() {
+        final RequestResponsePact pact = loadPlanetsPact(Collections.emptyMap());
+
+        final LatencyBudgetIndex latencyBudgetIndex =
+            LatencyBudgetIndex.of(new TestClass(PactProviderWithLatencyBudgets.class), Collections.singletonList(pact));
+
+        final Optional<LatencyBudgetIndex.Budget> averageBudget =
+            latencyBudgetIndex.find(pact.getConsumer(), pact.getInteractions().get(0));
+        assertThat(averageBudget).isPresent();
+        assertThat(averageBudget.get().getMillis()).isEqualTo(100);
+        assertThat(averageBudget.get().getPercentile()).isEqualTo(99.0);
+        assertThat(averageBudget.get().getReplays()).isEqualTo(10);
+
+        final Optional<LatencyBudgetIndex.Budget> biggestBudget =
+            latencyBudgetIndex.find(pact.getConsumer(), pact.getInteractions().get(1));
+        assertThat(biggestBudget).isPresent();
+        assertThat(biggestBudget.get().getMillis()).isEqualTo(500);
+        assertThat(biggestBudget.get().getPercentile()).isEqualTo(95.0);
+        assertThat(biggestBudget.get().getReplays()).isEqualTo(20);
+    }
+
+    @Test
+    public void should_prefer_budgets_declared_by_consumer() {
+        final Map<String, Object> budget = new HashMap<>();
+        budget.put("interaction", "Planets with biggest orbital period");
+        budget.put("millis", 150);
+        budget.put("percentile", "90");
+        final RequestResponsePact pact = loadPlanetsPact(
+            Collections.singletonMap("latencyBudgets", Collections.singletonList(budget)));
+
+        final LatencyBudgetIndex latencyBudgetIndex =
+            LatencyBudgetIndex.of(new TestClass(PactProviderWithLatencyBudgets.class), Collections.singletonList(pact));
+
+        final Optional<LatencyBudgetIndex.Budget> biggestBudget =
+            latencyBudgetIndex.find(pact.getConsumer(), pact.getInteractions().get(1));
+        assertThat(biggestBudget).isPresent();
+        assertThat(biggestBudget.get().getMillis()).isEqualTo(150);
+        assertThat(biggestBudget.get().getPercentile()).isEqualTo(90.0);
+
+        assertThat(latencyBudgetIndex.find(new Consumer("starships_consumer"), pact.getInteractions().get(1))
+            .map(LatencyBudgetIndex.Budget::getMillis))
+            .contains(500L);
+    }
+
+    @Test
+    public void should_find_budgets_declared_in_pact_file_metadata() throws Exception {
+        final RequestResponsePact pact = (RequestResponsePact) PactFileReader.loadPact(
+            getClass().getResource("/latency-budgets/planets_consumer-planets_provider.json").toURI());
+
+        final LatencyBudgetIndex latencyBudgetIndex =
+            LatencyBudgetIndex.of(new TestClass(PactProvider.class), Collections.singletonList(pact));
+
+        assertThat(latencyBudgetIndex.find(pact.getConsumer(), pact.getInteractions().get(0))
+            .map(LatencyBudgetIndex.Budget::getMillis))
+            .contains(150L);
+        assertThat(latencyBudgetIndex.find(pact.getConsumer(), pact.getInteractions().get(1))).isEmpty();
+    }
+
+    @Test
+    public void should_fail_when_consumer_budget_has_no_latency() {
+        final RequestResponsePact pact = loadPlanetsPact(Collections.singletonMap("latencyBudgets",
+            Collections.singletonList(Collections.singletonMap("percentile", 95))));
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> LatencyBudgetIndex.of(new TestClass(PactProvider.class), Collections.singletonList(pact)))
+            .withMessageContaining("millis");
+    }
+
+    private RequestResponsePact loadPlanetsPact(Map<String, ?> metadata) {
+        final RequestResponsePact pact = (RequestResponsePact) PactReader.loadPact(
+            getClass().getResource("/pacts/planets_consumer-planets_provider.json").getFile());
+        final Map<String, Object> pactMetadata = new HashMap<>(metadata);
+        return new RequestResponsePact(pact.getProvider(), pact.getConsumer(), pact.getInteractions(), pactMetadata);
+    }
+
+    @Provider("planets_provider")
+    @LatencyBudget(value = 100, percentile = 99, replays = 10, interaction = "Planets average.*")
+    @LatencyBudget(500)
+    public static class PactProviderWithLatencyBudgets {
+    }
+
+    @Provider("planets_provider")
+    public static class PactProvider {
+    }
+}
@@ -21,6 +21,8 @@ import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -85,6 +87,104 @@ public class PactsRetrieverTest {
             .hasFieldOrPropertyWithValue("consumer", new Consumer("planets_consumer"));
     }
 
+    @Test
+    public void should_only_describe_pacts_when_lazy_loading() {
+
+        // Given
+        final PactsRetriever pactsRetriever = new PactsRetriever();
+        pactsRetriever.pactsInstanceProducer = instanceProducer;
+        pactsRetriever.algeronProviderConfigurationInstance = instance;
+        pactsRetriever.pactProviderConfigurationInstance = () -> lazyConfiguration();
+
+        // When
+        pactsRetriever.retrievePacts(new BeforeClass(PactDefinition.class));
+
+        // Then
+        verify(instanceProducer).set(argumentCaptor.capture());
+        final LazyPacts lazyPacts = (LazyPacts) argumentCaptor.getValue();
+        assertThat(lazyPacts.getDescriptors()).hasSize(1).element(0)
+            .hasFieldOrPropertyWithValue("provider", "planets_provider")
+            .hasFieldOrPropertyWithValue("consumer", "planets_consumer");
+        assertThat(lazyPacts.load(lazyPacts.getDescriptors().get(0)).getInteractions()).hasSize(2);
+    }
+
+    @Test
+    public void should_not_describe_pacts_of_other_consumers_when_lazy_loading() {
+
+        // Given
+        final PactsRetriever pactsRetriever = new PactsRetriever();
+        pactsRetriever.pactsInstanceProducer = instanceProducer;
+        pactsRetriever.algeronProviderConfigurationInstance = instance;
+        pactsRetriever.pactProviderConfigurationInstance = () -> lazyConfiguration();
+
+        // When
+        pactsRetriever.retrievePacts(new BeforeClass(OtherConsumerPactDefinition.class));
+
+        // Then
+        verify(instanceProducer, never()).set(any());
+    }
+
+    @Test
+    public void should_reuse_pacts_parsed_by_test_classes_with_same_contracts_source() {
+
+        // Given
+        final PactsRetriever pactsRetriever = new PactsRetriever();
+        pactsRetriever.algeronProviderConfigurationInstance = instance;
+        pactsRetriever.pactsCacheInstanceProducer = new SimpleInstanceProducer<>();
+
+        // When
+        final List<Pact> pacts = pactsRetriever.getPacts(new BeforeClass(PactDefinition.class));
+        final List<Pact> samePacts = pactsRetriever.getPacts(new BeforeClass(SameSourcePactDefinition.class));
+        final List<Pact> otherConsumerPacts =
+            pactsRetriever.getPacts(new BeforeClass(OtherConsumerPactDefinition.class));
+
+        // Then
+        assertThat(pacts).hasSize(1);
+        assertThat(samePacts).hasSize(1);
+        assertThat(samePacts.get(0)).isSameAs(pacts.get(0));
+        assertThat(otherConsumerPacts).isEmpty();
+    }
+
+    @Test
+    public void should_not_share_pacts_of_different_contracts_sources() {
+
+        // Given
+        final PactsRetriever pactsRetriever = new PactsRetriever();
+        pactsRetriever.algeronProviderConfigurationInstance = instance;
+        pactsRetriever.pactsCacheInstanceProducer = new SimpleInstanceProducer<>();
+
+        // When
+        final List<Pact> pacts = pactsRetriever.getPacts(new BeforeClass(PactDefinition.class));
+        final List<Pact> otherSourcePacts =
+            pactsRetriever.getPacts(new BeforeClass(OtherSourcePactDefinition.class));
+
+        // Then
+        assertThat(otherSourcePacts).hasSize(1);
+        assertThat(otherSourcePacts.get(0)).isNotSameAs(pacts.get(0));
+    }
+
+    @Test
+    public void should_skip_pacts_of_other_providers_and_consumers_without_parsing_them() {
+
+        // Given
+        final PactsRetriever pactsRetriever = new PactsRetriever();
+        pactsRetriever.algeronProviderConfigurationInstance = instance;
+
+        // When
+        final List<Pact> pacts = pactsRetriever.getPacts(new BeforeClass(MixedPactsDefinition.class));
+
+        // Then
+        assertThat(pacts).hasSize(1).element(0)
+            .hasFieldOrPropertyWithValue("provider", new au.com.dius.pact.model.Provider("planets_provider"))
+            .hasFieldOrPropertyWithValue("consumer", new Consumer("planets_consumer"));
+    }
+
+    private PactProviderConfiguration lazyConfiguration() {
+        final Map<String, String> configuration = new HashMap<>();
+        configuration.put("lazyPactLoading", "true");
+        return PactProviderConfiguration.fromMap(configuration);
+    }
+
     @Provider("planets_provider")
     @ContractsFolder("pacts")
     public static class PactDefinition {
@@ -94,4 +194,40 @@ public class PactsRetrieverTest {
     @Provider("planets_provider")
     public static class NonePactDefinition {
     }
+
+    @Provider("planets_provider")
+    @ContractsFolder("pacts")
+    public static class SameSourcePactDefinition {
+    }
+
+    @Provider("planets_provider")
+    @ContractsFolder("latency-budgets")
+    public static class OtherSourcePactDefinition {
+    }
+
+    @Provider("planets_provider")
+    @org.arquillian.algeron.pact.provider.spi.Consumer("planets_consumer")
+    @ContractsFolder("mixed-pacts")
+    public static class MixedPactsDefinition {
+    }
+
+    private static class SimpleInstanceProducer<T> implements InstanceProducer<T> {
+        private T value;
+
+        @Override
+        public void set(T value) {
+            this.value = value;
+        }
+
+        @Override
+        public T get() {
+            return value;
+        }
+    }
+
+    @Provider("planets_provider")
+    @org.arquillian.algeron.pact.provider.spi.Consumer("other_consumer")
+    @ContractsFolder("pacts")
+    public static class OtherConsumerPactDefinition {
+    }
 }
@@ -0,0 +1,139 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.BasePact;
+import au.com.dius.pact.model.Pact;
+import au.com.dius.pact.model.RequestResponsePact;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParsedPactCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_read_stored_document() throws IOException {
+        final ParsedPactCache parsedPactCache = new ParsedPactCache(temporaryFolder.newFolder().toPath());
+        final Path pactFile = temporaryFolder.newFile("pact.json").toPath();
+        final byte[] content = "{}".getBytes(StandardCharsets.UTF_8);
+        Files.write(pactFile, content);
+
+        final Map<String, Object> planet = new LinkedHashMap<>();
+        planet.put("name", "Bespin");
+        planet.put("period", 5110);
+        planet.put("gravity", new BigDecimal("1.5"));
+        planet.put("population", 6000000000L);
+        planet.put("inhabited", true);
+        planet.put("moons", null);
+        final Map<String, Object> document = new LinkedHashMap<>();
+        document.put("planets", Arrays.asList(planet, planet));
+        document.put("name", "name");
+
+        parsedPactCache.write(pactFile, attributesOf(pactFile), document);
+
+        assertThat(parsedPactCache.read(pactFile, attributesOf(pactFile))).isEqualTo(document);
+    }
+
+    @Test
+    public void should_ignore_stored_document_when_pact_file_changes() throws IOException {
+        final ParsedPactCache parsedPactCache = new ParsedPactCache(temporaryFolder.newFolder().toPath());
+        final Path pactFile = temporaryFolder.newFile("pact.json").toPath();
+        Files.write(pactFile, "{\"a\": 1}".getBytes(StandardCharsets.UTF_8));
+
+        parsedPactCache.write(pactFile, attributesOf(pactFile), new LinkedHashMap<>());
+
+        // Same size, only modification time tells the file changed
+        final FileTime lastModifiedTime = Files.getLastModifiedTime(pactFile);
+        Files.write(pactFile, "{\"a\": 2}".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(pactFile, FileTime.fromMillis(lastModifiedTime.toMillis() + 1000));
+
+        assertThat(parsedPactCache.read(pactFile, attributesOf(pactFile))).isNull();
+    }
+
+    @Test
+    public void should_ignore_stored_document_when_pact_file_size_changes() throws IOException {
+        final ParsedPactCache parsedPactCache = new ParsedPactCache(temporaryFolder.newFolder().toPath());
+        final Path pactFile = temporaryFolder.newFile("pact.json").toPath();
+        Files.write(pactFile, "{\"a\": 1}".getBytes(StandardCharsets.UTF_8));
+
+        parsedPactCache.write(pactFile, attributesOf(pactFile), new LinkedHashMap<>());
+
+        final FileTime lastModifiedTime = Files.getLastModifiedTime(pactFile);
+        Files.write(pactFile, "{\"a\": 10}".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(pactFile, lastModifiedTime);
+
+        assertThat(parsedPactCache.read(pactFile, attributesOf(pactFile))).isNull();
+    }
+
+    @Test
+    public void should_ignore_corrupted_entries() throws IOException {
+        final ParsedPactCache parsedPactCache = new ParsedPactCache(temporaryFolder.newFolder().toPath());
+        final Path pactFile = temporaryFolder.newFile("pact.json").toPath();
+        Files.write(pactFile, "{}".getBytes(StandardCharsets.UTF_8));
+
+        parsedPactCache.write(pactFile, attributesOf(pactFile), new LinkedHashMap<>());
+        Files.write(parsedPactCache.entryOf(pactFile), new byte[] {1, 2, 3});
+
+        assertThat(parsedPactCache.read(pactFile, attributesOf(pactFile))).isNull();
+    }
+
+    @Test
+    public void should_ignore_entries_with_corrupted_lengths() throws IOException {
+        final ParsedPactCache parsedPactCache = new ParsedPactCache(temporaryFolder.newFolder().toPath());
+        final Path pactFile = temporaryFolder.newFile("pact.json").toPath();
+        Files.write(pactFile, "{}".getBytes(StandardCharsets.UTF_8));
+
+        parsedPactCache.write(pactFile, attributesOf(pactFile), Collections.singletonMap("name", "Bespin"));
+
+        // Entry ends with the length and bytes of key "name" followed by the ones of value "Bespin"
+        final Path entry = parsedPactCache.entryOf(pactFile);
+        final byte[] bytes = Files.readAllBytes(entry);
+        final int lengthOffset = bytes.length - "Bespin".length() - 4 - 1 - "name".length() - 4;
+        bytes[lengthOffset] = 0x7f;
+        bytes[lengthOffset + 1] = (byte) 0xff;
+        bytes[lengthOffset + 2] = (byte) 0xff;
+        bytes[lengthOffset + 3] = (byte) 0xff;
+        Files.write(entry, bytes);
+
+        assertThat(parsedPactCache.read(pactFile, attributesOf(pactFile))).isNull();
+    }
+
+    @Test
+    public void should_load_the_same_pact_from_parsed_pact_cache() throws Exception {
+        final File cacheDirectory = temporaryFolder.newFolder();
+        final Path pactFile = temporaryFolder.getRoot().toPath().resolve("planets_consumer-planets_provider.json");
+        Files.copy(Paths.get(getClass().getResource("/latency-budgets/planets_consumer-planets_provider.json").toURI()),
+            pactFile);
+        final ParsedPactCache parsedPactCache = new ParsedPactCache(cacheDirectory.toPath());
+
+        final Pact parsed = PactFileReader.loadPact(pactFile.toUri(), parsedPactCache);
+        assertThat(parsedPactCache.entryOf(pactFile)).exists();
+
+        final Pact cached = PactFileReader.loadPact(pactFile.toUri(), parsedPactCache);
+
+        assertThat(cached).isInstanceOf(RequestResponsePact.class);
+        assertThat(((RequestResponsePact) cached).getInteractions())
+            .isEqualTo(((RequestResponsePact) parsed).getInteractions());
+        assertThat(((BasePact<?>) cached).getMetadata()).containsKey(LatencyBudgetIndex.METADATA_KEY);
+    }
+
+    private static BasicFileAttributes attributesOf(Path pactFile) throws IOException {
+        return Files.readAttributes(pactFile, BasicFileAttributes.class);
+    }
+}
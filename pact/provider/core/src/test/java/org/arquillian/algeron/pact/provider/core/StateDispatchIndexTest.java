@@ -0,0 +1,105 @@
+package org.arquillian.algeron.pact.provider.core;
+
+import au.com.dius.pact.model.ProviderState;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.arquillian.algeron.pact.provider.spi.State;
+import org.jboss.arquillian.test.spi.TestClass;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class StateDispatchIndexTest {
+
+    @Test
+    public void should_execute_state_method_with_converted_arguments() {
+        final StateDispatchIndex stateDispatchIndex = new StateDispatchIndex(new TestClass(StateMethods.class));
+        final StateMethods stateMethods = new StateMethods();
+
+        stateDispatchIndex.execute(new ProviderState("I have 36 cukes in my belly"), stateMethods);
+        stateDispatchIndex.execute(new ProviderState("I have 12 cukes in my belly"), stateMethods);
+
+        assertThat(stateMethods.numberOfCukes).isEqualTo(12);
+    }
+
+    @Test
+    public void should_return_parameters_of_state_methods_returning_map() {
+        final StateDispatchIndex stateDispatchIndex = new StateDispatchIndex(new TestClass(StateMethods.class));
+
+        final Map<String, Object> params = new HashMap<>();
+        params.put("name", "Hoth");
+
+        final Map<String, Object> stateParams = (Map<String, Object>)
+            stateDispatchIndex.execute(new ProviderState("planet exists", params), new StateMethods());
+
+        assertThat(stateParams).containsEntry("planet", "Hoth");
+    }
+
+    @Test
+    public void should_execute_static_state_method() {
+        final StateDispatchIndex stateDispatchIndex = new StateDispatchIndex(new TestClass(StateMethods.class));
+
+        stateDispatchIndex.execute(new ProviderState("Tatooine has 2 suns"), new StateMethods());
+
+        assertThat(StateMethods.suns).isEqualTo(2);
+    }
+
+    @Test
+    public void should_keep_a_bounded_number_of_resolved_states() {
+        final StateDispatchIndex stateDispatchIndex = new StateDispatchIndex(new TestClass(StateMethods.class));
+        final StateMethods stateMethods = new StateMethods();
+
+        for (int i = 0; i < StateDispatchIndex.MAX_RESOLVED_STATES + 10; i++) {
+            stateDispatchIndex.execute(new ProviderState("I have " + i + " cukes in my belly"), stateMethods);
+        }
+
+        assertThat(stateDispatchIndex.resolvedStates()).isEqualTo(StateDispatchIndex.MAX_RESOLVED_STATES);
+        assertThat(stateMethods.numberOfCukes).isEqualTo(StateDispatchIndex.MAX_RESOLVED_STATES + 9);
+    }
+
+    @Test
+    public void should_detect_states_safe_for_concurrent_use() {
+        final StateDispatchIndex stateDispatchIndex = new StateDispatchIndex(new TestClass(StateMethods.class));
+
+        assertThat(stateDispatchIndex.isConcurrent("planet exists")).isTrue();
+        assertThat(stateDispatchIndex.isConcurrent("I have 36 cukes in my belly")).isFalse();
+        assertThat(stateDispatchIndex.isConcurrent("unknown state")).isTrue();
+    }
+
+    @Test
+    public void should_fail_when_arguments_do_not_match_state_method() {
+        final StateDispatchIndex stateDispatchIndex = new StateDispatchIndex(new TestClass(StateMethods.class));
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> stateDispatchIndex.execute(new ProviderState("Moons of Yavin"), new StateMethods()))
+            .withMessageContaining("provider method contains 2 arguments instead of matching 0");
+    }
+
+    public static class StateMethods {
+
+        static int suns;
+
+        int numberOfCukes;
+
+        @State("I have (\\d+) cukes in my belly")
+        public void cukes(int numberOfCukes) {
+            this.numberOfCukes = numberOfCukes;
+        }
+
+        @State(value = "planet exists", concurrent = true)
+        public Map<String, Object> planet(Map<String, Object> params) {
+            return Collections.singletonMap("planet", params.get("name"));
+        }
+
+        @State("Tatooine has (\\d+) suns")
+        public static void suns(int suns) {
+            StateMethods.suns = suns;
+        }
+
+        @State("Moons of Yavin")
+        public void moons(String planet, int moons) {
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.arquillian.algeron.pact.provider.core.httptarget;
+
+import au.com.dius.pact.model.Consumer;
+import au.com.dius.pact.model.PactReader;
+import au.com.dius.pact.model.RequestResponseInteraction;
+import au.com.dius.pact.model.RequestResponsePact;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import org.arquillian.algeron.pact.provider.spi.DeferredReports;
+import org.arquillian.algeron.pact.provider.spi.Provider;
+import org.jboss.arquillian.test.spi.TestClass;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class AsyncHttpTargetTest {
+
+    private HttpServer httpServer;
+    private AsyncHttpTarget asyncHttpTarget;
+    private RequestResponseInteraction interaction;
+
+    @Before
+    public void setup() throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.start();
+
+        asyncHttpTarget = new AsyncHttpTarget("http", "localhost", httpServer.getAddress().getPort(), "/", false);
+        asyncHttpTarget.setTestClass(new TestClass(PlanetsProvider.class), new PlanetsProvider());
+
+        final RequestResponsePact pact = (RequestResponsePact) PactReader.loadPact(
+            getClass().getResource("/pacts/planets_consumer-planets_provider.json").getFile());
+        interaction = pact.getInteractions().get(0);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        asyncHttpTarget.close();
+        httpServer.stop(0);
+    }
+
+    @Test
+    public void should_verify_interaction_once_response_completes() throws Exception {
+        respondWith(200, "1298.3");
+
+        final CompletionStage<?> verification = verifyAsynchronously();
+
+        assertThat(verification.toCompletableFuture().get()).isNull();
+    }
+
+    @Test
+    public void should_leave_reports_to_be_finalised_by_test_thread() throws Exception {
+        respondWith(200, "1298.3");
+
+        final CompletionStage<?> verification = verifyAsynchronously();
+        verification.toCompletableFuture().get();
+
+        assertThat(verification).isInstanceOf(DeferredReports.class);
+        ((DeferredReports) verification).finaliseReports();
+    }
+
+    @Test
+    public void should_complete_exceptionally_when_response_does_not_match() {
+        respondWith(500, "1298.3");
+
+        final CompletableFuture<?> verification = verifyAsynchronously().toCompletableFuture();
+
+        assertThatExceptionOfType(ExecutionException.class)
+            .isThrownBy(verification::get)
+            .withCauseInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    public void should_complete_exceptionally_when_latency_budget_is_exceeded() {
+        respondWith(200, "1298.3", 20);
+        asyncHttpTarget.setLatencyBudget(50, 5, 3);
+
+        final CompletableFuture<?> verification = verifyAsynchronously().toCompletableFuture();
+
+        assertThatExceptionOfType(ExecutionException.class)
+            .isThrownBy(verification::get)
+            .withCauseInstanceOf(AssertionError.class)
+            .withMessageContaining("Latency budget exceeded: p50 of 3 replays");
+    }
+
+    @Test
+    public void should_verify_interaction_within_latency_budget() throws Exception {
+        respondWith(200, "1298.3");
+        asyncHttpTarget.setLatencyBudget(50, 10_000, 3);
+
+        final CompletionStage<?> verification = verifyAsynchronously();
+
+        assertThat(verification.toCompletableFuture().get()).isNull();
+    }
+
+    private CompletionStage<?> verifyAsynchronously() {
+        final List<CompletionStage<?>> verifications = new ArrayList<>();
+
+        asyncHttpTarget.setConsumer(new Consumer("planets_consumer"));
+        asyncHttpTarget.setRequestResponseInteraction(interaction);
+        asyncHttpTarget.setVerificationRegistry(verifications::add);
+        asyncHttpTarget.testInteraction();
+
+        assertThat(verifications).hasSize(1);
+        return verifications.get(0);
+    }
+
+    private void respondWith(int status, String body) {
+        respondWith(status, body, 0);
+    }
+
+    private void respondWith(int status, String body, long delayMillis) {
+        httpServer.createContext("/rest/planet/orbital/average", exchange -> {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            final byte[] content = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(status, content.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(content);
+            }
+        });
+    }
+
+    @Provider("planets_provider")
+    public static class PlanetsProvider {
+    }
+}
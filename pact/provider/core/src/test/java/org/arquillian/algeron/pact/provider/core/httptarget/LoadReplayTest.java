@@ -0,0 +1,118 @@
+package org.arquillian.algeron.pact.provider.core.httptarget;
+
+import au.com.dius.pact.model.Consumer;
+import au.com.dius.pact.model.PactReader;
+import au.com.dius.pact.model.RequestResponseInteraction;
+import au.com.dius.pact.model.RequestResponsePact;
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.arquillian.algeron.pact.provider.spi.Provider;
+import org.jboss.arquillian.test.spi.TestClass;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class LoadReplayTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private HttpServer httpServer;
+    private HttpTarget httpTarget;
+    private RequestResponseInteraction interaction;
+    private final AtomicInteger received = new AtomicInteger();
+
+    @Before
+    public void setup() throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.start();
+
+        httpTarget = new HttpTarget("http", "localhost", httpServer.getAddress().getPort(), "/", false);
+        httpTarget.setTestClass(new TestClass(PlanetsProvider.class), new PlanetsProvider());
+
+        final RequestResponsePact pact = (RequestResponsePact) PactReader.loadPact(
+            getClass().getResource("/pacts/planets_consumer-planets_provider.json").getFile());
+        interaction = pact.getInteractions().get(0);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        httpTarget.close();
+        httpServer.stop(0);
+    }
+
+    @Test
+    public void should_replay_interactions_and_write_report() throws IOException {
+        respondWith(200);
+        final File reportDirectory = temporaryFolder.getRoot();
+        final LoadReplay loadReplay = new LoadReplay(200, 2, 0);
+        loadReplay.setReportDirectory(reportDirectory);
+        httpTarget.setLoadReplay(loadReplay);
+
+        replayLoad();
+
+        assertThat(received.get()).isGreaterThan(1);
+        assertThat(new String(Files.readAllBytes(new File(reportDirectory, LoadReplay.REPORT_NAME).toPath()),
+            StandardCharsets.UTF_8))
+            .contains("Load replay of planets_provider")
+            .contains("planets_consumer - " + interaction.getDescription());
+    }
+
+    @Test
+    public void should_replay_interactions_at_given_rate() {
+        respondWith(200);
+        httpTarget.setLoadReplay(new LoadReplay(500, 4, 20));
+
+        replayLoad();
+
+        assertThat(received.get()).isBetween(8, 10);
+    }
+
+    @Test
+    public void should_fail_when_replayed_requests_get_unexpected_status() {
+        respondWith(500);
+        httpTarget.setLoadReplay(new LoadReplay(100, 1, 0));
+
+        assertThatExceptionOfType(AssertionError.class)
+            .isThrownBy(this::replayLoad)
+            .withMessageContaining("Load replay failed")
+            .withMessageContaining("expected status 200 but was 500");
+    }
+
+    private void replayLoad() {
+        final Consumer consumer = new Consumer("planets_consumer");
+        httpTarget.setConsumer(consumer);
+        httpTarget.setRequestResponseInteraction(interaction);
+        httpTarget.setLoadReplayInteractions(
+            Collections.singletonMap(consumer, Collections.singletonList(interaction)));
+        httpTarget.testInteraction();
+    }
+
+    private void respondWith(int status) {
+        httpServer.createContext("/rest/planet/orbital/average", exchange -> {
+            received.incrementAndGet();
+            final byte[] content = "1298.3".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(status, content.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(content);
+            }
+        });
+    }
+
+    @Provider("planets_provider")
+    public static class PlanetsProvider {
+    }
+}
@@ -0,0 +1,97 @@
+package org.arquillian.algeron.pact.provider.core.httptarget;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PooledHttpAsyncClientFactoryTest {
+
+    private final PooledHttpAsyncClientFactory httpAsyncClientFactory = new PooledHttpAsyncClientFactory();
+
+    @After
+    public void tearDown() throws IOException {
+        httpAsyncClientFactory.close();
+    }
+
+    @Test
+    public void should_keep_one_client_per_insecure_flag() {
+        assertThat(httpAsyncClientFactory.newClient(false)).isSameAs(httpAsyncClientFactory.newClient(false));
+        assertThat(httpAsyncClientFactory.newClient(true)).isSameAs(httpAsyncClientFactory.newClient(true));
+        assertThat(httpAsyncClientFactory.newClient(true)).isNotSameAs(httpAsyncClientFactory.newClient(false));
+    }
+
+    @Test
+    public void should_retry_request_when_connection_is_closed_without_response() throws Exception {
+        final AtomicInteger connections = new AtomicInteger();
+
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            final Thread server = new Thread(() -> {
+                try {
+                    // First connection is dropped once request arrives, second one is answered
+                    for (int i = 0; i < 2; i++) {
+                        try (Socket socket = serverSocket.accept()) {
+                            connections.incrementAndGet();
+                            readRequestHead(socket.getInputStream());
+                            if (i == 1) {
+                                final OutputStream out = socket.getOutputStream();
+                                out.write("HTTP/1.1 200 OK\r\nContent-Length: 0\r\nConnection: close\r\n\r\n"
+                                    .getBytes(StandardCharsets.US_ASCII));
+                                out.flush();
+                            }
+                        }
+                    }
+                } catch (IOException e) {
+                    // server closed by test
+                }
+            });
+            server.setDaemon(true);
+            server.start();
+
+            final CompletableFuture<HttpResponse> response = new CompletableFuture<>();
+            httpAsyncClientFactory.execute(false,
+                new HttpGet("http://localhost:" + serverSocket.getLocalPort() + "/planets"),
+                new FutureCallback<HttpResponse>() {
+                    @Override
+                    public void completed(HttpResponse httpResponse) {
+                        response.complete(httpResponse);
+                    }
+
+                    @Override
+                    public void failed(Exception e) {
+                        response.completeExceptionally(e);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        response.cancel(false);
+                    }
+                });
+
+            assertThat(response.get(10, TimeUnit.SECONDS).getStatusLine().getStatusCode()).isEqualTo(200);
+            assertThat(connections.get()).isEqualTo(2);
+        }
+    }
+
+    private static void readRequestHead(InputStream in) throws IOException {
+        int matched = 0;
+        final byte[] end = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+        int read;
+        while (matched < end.length && (read = in.read()) != -1) {
+            matched = read == end[matched] ? matched + 1 : (read == end[0] ? 1 : 0);
+        }
+    }
+}
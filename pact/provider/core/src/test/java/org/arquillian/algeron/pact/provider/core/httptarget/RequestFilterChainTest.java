@@ -0,0 +1,72 @@
+package org.arquillian.algeron.pact.provider.core.httptarget;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.HttpGet;
+import org.arquillian.algeron.pact.provider.spi.TargetRequestFilter;
+import org.jboss.arquillian.test.spi.TestClass;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class RequestFilterChainTest {
+
+    @Test
+    public void should_execute_request_filters_on_test_instance() {
+        final TestClass testClass = new TestClass(RequestFilters.class);
+        final RequestFilterChain requestFilterChain =
+            new RequestFilterChain(testClass.getMethods(TargetRequestFilter.class), new RequestFilters());
+
+        final HttpGet httpGet = new HttpGet("http://localhost:8080/planets");
+        requestFilterChain.accept(httpGet);
+
+        assertThat(httpGet.getFirstHeader("Authorization").getValue()).isEqualTo("Bearer token");
+    }
+
+    @Test
+    public void should_execute_static_request_filters() {
+        final TestClass testClass = new TestClass(StaticRequestFilter.class);
+        final RequestFilterChain requestFilterChain =
+            new RequestFilterChain(testClass.getMethods(TargetRequestFilter.class), new StaticRequestFilter());
+
+        final HttpGet httpGet = new HttpGet("http://localhost:8080/planets");
+        requestFilterChain.accept(httpGet);
+
+        assertThat(httpGet.getFirstHeader("X-Planet").getValue()).isEqualTo("Dagobah");
+    }
+
+    @Test
+    public void should_report_failing_request_filter() {
+        final TestClass testClass = new TestClass(FailingRequestFilter.class);
+        final RequestFilterChain requestFilterChain =
+            new RequestFilterChain(testClass.getMethods(TargetRequestFilter.class), new FailingRequestFilter());
+
+        assertThatExceptionOfType(AssertionError.class)
+            .isThrownBy(() -> requestFilterChain.accept(new HttpGet("http://localhost:8080/planets")))
+            .withMessage("Request filter method failingFilter failed with an exception");
+    }
+
+    public static class RequestFilters {
+
+        @TargetRequestFilter
+        public void authorization(HttpRequest httpRequest) {
+            httpRequest.addHeader("Authorization", "Bearer token");
+        }
+    }
+
+    public static class StaticRequestFilter {
+
+        @TargetRequestFilter
+        public static void planet(HttpRequest httpRequest) {
+            httpRequest.addHeader("X-Planet", "Dagobah");
+        }
+    }
+
+    public static class FailingRequestFilter {
+
+        @TargetRequestFilter
+        public void failingFilter(HttpRequest httpRequest) {
+            throw new IllegalStateException("No token");
+        }
+    }
+}
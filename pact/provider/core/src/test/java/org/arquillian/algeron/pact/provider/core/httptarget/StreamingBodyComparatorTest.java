@@ -0,0 +1,141 @@
+package org.arquillian.algeron.pact.provider.core.httptarget;
+
+import au.com.dius.pact.model.PactReader;
+import au.com.dius.pact.model.RequestResponsePact;
+import au.com.dius.pact.model.Response;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class StreamingBodyComparatorTest {
+
+    private static final String PLANETS_BODY = "{\"planets\": [{\"name\": \"Bespin\", \"period\": 5110},"
+        + " {\"name\": \"Yavin IV\", \"period\": 4818}], \"total\": 2}";
+
+    @Test
+    public void should_match_body_with_unexpected_keys() throws IOException {
+        final Response expected = response(PLANETS_BODY, "{}");
+
+        final Map<String, String> mismatches = compare(new StreamingBodyComparator(), expected,
+            "{\"total\": 2.0, \"extra\": {\"a\": [1, 2]}, \"planets\": [{\"period\": 5110, \"name\": \"Bespin\"},"
+                + " {\"name\": \"Yavin IV\", \"period\": 4818, \"moons\": 0}]}");
+
+        assertThat(mismatches).isEmpty();
+    }
+
+    @Test
+    public void should_report_all_mismatches() throws IOException {
+        final Response expected = response(PLANETS_BODY, "{}");
+
+        final Map<String, String> mismatches = compare(new StreamingBodyComparator(), expected,
+            "{\"planets\": [{\"name\": \"Hoth\", \"period\": 549}], \"total\": \"2\"}");
+
+        assertThat(mismatches)
+            .containsEntry("$.planets[0].name", "Expected 'Bespin' but received 'Hoth'")
+            .containsEntry("$.planets[0].period", "Expected 5110 but received 549")
+            .containsEntry("$.planets", "Expected a List with 2 elements but received 1 elements")
+            .containsEntry("$.total", "Expected 2 but received '2'")
+            .hasSize(4);
+    }
+
+    @Test
+    public void should_stop_at_first_mismatch_when_fail_fast() throws IOException {
+        final Response expected = response(PLANETS_BODY, "{}");
+
+        final Map<String, String> mismatches = compare(new StreamingBodyComparator(true), expected,
+            "{\"planets\": [{\"name\": \"Hoth\", \"period\": 549}], \"total\": \"2\"}");
+
+        assertThat(mismatches).containsOnlyKeys("$.planets[0].name");
+    }
+
+    @Test
+    public void should_report_missing_keys() throws IOException {
+        final Response expected = response(PLANETS_BODY, "{}");
+
+        final Map<String, String> mismatches = compare(new StreamingBodyComparator(), expected,
+            "{\"planets\": [{\"name\": \"Bespin\", \"period\": 5110}, {\"name\": \"Yavin IV\", \"period\": 4818}]}");
+
+        assertThat(mismatches).containsOnly(entry("$.total", "Expected 2 but was missing"));
+    }
+
+    @Test
+    public void should_apply_matching_rules_to_arrays_and_descendants() throws IOException {
+        final Response expected = response(PLANETS_BODY,
+            "{\"$.planets\": {\"matchers\": [{\"match\": \"type\", \"min\": 1}]},"
+                + " \"$.planets[*].name\": {\"matchers\": [{\"match\": \"regex\", \"regex\": \"[A-Z][a-z]+\"}]},"
+                + " \"$.total\": {\"matchers\": [{\"match\": \"integer\"}]}}");
+
+        assertThat(compare(new StreamingBodyComparator(), expected,
+            "{\"planets\": [{\"name\": \"Hoth\", \"period\": 549}, {\"name\": \"Naboo\", \"period\": 312},"
+                + " {\"name\": \"Tatooine\", \"period\": 304}], \"total\": 3}")).isEmpty();
+
+        assertThat(compare(new StreamingBodyComparator(), expected,
+            "{\"planets\": [{\"name\": \"hoth\", \"period\": \"549\"}], \"total\": 3.5}"))
+            .containsEntry("$.planets[0].name", "Expected 'hoth' to match '[A-Z][a-z]+'")
+            .containsEntry("$.planets[0].period", "Expected '549' to be the same type as 5110")
+            .containsEntry("$.total", "Expected 3.5 to be an integer")
+            .hasSize(3);
+
+        assertThat(compare(new StreamingBodyComparator(), expected, "{\"planets\": [], \"total\": 0}"))
+            .containsOnly(entry("$.planets", "Expected a List with at least 1 elements but received 0 elements"));
+    }
+
+    @Test
+    public void should_count_read_bytes() throws IOException {
+        final Response expected = response(PLANETS_BODY, "{}");
+        final byte[] body = PLANETS_BODY.getBytes(StandardCharsets.UTF_8);
+
+        final StreamingBodyComparator.Comparison comparison = new StreamingBodyComparator()
+            .compare(expected, new ByteArrayInputStream(body), StandardCharsets.UTF_8);
+
+        assertThat(comparison.getBodySize()).isEqualTo(body.length);
+    }
+
+    @Test
+    public void should_not_support_unknown_matching_rules() {
+        final StreamingBodyComparator streamingBodyComparator = new StreamingBodyComparator();
+
+        assertThat(streamingBodyComparator.supports(response(PLANETS_BODY,
+            "{\"$.planets\": {\"matchers\": [{\"match\": \"type\"}]}}"))).isTrue();
+        assertThat(streamingBodyComparator.supports(response(PLANETS_BODY,
+            "{\"$.planets[*].name\": {\"matchers\": [{\"match\": \"date\", \"date\": \"yyyy-MM-dd\"}]}}"))).isFalse();
+    }
+
+    @Test
+    public void should_parse_path_expressions() {
+        assertThat(StreamingBodyComparator.parsePath("$.planets[*].name"))
+            .containsExactly("$", "planets", "*", "name");
+        assertThat(StreamingBodyComparator.parsePath("$['planet names'][2].*"))
+            .containsExactly("$", "planet names", 2, "*");
+        assertThat(StreamingBodyComparator.parsePath("$.body.planets"))
+            .containsExactly("$", "planets");
+    }
+
+    private Map<String, String> compare(StreamingBodyComparator streamingBodyComparator, Response expected,
+        String actualBody) throws IOException {
+        return streamingBodyComparator.compare(expected,
+            new ByteArrayInputStream(actualBody.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8)
+            .getMismatches();
+    }
+
+    private Response response(String body, String bodyMatchingRules) {
+        final RequestResponsePact pact = (RequestResponsePact) PactReader.loadPact("{"
+            + "\"provider\": {\"name\": \"planets_provider\"},"
+            + "\"consumer\": {\"name\": \"planets_consumer\"},"
+            + "\"interactions\": [{"
+            + "  \"description\": \"Planets\","
+            + "  \"request\": {\"method\": \"GET\", \"path\": \"/planets\"},"
+            + "  \"response\": {\"status\": 200, \"headers\": {\"Content-Type\": \"application/json\"},"
+            + "    \"body\": " + body + ","
+            + "    \"matchingRules\": {\"body\": " + bodyMatchingRules + "}}"
+            + "}],"
+            + "\"metadata\": {\"pactSpecification\": {\"version\": \"3.0.0\"}}"
+            + "}");
+        return pact.getInteractions().get(0).getResponse();
+    }
+}
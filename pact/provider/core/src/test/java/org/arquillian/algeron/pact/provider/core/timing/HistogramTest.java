@@ -0,0 +1,56 @@
+package org.arquillian.algeron.pact.provider.core.timing;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class HistogramTest {
+
+    @Test
+    public void should_count_small_values_exactly() {
+        final Histogram histogram = new Histogram();
+        for (int value = 1; value <= 100; value++) {
+            histogram.recordValue(value);
+        }
+
+        assertThat(histogram.getTotalCount()).isEqualTo(100);
+        assertThat(histogram.getMinValue()).isEqualTo(1);
+        assertThat(histogram.getMaxValue()).isEqualTo(100);
+        assertThat(histogram.getMean()).isEqualTo(50.5);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(50);
+        assertThat(histogram.getValueAtPercentile(99)).isEqualTo(99);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100);
+    }
+
+    @Test
+    public void should_report_big_values_with_bounded_relative_error() {
+        final Histogram histogram = new Histogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.recordValue(value * 1_000);
+        }
+
+        assertThat((double) histogram.getValueAtPercentile(50)).isCloseTo(5_000_000, within(5_000_000 * 0.016));
+        assertThat((double) histogram.getValueAtPercentile(90)).isCloseTo(9_000_000, within(9_000_000 * 0.016));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(10_000_000);
+    }
+
+    @Test
+    public void should_map_every_index_to_its_own_range() {
+        assertThat(Histogram.indexOf(0)).isEqualTo(0);
+        assertThat(Histogram.indexOf(127)).isEqualTo(127);
+        assertThat(Histogram.indexOf(128)).isEqualTo(128);
+        assertThat(Histogram.indexOf(129)).isEqualTo(128);
+        assertThat(Histogram.highestEquivalentValue(128)).isEqualTo(129);
+        assertThat(Histogram.highestEquivalentValue(Histogram.indexOf(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void should_report_zero_when_empty() {
+        final Histogram histogram = new Histogram();
+
+        assertThat(histogram.getMinValue()).isZero();
+        assertThat(histogram.getMaxValue()).isZero();
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+    }
+}
@@ -0,0 +1,64 @@
+package org.arquillian.algeron.pact.provider.core.timing;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VerificationTimingsTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_write_timings_per_consumer_endpoint_and_state() throws Exception {
+        final File reportDirectory = new File(temporaryFolder.getRoot(), "reports");
+        final VerificationTimings verificationTimings = new VerificationTimings();
+        verificationTimings.setReportDirectory(reportDirectory);
+
+        verificationTimings.recordStateSetup("planets_consumer", "planets aggregator",
+            TimeUnit.MILLISECONDS.toNanos(3));
+        verificationTimings.recordRequest("planets_consumer", "GET /rest/planet/orbital/average",
+            TimeUnit.MILLISECONDS.toNanos(12), 0, 6);
+        verificationTimings.recordComparison("planets_consumer", "GET /rest/planet/orbital/average",
+            TimeUnit.MICROSECONDS.toNanos(40));
+        verificationTimings.writeReport();
+
+        final String json = read(new File(reportDirectory, "verification-timings.json"));
+        assertThat(json)
+            .contains("\"latencyUnit\": \"microseconds\"")
+            .contains("\"planets_consumer\": {")
+            .contains("\"GET /rest/planet/orbital/average\": {")
+            .contains("\"planets aggregator\": {")
+            .contains("\"stateSetup\": {\"count\": 1, \"min\": 3000")
+            .contains("\"request\": {\"count\": 1, \"min\": 12000")
+            .contains("\"comparison\": {\"count\": 1, \"min\": 40")
+            .contains("\"responseBodySize\": {\"count\": 1, \"min\": 6");
+
+        final String summary = read(new File(reportDirectory, "verification-timings.txt"));
+        assertThat(summary)
+            .contains("Slowest endpoints by request latency")
+            .containsPattern("1\\s+12\\.000\\s+12\\.000\\s+12\\.000\\s+12\\.000\\s+GET /rest/planet/orbital/average")
+            .containsPattern("1\\s+3\\.000\\s+3\\.000\\s+3\\.000\\s+3\\.000\\s+planets aggregator");
+    }
+
+    @Test
+    public void should_not_write_report_when_no_report_directory_is_set() {
+        final VerificationTimings verificationTimings = new VerificationTimings();
+        verificationTimings.recordComparison("planets_consumer", "GET /", 1);
+
+        verificationTimings.writeReport();
+
+        assertThat(temporaryFolder.getRoot().list()).isEmpty();
+    }
+
+    private String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
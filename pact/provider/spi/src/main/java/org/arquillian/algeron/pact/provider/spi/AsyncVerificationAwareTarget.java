@@ -0,0 +1,16 @@
+package org.arquillian.algeron.pact.provider.spi;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+
+/**
+ * Interface to make Target aware of where verifications completing asynchronously are registered.
+ * <p>
+ * When a registry is set, Target may send the request of current interaction and return immediately, registering a
+ * stage that completes, exceptionally if verification fails, once the response has been verified. A null registry
+ * means that verification must complete in the calling thread.
+ */
+public interface AsyncVerificationAwareTarget {
+
+    void setVerificationRegistry(Consumer<CompletionStage<?>> verificationRegistry);
+}
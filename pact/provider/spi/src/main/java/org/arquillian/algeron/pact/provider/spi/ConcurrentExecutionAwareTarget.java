@@ -0,0 +1,15 @@
+package org.arquillian.algeron.pact.provider.spi;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Interface to make Target aware of the executor used to verify current interaction.
+ * <p>
+ * When an executor is set, Target may hand over the request and response verification to it and return immediately.
+ * A null executor means that verification must happen in the calling thread. Commands also implementing
+ * {@link DeferredReports} get their reports finalised in the thread running the test once they finish.
+ */
+public interface ConcurrentExecutionAwareTarget {
+
+    void setExecutor(Executor executor);
+}
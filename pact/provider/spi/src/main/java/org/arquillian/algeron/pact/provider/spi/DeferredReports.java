@@ -0,0 +1,14 @@
+package org.arquillian.algeron.pact.provider.spi;
+
+/**
+ * Reports of a verification handed over to another thread, either a command given to the executor set by
+ * {@link ConcurrentExecutionAwareTarget} or a stage registered by {@link AsyncVerificationAwareTarget}.
+ * <p>
+ * Arquillian contexts are bound to the thread running the test, so reports firing Arquillian events cannot be
+ * finalised by the thread verifying the interaction. Instead, whoever awaits the verification calls
+ * {@link #finaliseReports()} from the thread running the test once it finishes, whatever its outcome.
+ */
+public interface DeferredReports {
+
+    void finaliseReports();
+}
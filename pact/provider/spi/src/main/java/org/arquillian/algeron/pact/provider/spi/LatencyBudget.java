@@ -0,0 +1,37 @@
+package org.arquillian.algeron.pact.provider.spi;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Used to set a latency budget to interactions. Once an interaction is verified, it is replayed several times and
+ * verification fails if given percentile of measured latencies exceeds the budget.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+@Repeatable(LatencyBudgets.class)
+public @interface LatencyBudget {
+
+    /**
+     * @return maximum latency in milliseconds
+     */
+    long value();
+
+    /**
+     * @return percentile of measured latencies compared with the budget
+     */
+    double percentile() default 95;
+
+    /**
+     * @return number of times the interaction is replayed after it is verified
+     */
+    int replays() default 20;
+
+    /**
+     * @return regular expression matching descriptions of interactions this budget applies to
+     */
+    String interaction() default ".*";
+}
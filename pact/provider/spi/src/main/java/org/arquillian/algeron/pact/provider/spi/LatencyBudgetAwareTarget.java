@@ -0,0 +1,13 @@
+package org.arquillian.algeron.pact.provider.spi;
+
+/**
+ * Interface to make Target aware of the latency budget of current interaction.
+ * <p>
+ * Once current interaction is verified, Target replays it the given number of times and fails verification if the
+ * given percentile of measured latencies exceeds the budget. A number of replays of 0 means that current interaction
+ * has no latency budget.
+ */
+public interface LatencyBudgetAwareTarget {
+
+    void setLatencyBudget(double percentile, long millis, int replays);
+}
@@ -0,0 +1,16 @@
+package org.arquillian.algeron.pact.provider.spi;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Container of repeated {@link LatencyBudget} annotations
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface LatencyBudgets {
+
+    LatencyBudget[] value();
+}
@@ -0,0 +1,19 @@
+package org.arquillian.algeron.pact.provider.spi;
+
+import au.com.dius.pact.model.Consumer;
+import au.com.dius.pact.model.RequestResponseInteraction;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface to make Target aware of the interactions to replay as load instead of verifying current interaction.
+ * <p>
+ * All given interactions share the same provider states, which are already set up. Target should send their requests
+ * for a while, measuring throughput, latencies and errors of each interaction, and fail if any request fails. A null
+ * value means that current interaction is verified as usual.
+ */
+public interface LoadReplayAwareTarget {
+
+    void setLoadReplayInteractions(Map<Consumer, List<RequestResponseInteraction>> loadReplayInteractions);
+}
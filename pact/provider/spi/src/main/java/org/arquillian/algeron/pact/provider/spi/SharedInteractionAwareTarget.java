@@ -0,0 +1,17 @@
+package org.arquillian.algeron.pact.provider.spi;
+
+import au.com.dius.pact.model.Consumer;
+import au.com.dius.pact.model.RequestResponseInteraction;
+
+import java.util.Map;
+
+/**
+ * Interface to make Target aware of all consumers defining the same interaction as the one being verified.
+ * <p>
+ * When identical interactions are deduplicated, only one of them is verified, and Target should report the outcome
+ * of the verification for each consumer with its own interaction.
+ */
+public interface SharedInteractionAwareTarget {
+
+    void setSharedInteractions(Map<Consumer, RequestResponseInteraction> sharedInteractions);
+}
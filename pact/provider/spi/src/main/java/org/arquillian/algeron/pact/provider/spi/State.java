@@ -16,4 +16,15 @@ public @interface State {
      * @return list of state names
      */
     String[] value();
+
+    /**
+     * @return true if this state can be set up while other interactions are being verified in parallel mode
+     */
+    boolean concurrent() default false;
+
+    /**
+     * @return true if setting up this state again right after it has been set up leaves provider unchanged, so it can
+     * be skipped for consecutive interactions with the same state
+     */
+    boolean idempotent() default false;
 }
@@ -0,0 +1,13 @@
+package org.arquillian.algeron.pact.provider.spi;
+
+/**
+ * Interface to make Target aware of a warm-up of freshly deployed provider.
+ * <p>
+ * During warm-up, Target should send the request of current interaction the given number of times, ignoring responses
+ * and failures, without reporting or recording anything. A number of iterations of 0 means that current interaction is
+ * verified as usual.
+ */
+public interface WarmUpAwareTarget {
+
+    void setWarmUpIterations(int warmUpIterations);
+}
@@ -0,0 +1,166 @@
+package org.arquillian.algeron.provider.core.retriever;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.arquillian.algeron.configuration.CacheKeys;
+import org.arquillian.algeron.configuration.ConcurrentTasks;
+
+/**
+ * Local copy of contracts served over HTTP. Cached contracts are revalidated with their ETag and Last-Modified
+ * values, so unchanged contracts are not downloaded again.
+ * <p>
+ * Each contract is stored in a file named after the hash of its url followed by the last segment of the url, so
+ * the name still ends like the url does, next to a properties file holding the validators sent by the server.
+ */
+class ContractsDownloadCache {
+
+    private static final Logger logger = Logger.getLogger(ContractsDownloadCache.class.getName());
+
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
+    private static final int CONNECT_TIMEOUT = 10000;
+    private static final int READ_TIMEOUT = 30000;
+
+    private final Path cacheDirectory;
+
+    ContractsDownloadCache(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * @param urls
+     *     of the contracts. Urls that are not http or https are returned as they are
+     * @param threads
+     *     maximum number of contracts downloaded at the same time
+     *
+     * @return Location of the cached copy of each contract, in the same order as given urls.
+     *
+     * @throws IOException
+     *     once all contracts are attempted, if any of them could not be downloaded nor found in cache
+     */
+    List<URI> download(List<URI> urls, int threads) throws IOException {
+        return ConcurrentTasks.run(urls, this::download, threads, "contract-download",
+            "contracts could not be downloaded", IOException::new);
+    }
+
+    /**
+     * If the server cannot be reached or times out but the contract was downloaded before, the cached copy is used.
+     * Any status other than 200, or 304 for a cached contract, fails even if the contract is cached.
+     *
+     * @return Location of the cached copy of the contract.
+     */
+    URI download(URI url) throws IOException {
+        if (!"http".equalsIgnoreCase(url.getScheme()) && !"https".equalsIgnoreCase(url.getScheme())) {
+            return url;
+        }
+
+        final Path content = contentOf(url);
+        final Path validators = validatorsOf(content);
+        final boolean cached = Files.exists(content);
+
+        try {
+            final HttpURLConnection connection = (HttpURLConnection) url.toURL().openConnection();
+            // Without timeouts a server accepting connections but never answering blocks the run forever
+            connection.setConnectTimeout(CONNECT_TIMEOUT);
+            connection.setReadTimeout(READ_TIMEOUT);
+            try {
+                if (cached && Files.exists(validators)) {
+                    final Properties properties = readValidators(validators);
+                    if (properties.containsKey(ETAG)) {
+                        connection.setRequestProperty("If-None-Match", properties.getProperty(ETAG));
+                    }
+                    if (properties.containsKey(LAST_MODIFIED)) {
+                        connection.setRequestProperty("If-Modified-Since", properties.getProperty(LAST_MODIFIED));
+                    }
+                }
+
+                final int status = connection.getResponseCode();
+                if (status == HttpURLConnection.HTTP_NOT_MODIFIED && cached) {
+                    logger.log(Level.FINE, String.format("Contract %s not modified, using cached copy", url));
+                    return content.toUri();
+                }
+
+                if (status != HttpURLConnection.HTTP_OK) {
+                    throw new IOException(String.format("Server answered %s %s", status,
+                        connection.getResponseMessage()));
+                }
+
+                store(connection, content, validators);
+                return content.toUri();
+            } finally {
+                connection.disconnect();
+            }
+        } catch (ConnectException | SocketTimeoutException | UnknownHostException e) {
+            if (cached) {
+                logger.log(Level.WARNING, String.format(
+                    "Contract %s could not be downloaded, using copy cached at %s", url, content), e);
+                return content.toUri();
+            }
+            throw e;
+        }
+    }
+
+    Path contentOf(URI url) {
+        final String path = url.getPath() == null ? "" : url.getPath();
+        final String lastSegment = path.substring(path.lastIndexOf('/') + 1);
+        return cacheDirectory.resolve(CacheKeys.hash(url.toString()) + (lastSegment.isEmpty() ? "" : "-" + lastSegment));
+    }
+
+    private Path validatorsOf(Path content) {
+        return content.resolveSibling(content.getFileName() + ".properties");
+    }
+
+    private void store(HttpURLConnection connection, Path content, Path validators) throws IOException {
+        Files.createDirectories(cacheDirectory);
+
+        // Written to temporary files first, so concurrent runs sharing the cache never read a partial contract
+        final Path temporaryContent = Files.createTempFile(cacheDirectory, content.getFileName().toString(), ".tmp");
+        final Path temporaryValidators =
+            Files.createTempFile(cacheDirectory, validators.getFileName().toString(), ".tmp");
+        try {
+            try (InputStream in = connection.getInputStream()) {
+                Files.copy(in, temporaryContent, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            final Properties properties = new Properties();
+            if (connection.getHeaderField(ETAG) != null) {
+                properties.setProperty(ETAG, connection.getHeaderField(ETAG));
+            }
+            if (connection.getHeaderField(LAST_MODIFIED) != null) {
+                properties.setProperty(LAST_MODIFIED, connection.getHeaderField(LAST_MODIFIED));
+            }
+            try (OutputStream out = Files.newOutputStream(temporaryValidators)) {
+                properties.store(out, null);
+            }
+
+            Files.move(temporaryContent, content, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+            Files.move(temporaryValidators, validators, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryContent);
+            Files.deleteIfExists(temporaryValidators);
+        }
+    }
+
+    private Properties readValidators(Path validators) throws IOException {
+        final Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(validators)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+}
@@ -21,4 +21,19 @@ public @interface ContractsUrl {
      * @return a list of urls to pact files
      */
     String[] urls();
+
+    /**
+     * @return true to keep a local copy of contracts served over HTTP, revalidated with the server in next runs
+     */
+    boolean cache() default true;
+
+    /**
+     * @return directory where downloaded contracts are cached
+     */
+    String cacheDirectory() default ContractsUrlLoader.DEFAULT_CACHE_DIRECTORY;
+
+    /**
+     * @return maximum number of contracts downloaded at the same time
+     */
+    int downloadThreads() default ContractsUrlLoader.DEFAULT_DOWNLOAD_THREADS;
 }
@@ -5,6 +5,8 @@ import org.arquillian.algeron.provider.spi.retriever.ContractsRetriever;
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -12,16 +14,27 @@ import java.util.List;
 import java.util.Map;
 
 import static java.util.stream.Collectors.toList;
+import static org.arquillian.algeron.configuration.HomeResolver.resolveHomeDirectory;
 
 /**
  * Implementation of {@link org.arquillian.algeron.provider.spi.retriever.ContractsRetriever} that download contracts from
- * given urls
+ * given urls. Contracts served over HTTP are kept in a local cache, and only downloaded again when the server tells
+ * they changed.
  */
 public class ContractsUrlLoader implements ContractsRetriever {
 
+    public static final String DEFAULT_CACHE_DIRECTORY = "~/.algeron/contracts";
+    public static final int DEFAULT_DOWNLOAD_THREADS = 8;
+
     private static final String URL = "url";
+    private static final String CACHE = "cache";
+    private static final String CACHE_DIRECTORY = "cacheDirectory";
+    private static final String DOWNLOAD_THREADS = "downloadThreads";
 
     private List<URI> urls;
+    private boolean cache = true;
+    private String cacheDirectory = DEFAULT_CACHE_DIRECTORY;
+    private int downloadThreads = DEFAULT_DOWNLOAD_THREADS;
 
     public ContractsUrlLoader() {
     }
@@ -35,11 +48,19 @@ public class ContractsUrlLoader implements ContractsRetriever {
             .map(url -> getResolvedValue(url))
             .map(URI::create)
             .collect(toList()));
+        this.cache = contractsUrl.cache();
+        this.cacheDirectory = contractsUrl.cacheDirectory();
+        this.downloadThreads = contractsUrl.downloadThreads();
     }
 
     @Override
     public List<URI> retrieve() throws IOException {
-        return urls;
+        if (!cache || urls == null) {
+            return urls;
+        }
+
+        final Path cachePath = Paths.get(resolveHomeDirectory(getResolvedValue(cacheDirectory)));
+        return new ContractsDownloadCache(cachePath).download(urls, downloadThreads);
     }
 
     @Override
@@ -69,6 +90,18 @@ public class ContractsUrlLoader implements ContractsRetriever {
                 .map(URI::create)
                 .collect(toList());
         }
+
+        if (configuration.containsKey(CACHE)) {
+            this.cache = Boolean.parseBoolean(configuration.get(CACHE).toString());
+        }
+
+        if (configuration.containsKey(CACHE_DIRECTORY)) {
+            this.cacheDirectory = (String) configuration.get(CACHE_DIRECTORY);
+        }
+
+        if (configuration.containsKey(DOWNLOAD_THREADS)) {
+            this.downloadThreads = Integer.parseInt(getResolvedValue(configuration.get(DOWNLOAD_THREADS).toString()));
+        }
     }
 
     private static String getResolvedValue(String field) {
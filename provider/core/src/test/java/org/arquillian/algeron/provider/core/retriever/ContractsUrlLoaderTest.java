@@ -0,0 +1,145 @@
+package org.arquillian.algeron.provider.core.retriever;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ContractsUrlLoaderTest {
+
+    private static final String CONTRACT = "{\"provider\": {\"name\": \"planets_provider\"}}";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private HttpServer server;
+    private final AtomicInteger downloads = new AtomicInteger();
+    private final AtomicInteger revalidations = new AtomicInteger();
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/pacts/", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                revalidations.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                downloads.incrementAndGet();
+                final byte[] body = CONTRACT.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.createContext("/missing/", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void should_download_contracts_into_cache() throws IOException {
+        final List<URI> contracts = loader(url("/pacts/a.json"), url("/pacts/b.json")).retrieve();
+
+        assertThat(contracts).hasSize(2);
+        assertThat(contracts.get(0).toString()).endsWith("-a.json");
+        assertThat(contracts.get(1).toString()).endsWith("-b.json");
+        assertThat(new String(Files.readAllBytes(Paths.get(contracts.get(0))), StandardCharsets.UTF_8))
+            .isEqualTo(CONTRACT);
+        assertThat(downloads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_revalidate_cached_contracts() throws IOException {
+        final List<URI> downloaded = loader(url("/pacts/a.json")).retrieve();
+        final List<URI> revalidated = loader(url("/pacts/a.json")).retrieve();
+
+        assertThat(revalidated).isEqualTo(downloaded);
+        assertThat(downloads.get()).isEqualTo(1);
+        assertThat(revalidations.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_use_cached_contracts_when_server_cannot_be_reached() throws IOException {
+        final String url = url("/pacts/a.json");
+        final List<URI> downloaded = loader(url).retrieve();
+        server.stop(0);
+
+        assertThat(loader(url).retrieve()).isEqualTo(downloaded);
+    }
+
+    @Test
+    public void should_fail_when_server_answers_an_error_even_if_contract_is_cached() throws IOException {
+        loader(url("/pacts/a.json")).retrieve();
+        server.removeContext("/pacts/");
+        server.createContext("/pacts/", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+
+        assertThatExceptionOfType(IOException.class)
+            .isThrownBy(() -> loader(url("/pacts/a.json")).retrieve())
+            .withMessageContaining("503");
+    }
+
+    @Test
+    public void should_report_all_contracts_that_could_not_be_downloaded() {
+        assertThatExceptionOfType(IOException.class)
+            .isThrownBy(() -> loader(url("/missing/a.json"), url("/pacts/a.json"), url("/missing/b.json")).retrieve())
+            .withMessageContaining("2 contracts could not be downloaded")
+            .withMessageContaining("/missing/a.json")
+            .withMessageContaining("/missing/b.json");
+    }
+
+    @Test
+    public void should_return_urls_as_they_are_when_cache_is_disabled() throws IOException {
+        final ContractsUrlLoader contractsUrlLoader = new ContractsUrlLoader();
+        final Map<String, Object> configuration = new HashMap<>();
+        configuration.put("url", url("/pacts/a.json"));
+        configuration.put("cache", false);
+        contractsUrlLoader.configure(configuration);
+
+        assertThat(contractsUrlLoader.retrieve()).containsExactly(URI.create(url("/pacts/a.json")));
+        assertThat(downloads.get()).isZero();
+    }
+
+    private ContractsUrlLoader loader(String... urls) {
+        final ContractsUrlLoader contractsUrlLoader = new ContractsUrlLoader();
+        final Map<String, Object> configuration = new HashMap<>();
+        configuration.put("url", Arrays.asList(urls));
+        configuration.put("cacheDirectory", temporaryFolder.getRoot().getAbsolutePath());
+        configuration.put("downloadThreads", 2);
+        contractsUrlLoader.configure(configuration);
+        return contractsUrlLoader;
+    }
+
+    private String url(String path) {
+        return String.format("http://localhost:%s%s", server.getAddress().getPort(), path);
+    }
+}
@@ -44,7 +44,7 @@ public @interface ContractsGit {
     String key() default "~/.ssh/id_rsa";
 
     /**
-     * Directory where remote git repository is cloned. By default uses temp directory
+     * Directory where remote git repository is cloned. By default it is mirrored in cache directory
      */
     String repository() default "";
 
@@ -68,4 +68,22 @@ public @interface ContractsGit {
      * Sets the remote used in pull operation, by default uses "origin"
      */
     String remote() default "origin";
+
+    /**
+     * Clones all branches and checks out the whole repository. By default only the history of the requested branch or
+     * tag is cloned, and only contracts directory is checked out.
+     */
+    boolean fullClone() default false;
+
+    /**
+     * Directory where remote git repositories are kept as mirrors between runs, when no repository is set. Empty
+     * string clones into a temp directory on every run instead. By default ~/.algeron/git
+     */
+    String cacheDirectory() default "~/.algeron/git";
+
+    /**
+     * Maximum number of checked out branches or tags kept in cache directory. Least recently used ones are deleted
+     * first
+     */
+    int maxWorktrees() default 10;
 }
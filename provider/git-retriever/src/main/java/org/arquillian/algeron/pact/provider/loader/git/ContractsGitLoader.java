@@ -5,6 +5,8 @@ import org.arquillian.algeron.git.GitOperations;
 import org.arquillian.algeron.provider.spi.retriever.ContractsRetriever;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.PullResult;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
 
 import java.io.File;
 import java.io.IOException;
@@ -72,7 +74,11 @@ public class ContractsGitLoader implements ContractsRetriever {
                 if (this.gitOperations.isValidGitRepository(repository)) {
 
                     git = this.gitOperations.openGitRepository(repository);
-                    if (this.gitOperations.hasAtLeastOneReference(git.getRepository())) {
+                    if (!this.contractsGit.fullClone()) {
+                        // Pulling would only update the branch it was cloned with, and check out the whole tree
+                        executeSingleRefUpdate(git);
+                        location = getContractsLocation(git);
+                    } else if (this.gitOperations.hasAtLeastOneReference(git.getRepository())) {
 
                         final PullResult pullResult = executePull(git);
 
@@ -95,8 +101,10 @@ public class ContractsGitLoader implements ContractsRetriever {
                     Files.deleteIfExists(repository);
                     Files.createDirectories(repository);
                     git = executeClone(repository);
-                    location = moveToCorrectLocation(git);
+                    location = this.contractsGit.fullClone() ? moveToCorrectLocation(git) : getContractsLocation(git);
                 }
+            } else if (!this.contractsGit.fullClone() && isSet(this.contractsGit.cacheDirectory())) {
+                location = getContractsFolderFromMirror();
             } else {
                 // Put files in a temp directory
                 final Path testGitRepository = Files.createTempDirectory("TestGitRepository");
@@ -104,7 +112,7 @@ public class ContractsGitLoader implements ContractsRetriever {
                 logger.log(Level.INFO, String.format("Repository is going to be cloned at %s", testGitRepository));
 
                 git = executeClone(testGitRepository);
-                location = moveToCorrectLocation(git);
+                location = this.contractsGit.fullClone() ? moveToCorrectLocation(git) : getContractsLocation(git);
             }
         } finally {
             if (git != null) {
@@ -116,9 +124,6 @@ public class ContractsGitLoader implements ContractsRetriever {
     }
 
     private Path moveToCorrectLocation(Git git) {
-        //getRepository().getDirectory() returns the .git directory of the project
-        final File directory = git.getRepository().getDirectory().getParentFile();
-
         if (isSet(this.contractsGit.tag())) {
             this.gitOperations.checkoutTag(git, getResolvedValue(this.contractsGit.tag()));
         } else {
@@ -131,6 +136,13 @@ public class ContractsGitLoader implements ContractsRetriever {
             }
         }
 
+        return getContractsLocation(git);
+    }
+
+    private Path getContractsLocation(Git git) {
+        //getRepository().getDirectory() returns the .git directory of the project
+        final File directory = git.getRepository().getDirectory().getParentFile();
+
         if (isSet(this.contractsGit.contractsDirectory())) {
             return Paths.get(directory.toString(), getResolvedValue(this.contractsGit.contractsDirectory()));
         }
@@ -138,6 +150,10 @@ public class ContractsGitLoader implements ContractsRetriever {
     }
 
     private Git executeClone(Path repository) {
+        if (!this.contractsGit.fullClone()) {
+            return executeSingleRefClone(repository);
+        }
+
         Git git;
         if (isSet(this.contractsGit.username()) && isSet(this.contractsGit.password())) {
 
@@ -165,6 +181,112 @@ public class ContractsGitLoader implements ContractsRetriever {
         return git;
     }
 
+    /**
+     * Remote repository is kept as a bare mirror in cache directory, so only new objects are fetched, and requested
+     * branch or tag is read from it.
+     */
+    private Path getContractsFolderFromMirror() throws IOException {
+        final Path cacheDirectory =
+            Paths.get(resolveHomeDirectory(getResolvedValue(this.contractsGit.cacheDirectory())));
+        final GitMirrorCache gitMirrorCache =
+            new GitMirrorCache(cacheDirectory, this.contractsGit.maxWorktrees(), this.gitOperations);
+
+        final String ref = getRequestedRef();
+        return gitMirrorCache.checkout(getResolvedValue(this.contractsGit.value()),
+            getResolvedValue(this.contractsGit.contractsDirectory()),
+            mirror -> executeMirrorFetch(mirror, ref));
+    }
+
+    private ObjectId executeMirrorFetch(Path mirror, String ref) {
+        if (isSet(this.contractsGit.username()) && isSet(this.contractsGit.password())) {
+            return this.gitOperations.fetchIntoMirror(
+                getResolvedValue(this.contractsGit.value()),
+                mirror,
+                ref,
+                getResolvedValue(this.contractsGit.username()),
+                getResolvedValue(this.contractsGit.password()));
+        }
+
+        if (isSet(this.contractsGit.passphrase())) {
+            return this.gitOperations.fetchIntoMirror(
+                getResolvedValue(this.contractsGit.value()),
+                mirror,
+                ref,
+                getResolvedValue(this.contractsGit.passphrase()),
+                getPrivateKey());
+        }
+
+        return this.gitOperations.fetchIntoMirror(
+            getResolvedValue(this.contractsGit.value()),
+            mirror,
+            ref);
+    }
+
+    private String getRequestedRef() {
+        final String branch = getResolvedValue(this.contractsGit.branch());
+        return isSet(this.contractsGit.tag()) ?
+            Constants.R_TAGS + getResolvedValue(this.contractsGit.tag()) :
+            Constants.R_HEADS + (isSet(branch) ? branch : "master");
+    }
+
+    /**
+     * Only fetches the history of the requested branch or tag, and only checks out contracts directory, so clone time
+     * and disk usage do not grow with other branches or files of the repository.
+     */
+    private Git executeSingleRefClone(Path repository) {
+        final String ref = getRequestedRef();
+        final String contractsDirectory = getResolvedValue(this.contractsGit.contractsDirectory());
+
+        if (isSet(this.contractsGit.username()) && isSet(this.contractsGit.password())) {
+            return this.gitOperations.cloneSingleRef(
+                getResolvedValue(this.contractsGit.value()),
+                repository,
+                ref,
+                contractsDirectory,
+                getResolvedValue(this.contractsGit.username()),
+                getResolvedValue(this.contractsGit.password()));
+        }
+
+        if (isSet(this.contractsGit.passphrase())) {
+            return this.gitOperations.cloneSingleRef(
+                getResolvedValue(this.contractsGit.value()),
+                repository,
+                ref,
+                contractsDirectory,
+                getResolvedValue(this.contractsGit.passphrase()),
+                getPrivateKey());
+        }
+
+        return this.gitOperations.cloneSingleRef(
+            getResolvedValue(this.contractsGit.value()),
+            repository,
+            ref,
+            contractsDirectory);
+    }
+
+    /**
+     * Fetches the requested branch or tag into a repository reused from a previous run, which may have been cloned
+     * with another one, and only checks out contracts directory.
+     */
+    private void executeSingleRefUpdate(Git git) {
+        final String configuredRemote = getResolvedValue(this.contractsGit.remote());
+        final String remote = isSet(configuredRemote) ? configuredRemote : Constants.DEFAULT_REMOTE_NAME;
+        final String ref = getRequestedRef();
+        final String contractsDirectory = getResolvedValue(this.contractsGit.contractsDirectory());
+
+        if (isSet(this.contractsGit.username()) && isSet(this.contractsGit.password())) {
+            this.gitOperations.updateSingleRef(git, remote, ref, contractsDirectory,
+                getResolvedValue(this.contractsGit.username()),
+                getResolvedValue(this.contractsGit.password()));
+        } else if (isSet(this.contractsGit.passphrase())) {
+            this.gitOperations.updateSingleRef(git, remote, ref, contractsDirectory,
+                getResolvedValue(this.contractsGit.passphrase()),
+                getPrivateKey());
+        } else {
+            this.gitOperations.updateSingleRef(git, remote, ref, contractsDirectory);
+        }
+    }
+
     private PullResult executePull(Git git) {
         final PullResult pullResult;
         if (isSet(this.contractsGit.username()) && isSet(this.contractsGit.password())) {
@@ -220,6 +342,9 @@ public class ContractsGitLoader implements ContractsRetriever {
         private static final String CONTRACT_GIT_DIRECTORY = "contractGitDirectory";
         private static final String TAG = "tag";
         private static final String BRANCH = "branch";
+        private static final String FULL_CLONE = "fullClone";
+        private static final String CACHE_DIRECTORY = "cacheDirectory";
+        private static final String MAX_WORKTREES = "maxWorktrees";
 
         private String url = "";
         private String username = "";
@@ -231,6 +356,9 @@ public class ContractsGitLoader implements ContractsRetriever {
         private String tag = "";
         private String branch = "";
         private String remote = "";
+        private boolean fullClone = false;
+        private String cacheDirectory = "~/.algeron/git";
+        private int maxWorktrees = 10;
 
         public ExternallyConfiguredContractsGit(Map<String, Object> configuration) {
             if (configuration.containsKey(URL)) {
@@ -272,6 +400,18 @@ public class ContractsGitLoader implements ContractsRetriever {
             if (configuration.containsKey(REMOTE)) {
                 remote = (String) configuration.get(REMOTE);
             }
+
+            if (configuration.containsKey(FULL_CLONE)) {
+                fullClone = Boolean.parseBoolean(configuration.get(FULL_CLONE).toString());
+            }
+
+            if (configuration.containsKey(CACHE_DIRECTORY)) {
+                cacheDirectory = (String) configuration.get(CACHE_DIRECTORY);
+            }
+
+            if (configuration.containsKey(MAX_WORKTREES)) {
+                maxWorktrees = Integer.parseInt(configuration.get(MAX_WORKTREES).toString());
+            }
         }
 
         @Override
@@ -324,6 +464,21 @@ public class ContractsGitLoader implements ContractsRetriever {
             return remote;
         }
 
+        @Override
+        public boolean fullClone() {
+            return fullClone;
+        }
+
+        @Override
+        public String cacheDirectory() {
+            return cacheDirectory;
+        }
+
+        @Override
+        public int maxWorktrees() {
+            return maxWorktrees;
+        }
+
         @Override
         public boolean equals(Object obj) {
             return false;
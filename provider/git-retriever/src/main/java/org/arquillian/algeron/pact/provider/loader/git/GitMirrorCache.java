@@ -0,0 +1,170 @@
+package org.arquillian.algeron.pact.provider.loader.git;
+
+import org.arquillian.algeron.configuration.CacheKeys;
+import org.arquillian.algeron.git.GitOperations;
+import org.eclipse.jgit.lib.ObjectId;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Persistent cache of remote git repositories, so each run only fetches new objects instead of cloning again.
+ * <p>
+ * Each remote repository is kept as a bare mirror under {@code mirrors}, named after the hash of its url. Requested
+ * commits are exported to plain directories under {@code worktrees}, named after the repository, the commit and the
+ * exported directory. As commits never change, an exported worktree is reused as is by next runs, and least recently
+ * used worktrees are deleted once there are more than the maximum. Runs sharing the cache take turns to update and
+ * export each mirror, by locking a {@code .lock} file next to it.
+ */
+class GitMirrorCache {
+
+    private static final Logger logger = Logger.getLogger(GitMirrorCache.class.getName());
+
+    private static final String MIRRORS = "mirrors";
+    private static final String WORKTREES = "worktrees";
+
+    private static final ConcurrentMap<Path, Lock> mirrorLocks = new ConcurrentHashMap<>();
+
+    private final Path cacheDirectory;
+    private final int maxWorktrees;
+    private final GitOperations gitOperations;
+
+    GitMirrorCache(Path cacheDirectory, int maxWorktrees, GitOperations gitOperations) {
+        this.cacheDirectory = cacheDirectory;
+        this.maxWorktrees = maxWorktrees;
+        this.gitOperations = gitOperations;
+    }
+
+    /**
+     * @param remoteUrl
+     *     of the git repository
+     * @param directory
+     *     to export, relative to repository root. If empty the whole tree is exported
+     * @param fetcher
+     *     updating the mirror stored at given location with the requested ref, and returning the commit it points to
+     *
+     * @return Location of the requested directory at the requested commit.
+     */
+    Path checkout(String remoteUrl, String directory, Function<Path, ObjectId> fetcher) throws IOException {
+        final String repositoryKey = CacheKeys.hash(remoteUrl);
+        final Path mirrors = cacheDirectory.resolve(MIRRORS);
+        final Path mirror = mirrors.resolve(repositoryKey + ".git");
+
+        // File locks are held by the whole JVM, so threads of the same run are serialized before taking it
+        final Lock mirrorLock =
+            mirrorLocks.computeIfAbsent(mirror.toAbsolutePath().normalize(), key -> new ReentrantLock());
+        final Path worktree;
+        mirrorLock.lock();
+        try {
+            Files.createDirectories(mirrors);
+            try (FileChannel lockChannel = FileChannel.open(mirrors.resolve(repositoryKey + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = lockChannel.lock()) {
+                worktree = fetchAndExport(remoteUrl, directory, fetcher, repositoryKey, mirror);
+            }
+        } finally {
+            mirrorLock.unlock();
+        }
+
+        Files.setLastModifiedTime(worktree, FileTime.fromMillis(System.currentTimeMillis()));
+        evictWorktrees(worktree);
+
+        return directory == null || directory.isEmpty() ? worktree : worktree.resolve(directory);
+    }
+
+    /**
+     * Runs while holding the lock of the mirror, so concurrent runs sharing the cache never fetch into the same mirror
+     * at once nor read it while it is being updated.
+     */
+    private Path fetchAndExport(String remoteUrl, String directory, Function<Path, ObjectId> fetcher,
+        String repositoryKey, Path mirror) throws IOException {
+        final ObjectId commit = fetcher.apply(mirror);
+
+        final Path worktrees = cacheDirectory.resolve(WORKTREES);
+        final Path worktree = worktrees.resolve(String.format("%s-%s-%s", repositoryKey, commit.name(),
+            CacheKeys.hash(directory).substring(0, 8)));
+
+        if (!Files.isDirectory(worktree)) {
+            logger.log(Level.INFO, String.format("Exporting commit %s of %s to %s", commit.name(), remoteUrl, worktree));
+
+            // Exported to a temporary directory first, so concurrent runs never see a partial worktree
+            Files.createDirectories(worktrees);
+            final Path temporaryWorktree = Files.createTempDirectory(worktrees, worktree.getFileName() + ".");
+            try {
+                this.gitOperations.exportTree(mirror, commit, directory, temporaryWorktree);
+                Files.move(temporaryWorktree, worktree, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Exported by a concurrent run
+                delete(temporaryWorktree);
+            } catch (IOException | RuntimeException e) {
+                delete(temporaryWorktree);
+                if (!Files.isDirectory(worktree)) {
+                    throw e;
+                }
+            }
+        }
+
+        return worktree;
+    }
+
+    private void evictWorktrees(Path inUse) throws IOException {
+        final List<Path> exportedWorktrees;
+        try (Stream<Path> paths = Files.list(inUse.getParent())) {
+            exportedWorktrees = paths
+                .filter(Files::isDirectory)
+                .filter(path -> !path.getFileName().toString().contains("."))
+                .filter(path -> !path.equals(inUse))
+                .sorted(Comparator.comparing(GitMirrorCache::lastModifiedTime).reversed())
+                .collect(Collectors.toList());
+        }
+
+        // Worktree in use counts towards the maximum
+        final List<Path> evicted = exportedWorktrees.stream()
+            .skip(Math.max(0, maxWorktrees - 1))
+            .collect(Collectors.toList());
+        for (Path worktree : evicted) {
+            logger.log(Level.FINE, String.format("Deleting least recently used worktree %s", worktree));
+            delete(worktree);
+        }
+    }
+
+    private static long lastModifiedTime(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void delete(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    logger.log(Level.FINE, String.format("%s could not be deleted", path), e);
+                }
+            });
+        } catch (IOException e) {
+            logger.log(Level.FINE, String.format("%s could not be deleted", directory), e);
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package org.arquillian.algeron.pact.provider.loader.git;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import org.arquillian.algeron.git.GitOperations;
 import org.eclipse.jgit.api.Git;
@@ -42,7 +46,7 @@ public class ContractsGitLoaderShouldCloneRepoTest {
         when(gitOperations.isLocalBranch(git, "master")).thenReturn(false);
 
         ContractsGitLoader pactGitLoader =
-            new ContractsGitLoader(TestWithPactRandomDirectory.class.getAnnotation(ContractsGit.class));
+            new ContractsGitLoader(TestWithPactRandomDirectoryAndFullClone.class.getAnnotation(ContractsGit.class));
         pactGitLoader.gitOperations = gitOperations;
 
         pactGitLoader.getContractsFolderFromGitRepo();
@@ -51,8 +55,70 @@ public class ContractsGitLoaderShouldCloneRepoTest {
         verify(gitOperations).checkoutBranch(git, "master", "origin");
     }
 
-    @ContractsGit("myrepourl")
+    @Test
+    public void should_clone_only_requested_branch_and_contracts_directory() throws IOException {
+        when(gitOperations.cloneSingleRef(eq("myrepourl"), any(Path.class), eq("refs/heads/master"), eq("pacts")))
+            .thenReturn(git);
+
+        ContractsGitLoader pactGitLoader =
+            new ContractsGitLoader(TestWithPactRandomDirectory.class.getAnnotation(ContractsGit.class));
+        pactGitLoader.gitOperations = gitOperations;
+
+        final Path contractsFolder = pactGitLoader.getContractsFolderFromGitRepo();
+
+        verify(gitOperations).cloneSingleRef(eq("myrepourl"), any(Path.class), eq("refs/heads/master"), eq("pacts"));
+        verify(gitOperations, never()).checkoutBranch(any(Git.class), anyString());
+        verify(gitOperations, never()).checkoutBranch(any(Git.class), anyString(), anyString());
+        assertThat(contractsFolder.toString()).isEqualTo(new File("/tmp", "pacts").getPath());
+    }
+
+    @Test
+    public void should_clone_only_requested_tag() throws IOException {
+        when(gitOperations.cloneSingleRef(eq("myrepourl"), any(Path.class), eq("refs/tags/v1"), eq("")))
+            .thenReturn(git);
+
+        ContractsGitLoader pactGitLoader =
+            new ContractsGitLoader(TestWithPactRandomDirectoryAndTag.class.getAnnotation(ContractsGit.class));
+        pactGitLoader.gitOperations = gitOperations;
+
+        pactGitLoader.getContractsFolderFromGitRepo();
+
+        verify(gitOperations).cloneSingleRef(eq("myrepourl"), any(Path.class), eq("refs/tags/v1"), eq(""));
+        verify(gitOperations, never()).checkoutTag(any(Git.class), anyString());
+    }
+
+    @Test
+    public void should_fetch_requested_branch_into_existing_repo_instead_of_pulling() throws IOException {
+        final Path path = Paths.get("/tmp");
+        when(gitOperations.isValidGitRepository(path)).thenReturn(true);
+        when(gitOperations.openGitRepository(path)).thenReturn(git);
+
+        ContractsGitLoader pactGitLoader =
+            new ContractsGitLoader(TestWithPactRepositoryDirectory.class.getAnnotation(ContractsGit.class));
+        pactGitLoader.gitOperations = gitOperations;
+
+        final Path contractsFolder = pactGitLoader.getContractsFolderFromGitRepo();
+
+        verify(gitOperations).updateSingleRef(git, "origin", "refs/heads/mybranch", "pacts");
+        verify(gitOperations, never()).pullFromRepository(any(Git.class), anyString(), anyString());
+        verify(gitOperations, never()).checkoutBranch(any(Git.class), anyString(), anyString());
+        assertThat(contractsFolder.toString()).isEqualTo(new File("/tmp", "pacts").getPath());
+    }
+
+    @ContractsGit(value = "myrepourl", repository = "/tmp", branch = "mybranch", contractsDirectory = "pacts")
+    private static class TestWithPactRepositoryDirectory {
+    }
+
+    @ContractsGit(value = "myrepourl", contractsDirectory = "pacts", cacheDirectory = "")
     private static class TestWithPactRandomDirectory {
     }
 
+    @ContractsGit(value = "myrepourl", tag = "v1", cacheDirectory = "")
+    private static class TestWithPactRandomDirectoryAndTag {
+    }
+
+    @ContractsGit(value = "myrepourl", fullClone = true)
+    private static class TestWithPactRandomDirectoryAndFullClone {
+    }
+
 }
@@ -126,15 +126,15 @@ public class ContractsGitLoaderTest {
         assertThat(pactsFromGitRepo.toString()).isEqualTo("/tmp");
     }
 
-    @ContractsGit(value = "", repository = "/tmp")
+    @ContractsGit(value = "", repository = "/tmp", fullClone = true)
     private static class TestWithPactRepositoryDirectory {
     }
 
-    @ContractsGit(value = "", repository = "/tmp", tag = "mytag", branch = "mybranch")
+    @ContractsGit(value = "", repository = "/tmp", fullClone = true, tag = "mytag", branch = "mybranch")
     private static class TestWithPactRepositoryDirectoryAndTag {
     }
 
-    @ContractsGit(value = "", repository = "/tmp", contractsDirectory = "pacts")
+    @ContractsGit(value = "", repository = "/tmp", fullClone = true, contractsDirectory = "pacts")
     private static class TestWithPactRepositoryDirectoryAndSubfolder {
     }
 }
@@ -0,0 +1,138 @@
+package org.arquillian.algeron.pact.provider.loader.git;
+
+import org.arquillian.algeron.git.GitOperations;
+import org.eclipse.jgit.lib.ObjectId;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GitMirrorCacheTest {
+
+    private static final ObjectId FIRST_COMMIT = ObjectId.fromString("1111111111111111111111111111111111111111");
+    private static final ObjectId SECOND_COMMIT = ObjectId.fromString("2222222222222222222222222222222222222222");
+    private static final ObjectId THIRD_COMMIT = ObjectId.fromString("3333333333333333333333333333333333333333");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    GitOperations gitOperations;
+
+    @Test
+    public void should_reuse_exported_worktree_of_same_commit() throws IOException {
+        exportContracts();
+        final GitMirrorCache gitMirrorCache = new GitMirrorCache(temporaryFolder.getRoot().toPath(), 10, gitOperations);
+
+        final Path first = gitMirrorCache.checkout("myrepourl", "pacts", mirror -> FIRST_COMMIT);
+        final Path second = gitMirrorCache.checkout("myrepourl", "pacts", mirror -> FIRST_COMMIT);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(first.getFileName().toString()).isEqualTo("pacts");
+        assertThat(first.resolve("pact.json")).exists();
+        verify(gitOperations, times(1)).exportTree(any(Path.class), any(ObjectId.class), anyString(), any(Path.class));
+    }
+
+    @Test
+    public void should_fetch_into_same_mirror_for_same_url() throws IOException {
+        exportContracts();
+        final GitMirrorCache gitMirrorCache = new GitMirrorCache(temporaryFolder.getRoot().toPath(), 10, gitOperations);
+        final Path[] mirrors = new Path[3];
+
+        gitMirrorCache.checkout("myrepourl", "pacts", mirror -> {
+            mirrors[0] = mirror;
+            return FIRST_COMMIT;
+        });
+        gitMirrorCache.checkout("myrepourl", "pacts", mirror -> {
+            mirrors[1] = mirror;
+            return SECOND_COMMIT;
+        });
+        gitMirrorCache.checkout("otherrepourl", "pacts", mirror -> {
+            mirrors[2] = mirror;
+            return FIRST_COMMIT;
+        });
+
+        assertThat(mirrors[1]).isEqualTo(mirrors[0]);
+        assertThat(mirrors[2]).isNotEqualTo(mirrors[0]);
+    }
+
+    @Test
+    public void should_evict_least_recently_used_worktrees() throws IOException {
+        exportContracts();
+        final GitMirrorCache gitMirrorCache = new GitMirrorCache(temporaryFolder.getRoot().toPath(), 2, gitOperations);
+
+        final Path first = gitMirrorCache.checkout("myrepourl", "pacts", mirror -> FIRST_COMMIT).getParent();
+        Files.setLastModifiedTime(first, FileTime.fromMillis(1000));
+        final Path second = gitMirrorCache.checkout("myrepourl", "pacts", mirror -> SECOND_COMMIT).getParent();
+        Files.setLastModifiedTime(second, FileTime.fromMillis(2000));
+        final Path third = gitMirrorCache.checkout("myrepourl", "pacts", mirror -> THIRD_COMMIT).getParent();
+
+        assertThat(first).doesNotExist();
+        assertThat(second).exists();
+        assertThat(third).exists();
+    }
+
+    @Test
+    public void should_not_fetch_into_same_mirror_concurrently() throws Exception {
+        exportContracts();
+        final AtomicInteger fetching = new AtomicInteger();
+        final AtomicInteger maxFetching = new AtomicInteger();
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Path>> checkouts = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                final GitMirrorCache gitMirrorCache =
+                    new GitMirrorCache(temporaryFolder.getRoot().toPath(), 10, gitOperations);
+                checkouts.add(executorService.submit(() -> gitMirrorCache.checkout("myrepourl", "pacts", mirror -> {
+                    maxFetching.accumulateAndGet(fetching.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    fetching.decrementAndGet();
+                    return FIRST_COMMIT;
+                })));
+            }
+            for (Future<Path> checkout : checkouts) {
+                assertThat(checkout.get().resolve("pact.json")).exists();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(maxFetching.get()).isEqualTo(1);
+    }
+
+    private void exportContracts() {
+        doAnswer(invocation -> {
+            final Path target = invocation.getArgument(3);
+            final Path directory = target.resolve((String) invocation.getArgument(2));
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("pact.json"), "{}".getBytes());
+            return null;
+        }).when(gitOperations).exportTree(any(Path.class), any(ObjectId.class), anyString(), any(Path.class));
+    }
+}
@@ -47,4 +47,11 @@ public @interface ContractsMavenDependency {
      * @return remote repository.
      */
     String remoteRepository() default "";
+
+    /**
+     * Sets the maximum number of coordinates resolved at the same time
+     *
+     * @return maximum number of concurrent resolutions.
+     */
+    int resolutionThreads() default ContractsMavenDependencyLoader.DEFAULT_RESOLUTION_THREADS;
 }
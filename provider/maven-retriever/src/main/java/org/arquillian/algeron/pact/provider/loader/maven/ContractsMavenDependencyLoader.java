@@ -3,30 +3,39 @@ package org.arquillian.algeron.pact.provider.loader.maven;
 import org.arquillian.algeron.configuration.RunnerExpressionParser;
 import org.arquillian.algeron.provider.spi.retriever.ContractsRetriever;
 import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.asset.Asset;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.jboss.shrinkwrap.resolver.api.maven.ConfigurableMavenResolverSystem;
 import org.jboss.shrinkwrap.resolver.api.maven.Maven;
-import org.jboss.shrinkwrap.resolver.api.maven.coordinate.MavenCoordinate;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Enumeration;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
- * Resolves Maven artifacts. This retriever gets artifacts from Maven repo, unpack them in a temporal directory and read
- * the json contracts. Notice that you can use http://maven.apache.org/enforcer/enforcer-rules/versionRanges.html and
- * loader will get the highest version.
+ * Resolves Maven artifacts. This retriever gets artifacts from Maven repo and reads the json contracts straight from
+ * them, at any depth, through jar: URIs, so nothing is extracted to disk. Notice that you can use
+ * http://maven.apache.org/enforcer/enforcer-rules/versionRanges.html and loader will get the highest version.
+ * <p>
+ * Subclasses overriding {@link #resolveContracts()} or {@link #unpack(File, List)} keep having contracts extracted into
+ * a temporary folder by them.
  */
 public class ContractsMavenDependencyLoader implements ContractsRetriever {
 
@@ -34,6 +43,10 @@ public class ContractsMavenDependencyLoader implements ContractsRetriever {
     private final static int URL = 1;
     private final static int LAYOUT = 2;
 
+    private final static String META_INF = "META-INF";
+
+    static final int DEFAULT_RESOLUTION_THREADS = 4;
+
     private ContractsMavenDependency contractsMavenDependency;
 
     public ContractsMavenDependencyLoader() {
@@ -45,12 +58,15 @@ public class ContractsMavenDependencyLoader implements ContractsRetriever {
 
     @Override
     public List<URI> retrieve() throws IOException {
-        final File contractsFolder = createTemporaryFolder("MavenContracts");
-        extractContracts(contractsFolder);
-        return Arrays.stream(contractsFolder.listFiles())
-            .map(file -> "file://" + file.getAbsolutePath())
-            .map(URI::create)
-            .collect(Collectors.toList());
+        if (isOverridden("resolveContracts") || isOverridden("unpack", File.class, List.class)) {
+            return extractContracts();
+        }
+
+        final List<URI> contracts = new ArrayList<>();
+        for (File artifact : resolveContractArtifacts()) {
+            contracts.addAll(listContracts(artifact));
+        }
+        return contracts;
     }
 
     @Override
@@ -63,11 +79,77 @@ public class ContractsMavenDependencyLoader implements ContractsRetriever {
         return "maven";
     }
 
-    private void extractContracts(File temporaryDirectory) throws IOException {
-        final List<JavaArchive> resolvedContracts = resolveContracts();
-        unpack(temporaryDirectory, resolvedContracts);
+    private List<URI> extractContracts() throws IOException {
+        final File contractsFolder = Files.createTempDirectory("contractsMavenContracts").toFile();
+        unpack(contractsFolder, resolveContracts());
+        return Arrays.stream(contractsFolder.listFiles())
+            .map(File::toURI)
+            .collect(Collectors.toList());
+    }
+
+    private boolean isOverridden(String name, Class<?>... parameterTypes) {
+        for (Class<?> type = getClass(); type != ContractsMavenDependencyLoader.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // Not declared at this level, looks in superclass
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lists contract files of a resolved artifact. Files under META-INF, like the ones added by Maven, are not
+     * contracts.
+     *
+     * @param artifact
+     *     resolved jar, or directory when resolved from a reactor build
+     *
+     * @return jar: URIs pointing to each file inside the jar, or file URIs for a directory.
+     */
+    static List<URI> listContracts(File artifact) throws IOException {
+        if (artifact.isDirectory()) {
+            final Path root = artifact.toPath();
+            try (Stream<Path> paths = Files.walk(root)) {
+                return paths
+                    .filter(Files::isRegularFile)
+                    .filter(path -> !root.relativize(path).startsWith(META_INF))
+                    .sorted()
+                    .map(Path::toUri)
+                    .collect(Collectors.toList());
+            }
+        }
+
+        final String artifactUri = artifact.toURI().toString();
+        try (ZipFile zipFile = new ZipFile(artifact)) {
+            final List<URI> contracts = new ArrayList<>();
+            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                if (!entry.isDirectory() && !entry.getName().startsWith(META_INF + "/")) {
+                    contracts.add(jarUri(artifactUri, entry.getName()));
+                }
+            }
+            return contracts;
+        }
     }
 
+    private static URI jarUri(String artifactUri, String entryName) {
+        try {
+            // Quotes characters of entry names not allowed in URIs
+            return new URI("jar", artifactUri + "!/" + entryName, null);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Only called when this method or {@link #resolveContracts()} is overridden.
+     *
+     * @deprecated Contracts are read straight from resolved artifacts, see {@link #listContracts(File)}
+     */
+    @Deprecated
     protected void unpack(File destination, List<JavaArchive> contracts) throws IOException {
         for (JavaArchive contract : contracts) {
             unpack(destination, contract);
@@ -88,40 +170,60 @@ public class ContractsMavenDependencyLoader implements ContractsRetriever {
         }
     }
 
+    /**
+     * Only called when this method or {@link #unpack(File, List)} is overridden.
+     *
+     * @deprecated Contracts are read straight from resolved artifacts, see {@link #resolveContractArtifacts()}
+     */
+    @Deprecated
     protected List<JavaArchive> resolveContracts() {
+        return resolveContractArtifacts().stream()
+            .map(artifact -> ShrinkWrap.createFromZipFile(JavaArchive.class, artifact))
+            .collect(Collectors.toList());
+    }
 
-        List<JavaArchive> contracts = new ArrayList<>();
+    /**
+     * Coordinates are resolved concurrently, by resolvers shared with other retrievals of the suite configured the same
+     * way.
+     *
+     * @return Location of resolved artifacts in local Maven repository.
+     */
+    protected List<File> resolveContractArtifacts() {
+        final String customSettings = RunnerExpressionParser.parseExpressions(contractsMavenDependency.customSettings());
+        final boolean offline = contractsMavenDependency.offline();
+        final String remoteRepository =
+            RunnerExpressionParser.parseExpressions(contractsMavenDependency.remoteRepository());
+
+        final MavenContractsResolver mavenContractsResolver =
+            MavenContractsResolver.of(Arrays.asList(customSettings, offline, remoteRepository),
+                () -> configureResolver(customSettings, offline, remoteRepository), !"".equals(customSettings));
+
+        final List<String> coordinates = Arrays.stream(contractsMavenDependency.value())
+            .map(RunnerExpressionParser::parseExpressions)
+            .collect(Collectors.toList());
 
+        return mavenContractsResolver.resolve(coordinates, contractsMavenDependency.resolutionThreads());
+    }
+
+    private ConfigurableMavenResolverSystem configureResolver(String customSettings, boolean offline,
+        String remoteRepositoryDefinition) {
         final ConfigurableMavenResolverSystem configurableMavenResolverSystem = Maven.configureResolver();
 
-        if (!"".equals(contractsMavenDependency.customSettings())) {
-            configurableMavenResolverSystem.fromClassloaderResource(
-                RunnerExpressionParser.parseExpressions(contractsMavenDependency.customSettings()));
+        if (!"".equals(customSettings)) {
+            configurableMavenResolverSystem.fromClassloaderResource(customSettings);
         }
 
-        if (contractsMavenDependency.offline()) {
+        if (offline) {
             configurableMavenResolverSystem.workOffline();
         }
 
-        if (!"".equals(contractsMavenDependency.remoteRepository())) {
-            final String[] remoteRepository =
-                getRemoteRepository(RunnerExpressionParser.parseExpressions(contractsMavenDependency.remoteRepository()));
+        if (!"".equals(remoteRepositoryDefinition)) {
+            final String[] remoteRepository = getRemoteRepository(remoteRepositoryDefinition);
             configurableMavenResolverSystem.withRemoteRepo(remoteRepository[NAME], remoteRepository[URL],
                 remoteRepository[LAYOUT]);
         }
 
-        String[] coordinates = contractsMavenDependency.value();
-
-        for (String coordinate : coordinates) {
-            contracts.add(resolve(RunnerExpressionParser.parseExpressions(coordinate), configurableMavenResolverSystem));
-        }
-
-        return contracts;
-    }
-
-    private JavaArchive resolve(String coordinate, ConfigurableMavenResolverSystem maven) {
-        final MavenCoordinate highestVersion = maven.resolveVersionRange(coordinate).getHighestVersion();
-        return maven.resolve(highestVersion.toCanonicalForm()).withoutTransitivity().asSingle(JavaArchive.class);
+        return configurableMavenResolverSystem;
     }
 
     private String[] getRemoteRepository(String remoteRepoDefinition) {
@@ -135,24 +237,19 @@ public class ContractsMavenDependencyLoader implements ContractsRetriever {
         return elements;
     }
 
-    private File createTemporaryFolder(String provider) throws IOException {
-        File createdFolder = File.createTempFile("contracts", provider);
-        createdFolder.delete();
-        createdFolder.mkdir();
-        return createdFolder;
-    }
-
     static class ExternallyConfiguredContractsMavenDependency implements ContractsMavenDependency {
 
         private final static String COORDINATES = "coordinates";
         private final static String OFFLINE = "offline";
         private final static String CUSTOM_SETTINGS = "customSettings";
         private final static String REMOTE_REPOSITORY = "remoteRepository";
+        private final static String RESOLUTION_THREADS = "resolutionThreads";
 
         private List<String> coordinates = new ArrayList<>();
         private boolean offline = false;
         private String customSettings = "";
         private String remoteRepository = "";
+        private int resolutionThreads = DEFAULT_RESOLUTION_THREADS;
 
         public ExternallyConfiguredContractsMavenDependency(Map<String, Object> configuration) {
 
@@ -179,6 +276,10 @@ public class ContractsMavenDependencyLoader implements ContractsRetriever {
             if (configuration.containsKey(REMOTE_REPOSITORY)) {
                 this.remoteRepository = (String) configuration.get(REMOTE_REPOSITORY);
             }
+
+            if (configuration.containsKey(RESOLUTION_THREADS)) {
+                this.resolutionThreads = Integer.parseInt(configuration.get(RESOLUTION_THREADS).toString());
+            }
         }
 
         @Override
@@ -201,6 +302,11 @@ public class ContractsMavenDependencyLoader implements ContractsRetriever {
             return remoteRepository;
         }
 
+        @Override
+        public int resolutionThreads() {
+            return resolutionThreads;
+        }
+
         @Override
         public Class<? extends Annotation> annotationType() {
             return ContractsMavenDependency.class;
@@ -0,0 +1,177 @@
+package org.arquillian.algeron.pact.provider.loader.maven;
+
+import org.arquillian.algeron.configuration.ConcurrentTasks;
+import org.jboss.shrinkwrap.resolver.api.maven.ConfigurableMavenResolverSystem;
+import org.jboss.shrinkwrap.resolver.api.maven.coordinate.MavenCoordinate;
+import org.jboss.shrinkwrap.resolver.api.maven.coordinate.MavenCoordinates;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Resolves contract artifacts, sharing configured resolvers, version range lookups and resolved artifacts between all
+ * retrievals of the suite using the same resolver configuration. They are forgotten once the suite finishes, see
+ * {@link MavenContractsResolverCleaner}.
+ * <p>
+ * Resolvers are not meant to be used by several threads at once, so each resolution borrows an idle one, or
+ * configures a new one if all of them are busy, and gives it back once done.
+ */
+class MavenContractsResolver {
+
+    private static final Logger logger = Logger.getLogger(MavenContractsResolver.class.getName());
+
+    private static final ConcurrentMap<Object, MavenContractsResolver> resolvers = new ConcurrentHashMap<>();
+
+    private final Supplier<ConfigurableMavenResolverSystem> resolverFactory;
+    private final Path localRepository;
+
+    private final Queue<ConfigurableMavenResolverSystem> idleResolvers = new ConcurrentLinkedQueue<>();
+    private final ConcurrentMap<String, String> highestVersions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, File> artifacts = new ConcurrentHashMap<>();
+
+    /**
+     * @param resolverFactory
+     *     configuring a new resolver
+     * @param localRepository
+     *     where artifacts are looked for before asking the resolver, or null to always ask it
+     */
+    MavenContractsResolver(Supplier<ConfigurableMavenResolverSystem> resolverFactory, Path localRepository) {
+        this.resolverFactory = resolverFactory;
+        this.localRepository = localRepository;
+    }
+
+    /**
+     * @param configuration
+     *     identifies resolvers configured the same way
+     * @param resolverFactory
+     *     configuring a new resolver with given configuration
+     * @param customSettings
+     *     true if resolver uses a custom settings.xml, which may define its own local repository
+     *
+     * @return Resolver shared by all retrievals of the suite with the same configuration.
+     */
+    static MavenContractsResolver of(Object configuration, Supplier<ConfigurableMavenResolverSystem> resolverFactory,
+        boolean customSettings) {
+        return resolvers.computeIfAbsent(configuration,
+            key -> new MavenContractsResolver(resolverFactory, customSettings ? null : defaultLocalRepository()));
+    }
+
+    /**
+     * Forgets all shared resolvers, along with the versions and artifacts they resolved.
+     */
+    static void clear() {
+        resolvers.clear();
+    }
+
+    private static Path defaultLocalRepository() {
+        final String localRepository = System.getProperty("maven.repo.local");
+        if (localRepository != null && !localRepository.isEmpty()) {
+            return Paths.get(localRepository);
+        }
+        return Paths.get(System.getProperty("user.home"), ".m2", "repository");
+    }
+
+    /**
+     * @param coordinates
+     *     to resolve, versions may be ranges
+     * @param threads
+     *     maximum number of coordinates resolved at the same time
+     *
+     * @return Resolved artifacts in the same order as given coordinates.
+     *
+     * @throws IllegalArgumentException
+     *     once all coordinates are attempted, if any of them could not be resolved
+     */
+    List<File> resolve(List<String> coordinates, int threads) {
+        return ConcurrentTasks.run(coordinates, this::resolve, threads, "contract-resolver",
+            "contract artifacts could not be resolved", IllegalArgumentException::new);
+    }
+
+    /**
+     * Fixed release versions already in local repository are used without asking the resolver, so no remote metadata
+     * is checked. Highest version of a range is only looked up once per suite.
+     *
+     * @return Resolved artifact.
+     */
+    File resolve(String coordinate) {
+        final File cached = artifacts.get(coordinate);
+        if (cached != null) {
+            return cached;
+        }
+
+        File artifact = findInLocalRepository(coordinate);
+        if (artifact == null) {
+            final ConfigurableMavenResolverSystem maven = borrowResolver();
+            try {
+                String highestVersion = highestVersions.get(coordinate);
+                if (highestVersion == null) {
+                    highestVersion = maven.resolveVersionRange(coordinate).getHighestVersion().toCanonicalForm();
+                    highestVersions.put(coordinate, highestVersion);
+                }
+
+                artifact = findInLocalRepository(highestVersion);
+                if (artifact == null) {
+                    artifact = maven.resolve(highestVersion).withoutTransitivity().asSingleFile();
+                }
+            } finally {
+                idleResolvers.offer(maven);
+            }
+        } else {
+            logger.log(Level.FINE, String.format("%s found in local repository at %s", coordinate, artifact));
+        }
+
+        artifacts.put(coordinate, artifact);
+        return artifact;
+    }
+
+    private ConfigurableMavenResolverSystem borrowResolver() {
+        final ConfigurableMavenResolverSystem idleResolver = idleResolvers.poll();
+        return idleResolver != null ? idleResolver : resolverFactory.get();
+    }
+
+    /**
+     * @return Artifact of given coordinate in local repository, or null if it is not there or its version may change,
+     * this is a range or a snapshot.
+     */
+    File findInLocalRepository(String coordinate) {
+        if (localRepository == null) {
+            return null;
+        }
+
+        final MavenCoordinate mavenCoordinate;
+        try {
+            mavenCoordinate = MavenCoordinates.createCoordinate(coordinate);
+        } catch (RuntimeException e) {
+            return null;
+        }
+
+        final String version = mavenCoordinate.getVersion();
+        if (version == null || version.isEmpty() || version.startsWith("[") || version.startsWith("(")
+            || version.endsWith("-SNAPSHOT") || "LATEST".equals(version) || "RELEASE".equals(version)) {
+            return null;
+        }
+
+        final String classifier = mavenCoordinate.getClassifier();
+        final String fileName = String.format("%s-%s%s.%s", mavenCoordinate.getArtifactId(), version,
+            classifier == null || classifier.isEmpty() ? "" : "-" + classifier,
+            mavenCoordinate.getPackaging().getExtension());
+
+        final Path artifact = localRepository
+            .resolve(mavenCoordinate.getGroupId().replace('.', File.separatorChar))
+            .resolve(mavenCoordinate.getArtifactId())
+            .resolve(version)
+            .resolve(fileName);
+
+        return Files.isRegularFile(artifact) ? artifact.toFile() : null;
+    }
+}
@@ -0,0 +1,15 @@
+package org.arquillian.algeron.pact.provider.loader.maven;
+
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+
+/**
+ * Forgets resolvers, versions and artifacts resolved during the suite, so next suite run in the same JVM resolves
+ * them again.
+ */
+public class MavenContractsResolverCleaner {
+
+    public void clear(@Observes AfterSuite afterSuite) {
+        MavenContractsResolver.clear();
+    }
+}
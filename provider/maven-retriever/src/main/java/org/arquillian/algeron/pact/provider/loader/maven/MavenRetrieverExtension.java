@@ -0,0 +1,11 @@
+package org.arquillian.algeron.pact.provider.loader.maven;
+
+import org.jboss.arquillian.core.spi.LoadableExtension;
+
+public class MavenRetrieverExtension implements LoadableExtension {
+
+    @Override
+    public void register(ExtensionBuilder builder) {
+        builder.observer(MavenContractsResolverCleaner.class);
+    }
+}
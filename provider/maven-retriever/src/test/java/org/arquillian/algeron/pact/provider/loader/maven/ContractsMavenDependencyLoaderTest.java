@@ -2,14 +2,22 @@ package org.arquillian.algeron.pact.provider.loader.maven;
 
 import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -33,6 +41,57 @@ public class ContractsMavenDependencyLoaderTest {
         assertThat(contractFile).hasContent("My contract");
     }
 
+    @Test
+    public void should_list_contracts_inside_artifact_without_extracting_them() throws IOException {
+        final File artifact = new File(folder.getRoot(), "contract.jar");
+        ShrinkWrap.create(JavaArchive.class, "contract.jar")
+            .add(new StringAsset("My contract"), "/contract.json")
+            .add(new StringAsset("My nested contract"), "/pacts/planets/nested contract.json")
+            .addAsManifestResource(new StringAsset("version=1.0"), "pom.properties")
+            .as(ZipExporter.class)
+            .exportTo(artifact);
+
+        final List<URI> contracts = ContractsMavenDependencyLoader.listContracts(artifact);
+
+        assertThat(contracts).extracting(URI::getScheme).containsOnly("jar");
+        assertThat(contracts).extracting(uri -> read(uri))
+            .containsExactlyInAnyOrder("My contract", "My nested contract");
+        assertThat(folder.getRoot().list()).containsExactly("contract.jar");
+    }
+
+    @Test
+    public void should_extract_contracts_resolved_by_subclass() throws IOException {
+        final JavaArchive contract = ShrinkWrap.create(JavaArchive.class, "contract.jar")
+            .add(new StringAsset("My contract"), "/contract.json");
+
+        final ContractsMavenDependencyLoader contractsMavenDependencyLoader =
+            new ContractsMavenDependencyLoader(MavenLoaderTest.class.getAnnotation(ContractsMavenDependency.class)) {
+                @Override
+                protected List<JavaArchive> resolveContracts() {
+                    return Collections.singletonList(contract);
+                }
+            };
+
+        final List<URI> contracts = contractsMavenDependencyLoader.retrieve();
+
+        assertThat(contracts).extracting(URI::getScheme).containsOnly("file");
+        assertThat(contracts).extracting(uri -> read(uri)).containsExactly("My contract");
+    }
+
+    private String read(URI uri) {
+        try (InputStream in = uri.toURL().openStream()) {
+            final ByteArrayOutputStream content = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                content.write(buffer, 0, read);
+            }
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @ContractsMavenDependency(value = "org.superbiz:contract:[1.0,]")
     private static class MavenLoaderTest {
     }
@@ -0,0 +1,142 @@
+package org.arquillian.algeron.pact.provider.loader.maven;
+
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.shrinkwrap.resolver.api.maven.ConfigurableMavenResolverSystem;
+import org.jboss.shrinkwrap.resolver.api.maven.MavenFormatStage;
+import org.jboss.shrinkwrap.resolver.api.maven.MavenStrategyStage;
+import org.jboss.shrinkwrap.resolver.api.maven.MavenVersionRangeResult;
+import org.jboss.shrinkwrap.resolver.api.maven.coordinate.MavenCoordinates;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class MavenContractsResolverTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicInteger versionRangeLookups = new AtomicInteger();
+    private final AtomicInteger resolutions = new AtomicInteger();
+    private final AtomicInteger configuredResolvers = new AtomicInteger();
+
+    @Test
+    public void should_use_artifacts_of_local_repository_without_resolver() throws IOException {
+        final Path localRepository = folder.newFolder("repository").toPath();
+        final File artifact = install(localRepository, "org/superbiz/contract/1.0/contract-1.0.jar");
+        final File classified = install(localRepository, "org/superbiz/contract/1.0/contract-1.0-pacts.jar");
+
+        final MavenContractsResolver mavenContractsResolver = new MavenContractsResolver(() -> {
+            throw new AssertionError("Resolver should not be used");
+        }, localRepository);
+
+        assertThat(mavenContractsResolver.resolve(
+            Arrays.asList("org.superbiz:contract:1.0", "org.superbiz:contract:jar:pacts:1.0"), 2))
+            .containsExactly(artifact, classified);
+    }
+
+    @Test
+    public void should_look_up_version_ranges_once() throws IOException {
+        final Path localRepository = folder.newFolder("repository").toPath();
+        final MavenContractsResolver mavenContractsResolver =
+            new MavenContractsResolver(this::fakeResolver, localRepository);
+
+        final File first = mavenContractsResolver.resolve("org.superbiz:contract:[1.0,]");
+        final File second = mavenContractsResolver.resolve("org.superbiz:contract:[1.0,]");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(versionRangeLookups.get()).isEqualTo(1);
+        assertThat(resolutions.get()).isEqualTo(1);
+        assertThat(configuredResolvers.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_resolve_coordinates_concurrently_keeping_order() throws IOException {
+        final MavenContractsResolver mavenContractsResolver = new MavenContractsResolver(this::fakeResolver, null);
+
+        final List<File> artifacts = mavenContractsResolver.resolve(Arrays.asList("org.superbiz:a:[1.0,]",
+            "org.superbiz:b:[1.0,]", "org.superbiz:c:[1.0,]", "org.superbiz:d:[1.0,]"), 4);
+
+        assertThat(artifacts).extracting(File::getName)
+            .containsExactly("a-2.0.jar", "b-2.0.jar", "c-2.0.jar", "d-2.0.jar");
+        assertThat(configuredResolvers.get()).isBetween(1, 4);
+    }
+
+    @Test
+    public void should_report_all_coordinates_that_could_not_be_resolved() {
+        final MavenContractsResolver mavenContractsResolver = new MavenContractsResolver(this::fakeResolver, null);
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> mavenContractsResolver.resolve(Arrays.asList("org.superbiz:missing:[1.0,]",
+                "org.superbiz:a:[1.0,]", "org.superbiz:other-missing:[1.0,]"), 2))
+            .withMessageContaining("2 contract artifacts could not be resolved")
+            .withMessageContaining("org.superbiz:missing:[1.0,]")
+            .withMessageContaining("org.superbiz:other-missing:[1.0,]");
+    }
+
+    @Test
+    public void should_share_resolvers_until_suite_finishes() {
+        final Object configuration = Arrays.asList(false, false, "shared");
+        final MavenContractsResolver shared = MavenContractsResolver.of(configuration, this::fakeResolver, true);
+
+        assertThat(MavenContractsResolver.of(configuration, this::fakeResolver, true)).isSameAs(shared);
+
+        new MavenContractsResolverCleaner().clear(new AfterSuite());
+
+        assertThat(MavenContractsResolver.of(configuration, this::fakeResolver, true)).isNotSameAs(shared);
+    }
+
+    private File install(Path localRepository, String path) throws IOException {
+        final Path artifact = localRepository.resolve(path);
+        Files.createDirectories(artifact.getParent());
+        Files.write(artifact, new byte[0]);
+        return artifact.toFile();
+    }
+
+    /**
+     * Resolves any range to version 2.0, and any artifact to a file named after it.
+     */
+    private ConfigurableMavenResolverSystem fakeResolver() {
+        configuredResolvers.incrementAndGet();
+        return proxy(ConfigurableMavenResolverSystem.class, (method, args) -> {
+            if ("resolveVersionRange".equals(method)) {
+                versionRangeLookups.incrementAndGet();
+                final String coordinate = (String) args[0];
+                if (coordinate.contains("missing")) {
+                    throw new IllegalArgumentException(coordinate + " not found");
+                }
+                return proxy(MavenVersionRangeResult.class, (rangeMethod, rangeArgs) ->
+                    MavenCoordinates.createCoordinate(coordinate.substring(0, coordinate.lastIndexOf(':')) + ":2.0"));
+            }
+            if ("resolve".equals(method)) {
+                resolutions.incrementAndGet();
+                final String[] coordinate = ((String) args[0]).split(":");
+                final File artifact = new File(folder.getRoot(), coordinate[1] + "-2.0.jar");
+                return proxy(MavenStrategyStage.class, (strategyMethod, strategyArgs) ->
+                    proxy(MavenFormatStage.class, (formatMethod, formatArgs) -> artifact));
+            }
+            throw new UnsupportedOperationException(method);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+            (proxy, method, args) -> handler.handle(method.getName(), args));
+    }
+
+    private interface Handler {
+        Object handle(String method, Object[] args);
+    }
+}